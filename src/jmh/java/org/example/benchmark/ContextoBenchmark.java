@@ -0,0 +1,88 @@
+package org.example.benchmark;
+
+import org.example.enums.EstadoSolicitud;
+import org.example.enums.TipoSolicitud;
+import org.example.model.DiaBloque;
+import org.example.model.dto.ReservaDTO;
+import org.example.model.dto.SolicitudCambioAulaDTO;
+import org.example.security.Seguridad;
+import org.example.service.EspacioService;
+import org.example.service.ReservaService;
+import org.example.service.SolicitudCambioAulaService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.Set;
+
+/**
+ * Contexto de Spring compartido por los benchmarks de un mismo juego de datos
+ * Levanta solo servicios, seguridad y repositorios (sin vistas) sobre H2 y lo carga con {@link DatosSinteticos}
+ */
+@State(Scope.Benchmark)
+public class ContextoBenchmark {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableJpaRepositories("org.example.repository")
+    @EntityScan("org.example.model")
+    @ComponentScan({"org.example.service", "org.example.security"})
+    static class Configuracion {}
+
+    @Param({"100", "200"})
+    public int espacios;
+
+    @Param({"500", "2000"})
+    public int reservas;
+
+    @Param({"200"})
+    public int solicitudes;
+
+    ConfigurableApplicationContext contexto;
+    EspacioService espacioService;
+    ReservaService reservaService;
+    SolicitudCambioAulaService solicitudService;
+    Seguridad seguridad;
+    DatosSinteticos datos;
+
+    // Pedidos armados sobre los datos cargados
+    Set<DiaBloque> franja;
+    ReservaDTO reservaSuperpuesta;
+    SolicitudCambioAulaDTO solicitudDuplicada;
+
+    @Setup(Level.Trial)
+    public void levantar() {
+        contexto = new SpringApplicationBuilder(Configuracion.class)
+                .web(WebApplicationType.NONE)
+                .profiles("benchmark")
+                .run();
+        espacioService = contexto.getBean(EspacioService.class);
+        reservaService = contexto.getBean(ReservaService.class);
+        solicitudService = contexto.getBean(SolicitudCambioAulaService.class);
+        seguridad = contexto.getBean(Seguridad.class);
+
+        datos = new DatosSinteticos(contexto).cargar(espacios, reservas, solicitudes);
+
+        var primera = datos.reservas().getFirst();
+        franja = primera.getDiasYBloques();
+        reservaSuperpuesta = new ReservaDTO(null, primera.getFechaInicio(), primera.getFechaFin(),
+                primera.getEspacio().getId(), primera.getInscripcion().getId(), franja);
+
+        var solicitud = datos.solicitudes().getFirst();
+        solicitudDuplicada = new SolicitudCambioAulaDTO(null, solicitud.getProfesor().getId(),
+                solicitud.getReservaOriginal().getId(), solicitud.getNuevoEspacio().getId(),
+                EstadoSolicitud.PENDIENTE, TipoSolicitud.TEMPORAL, solicitud.getFechaInicio(),
+                solicitud.getFechaFin(), solicitud.getDiasYBloques(), null, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+}
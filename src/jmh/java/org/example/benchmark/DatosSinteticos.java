@@ -0,0 +1,140 @@
+package org.example.benchmark;
+
+import org.example.enums.BloqueHorario;
+import org.example.enums.Permisos;
+import org.example.enums.TipoSolicitud;
+import org.example.exception.NotFoundException;
+import org.example.model.*;
+import org.example.repository.*;
+import org.example.security.CacheRoles;
+import org.example.security.SesionActual;
+import org.example.service.DiaBloqueService;
+import org.example.service.IndiceOcupacion;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.context.ApplicationContext;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Carga un juego de datos sintético: espacios × reservas × solicitudes
+ * Cada reserva ocupa un día hábil y bloque distinto de su espacio durante un cuatrimestre, así no se pisan;
+ * cada solicitud pide mover una reserva al espacio siguiente en la misma franja
+ */
+class DatosSinteticos {
+    static final String USUARIO = "benchmark";
+    static final String PASSWORD = "benchmark";
+    static final LocalDate INICIO = LocalDate.of(2025, 3, 10);
+    static final LocalDate FIN = LocalDate.of(2025, 7, 4);
+
+    private static final int PROFESORES = 20;
+    private static final int ASIGNATURAS = 20;
+    private static final List<DayOfWeek> DIAS_HABILES = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY,
+            DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+
+    private final ApplicationContext contexto;
+    private final List<Reserva> reservas = new ArrayList<>();
+    private final List<SolicitudCambioAula> solicitudes = new ArrayList<>();
+
+    DatosSinteticos(ApplicationContext contexto) {
+        this.contexto = contexto;
+    }
+
+    List<Reserva> reservas() {
+        return reservas;
+    }
+
+    List<SolicitudCambioAula> solicitudes() {
+        return solicitudes;
+    }
+
+    /**
+     * Guarda los datos, reconstruye el índice de ocupación e inicia la sesión de un usuario con todos los permisos
+     * @param cantidadEspacios aulas y laboratorios, mitad y mitad
+     * @param cantidadReservas hasta 30 por espacio (5 días × 6 bloques)
+     * @param cantidadSolicitudes pendientes, sobre las primeras reservas
+     * @return DatosSinteticos con las reservas y solicitudes guardadas
+     */
+    DatosSinteticos cargar(int cantidadEspacios, int cantidadReservas, int cantidadSolicitudes) {
+        var franjas = franjasHabiles();
+        if (cantidadReservas > cantidadEspacios * franjas.size()) {
+            throw new IllegalArgumentException("No entran " + cantidadReservas + " reservas en "
+                    + cantidadEspacios + " espacios");
+        }
+
+        var profesores = contexto.getBean(ProfesorRepository.class).saveAll(generar(PROFESORES,
+                DatosSinteticos::profesor));
+        var asignaturas = contexto.getBean(AsignaturaRepository.class).saveAll(generar(ASIGNATURAS,
+                i -> new Asignatura(null, "Asignatura " + i, 1000 + i, false)));
+        var inscripciones = contexto.getBean(InscripcionRepository.class).saveAll(generar(cantidadReservas / 4 + 1,
+                i -> new Inscripcion(null, 30, 0, INICIO, asignaturas.get(i % ASIGNATURAS), i, INICIO.getYear(), 1,
+                        profesores.get(i % PROFESORES))));
+        List<Espacio> espacios = new ArrayList<>();
+        espacios.addAll(contexto.getBean(AulaRepository.class).saveAll(generar((cantidadEspacios + 1) / 2,
+                i -> new Aula(null, 100 + 2 * i, 30 + (i % 5) * 10, i % 2 == 0, i % 3 == 0))));
+        espacios.addAll(contexto.getBean(LaboratorioRepository.class).saveAll(generar(cantidadEspacios / 2,
+                i -> new Laboratorio(null, 101 + 2 * i, 30 + (i % 5) * 10, i % 2 == 0, i % 3 == 0, 20 + i % 10))));
+
+        reservas.addAll(contexto.getBean(ReservaRepository.class).saveAll(generar(cantidadReservas,
+                i -> new Reserva(null, INICIO, FIN, espacios.get(i % espacios.size()),
+                        inscripciones.get(i % inscripciones.size()),
+                        new HashSet<>(Set.of(franjas.get(i / espacios.size())))))));
+        var ocurrencias = reservas.stream().flatMap(r -> ReservaOcurrencia.desde(r).stream()).toList();
+        contexto.getBean(ReservaOcurrenciaRepository.class).saveAll(ocurrencias);
+
+        solicitudes.addAll(contexto.getBean(SolicitudCambioAulaRepository.class).saveAll(generar(cantidadSolicitudes,
+                i -> {
+                    var reserva = reservas.get(i % reservas.size());
+                    var destino = espacios.get((espacios.indexOf(reserva.getEspacio()) + 1) % espacios.size());
+                    return new SolicitudCambioAula(null, reserva.getInscripcion().getProfesor(), reserva, destino,
+                            TipoSolicitud.TEMPORAL, INICIO, FIN, reserva.getDiasYBloques(), "Solicitud " + i);
+                })));
+
+        iniciarSesion(profesores.getFirst());
+        contexto.getBean(IndiceOcupacion.class).construir();
+        return this;
+    }
+
+    private void iniciarSesion(Profesor profesor) {
+        var rol = contexto.getBean(RolRepository.class)
+                .save(new Rol(null, "BENCHMARK", new ArrayList<>(List.of(Permisos.values()))));
+        var usuario = contexto.getBean(UsuarioRepository.class)
+                .save(new Usuario(null, USUARIO, BCrypt.hashpw(PASSWORD, BCrypt.gensalt()), rol, profesor));
+        contexto.getBean(CacheRoles.class).refrescar();
+        contexto.getBean(SesionActual.class).setUsuario(usuario);
+    }
+
+    private List<DiaBloque> franjasHabiles() {
+        var diaBloqueService = contexto.getBean(DiaBloqueService.class);
+        List<DiaBloque> franjas = new ArrayList<>();
+        try {
+            for (var dia : DIAS_HABILES) {
+                for (var bloque : BloqueHorario.values()) {
+                    franjas.add(diaBloqueService.buscarPorDiaYBloque(bloque, dia));
+                }
+            }
+        } catch (NotFoundException e) {
+            throw new IllegalStateException("El catálogo de días y bloques no está cargado", e);
+        }
+        return franjas;
+    }
+
+    // Profesor marca el ID como @NonNull en su constructor completo, el nuevo se arma con los setters
+    private static Profesor profesor(int i) {
+        var profesor = new Profesor();
+        profesor.setNombre("Profesor");
+        profesor.setApellido("Sintético " + i);
+        profesor.setMatricula("M-" + i);
+        return profesor;
+    }
+
+    private static <T> List<T> generar(int cantidad, IntFunction<T> crear) {
+        List<T> lista = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            lista.add(crear.apply(i));
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.benchmark;
+
+import org.example.model.Aula;
+import org.example.model.Espacio;
+import org.example.model.Laboratorio;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de espacios disponibles y sus variantes con filtros
+ * La caché de disponibilidad está apagada en el perfil benchmark, cada invocación consulta la base de datos
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DisponibilidadBenchmark {
+
+    @Benchmark
+    public List<Espacio> espaciosDisponibles(ContextoBenchmark ctx) {
+        return ctx.espacioService.listarEspaciosDisponibles(DatosSinteticos.INICIO, DatosSinteticos.FIN, ctx.franja);
+    }
+
+    @Benchmark
+    public List<Aula> aulasDisponibles(ContextoBenchmark ctx) {
+        return ctx.espacioService.listarAulasDisponibles(DatosSinteticos.INICIO, DatosSinteticos.FIN, ctx.franja);
+    }
+
+    @Benchmark
+    public List<Laboratorio> laboratoriosDisponibles(ContextoBenchmark ctx) {
+        return ctx.espacioService.listarLaboratoriosDisponibles(DatosSinteticos.INICIO, DatosSinteticos.FIN,
+                ctx.franja);
+    }
+
+    @Benchmark
+    public List<Aula> aulasDisponiblesConCondiciones(ContextoBenchmark ctx) {
+        return ctx.espacioService.listarAulasDisponiblesConCondiciones(40, true, null,
+                DatosSinteticos.INICIO, DatosSinteticos.FIN, ctx.franja);
+    }
+
+    @Benchmark
+    public List<Laboratorio> laboratoriosDisponiblesConCondiciones(ContextoBenchmark ctx) {
+        return ctx.espacioService.listarLaboratoriosDisponiblesConCondiciones(25, 40, null, true,
+                DatosSinteticos.INICIO, DatosSinteticos.FIN, ctx.franja);
+    }
+}
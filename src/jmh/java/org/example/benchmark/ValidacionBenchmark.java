@@ -0,0 +1,48 @@
+package org.example.benchmark;
+
+import org.example.exception.BadRequestException;
+import org.example.exception.ConflictException;
+import org.example.exception.NotFoundException;
+import org.example.model.Usuario;
+import org.openjdk.jmh.annotations.*;
+
+import javax.naming.AuthenticationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validaciones al guardar: reserva superpuesta, solicitud duplicada e inicio de sesión
+ * Los pedidos se rechazan siempre, así se mide la validación sin modificar los datos entre invocaciones.
+ * Solo cuenta como rechazo el error de validación esperado, cualquier otra excepción corta el benchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidacionBenchmark {
+
+    @Benchmark
+    public Exception guardarReservaSuperpuesta(ContextoBenchmark ctx) throws NotFoundException {
+        try {
+            ctx.reservaService.guardar(ctx.reservaSuperpuesta);
+        } catch (BadRequestException | ConflictException e) {
+            return e;
+        }
+        throw new IllegalStateException("La reserva superpuesta no se rechazó");
+    }
+
+    @Benchmark
+    public Exception guardarSolicitudDuplicada(ContextoBenchmark ctx) throws NotFoundException {
+        try {
+            ctx.solicitudService.guardar(ctx.solicitudDuplicada);
+        } catch (BadRequestException e) {
+            return e;
+        }
+        throw new IllegalStateException("La solicitud duplicada no se rechazó");
+    }
+
+    @Benchmark
+    public Usuario autenticar(ContextoBenchmark ctx) throws AuthenticationException {
+        return ctx.seguridad.autenticar(DatosSinteticos.USUARIO, DatosSinteticos.PASSWORD);
+    }
+}
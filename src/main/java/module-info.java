@@ -9,6 +9,7 @@ module org.example.gestoraulas {
     requires spring.core;
     requires static lombok;
     requires java.naming;
+    requires java.sql;
     requires jfxtras.agenda;
     requires jakarta.persistence;
     requires spring.data.jpa;
@@ -16,14 +17,16 @@ module org.example.gestoraulas {
     requires spring.orm;
     requires org.hibernate.orm.core;
     requires spring.tx;
+    requires spring.aop;
+    requires org.aspectj.weaver;
 
 
     opens org.example.model to javafx.base, org.hibernate.orm.core, spring.core, spring.beans, spring.context;
     opens org.example.controller to javafx.fxml,spring.core,spring.context,org.slf4j;
     opens org.example.utils to spring.beans, spring.context, spring.core;
-    opens org.example.security to spring.beans, spring.context, spring.core;
+    opens org.example.security to spring.beans, spring.context, spring.core, spring.aop, org.aspectj.weaver;
     opens org.example to spring.core, spring.context, spring.beans;
-    opens org.example.service to spring.beans, spring.context,spring.core;
+    opens org.example.service to spring.beans, spring.context,spring.core, spring.aop, org.aspectj.weaver;
     opens org.example.repository to spring.beans, spring.context;
 
 
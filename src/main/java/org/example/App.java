@@ -4,10 +4,19 @@ import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.stage.Stage;
 import lombok.extern.slf4j.Slf4j;
+import org.example.exception.ForbiddenException;
+import org.example.exception.GlobalExceptionHandler;
+import org.example.utils.ReporteArranque;
 import org.example.utils.VistaUtils;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
 
 import java.io.IOException;
 
@@ -15,29 +24,71 @@ import java.io.IOException;
 @SpringBootApplication
 public class App extends Application {
 
+    private static final long INICIO = System.nanoTime();
+    private static final int CAPACIDAD_LINEA_TIEMPO = 10_000;
+
     private ConfigurableApplicationContext springContext;
 
     public static void main(String[] args) {
+        // La pantalla de carga aparece enseguida, antes de que init() levante el contexto de Spring
+        System.setProperty("javafx.preloader", PantallaCarga.class.getName());
         launch(args);
     }
 
     @Override
     public void init() {
+        var lineaTiempo = new BufferingApplicationStartup(CAPACIDAD_LINEA_TIEMPO);
         springContext = new SpringApplicationBuilder(App.class)
+                .applicationStartup(lineaTiempo)
+                .listeners(this::notificarEtapa)
                 .run(getParameters().getRaw().toArray(new String[0]));
+        ReporteArranque.registrar(lineaTiempo.drainBufferedTimeline());
+    }
+
+    private void notificarEtapa(ApplicationEvent evento) {
+        var descripcion = switch (evento) {
+            case ApplicationEnvironmentPreparedEvent e -> "Leyendo la configuración...";
+            case ApplicationPreparedEvent e -> "Conectando con la base de datos...";
+            case ContextRefreshedEvent e -> "Cargando datos...";
+            case ApplicationReadyEvent e -> "Abriendo el sistema...";
+            default -> null;
+        };
+        if (descripcion != null) {
+            notifyPreloader(new PantallaCarga.Etapa(descripcion));
+        }
     }
 
     @Override
     public void start(Stage stage) {
+        manejarAccesosDenegados();
         try {
             VistaUtils vistaUtils = springContext.getBean(VistaUtils.class);
             vistaUtils.cargarVista("/org/example/view/menus/menu-inicio-view.fxml");
+            log.info("Pantalla de inicio de sesión visible a los {} ms", (System.nanoTime() - INICIO) / 1_000_000);
         } catch (IOException e) {
             log.error("Error al cargar la vista inicial:");
             Platform.exit();
         }
     }
 
+    /**
+     * Muestra un aviso cuando la guardia de permisos rechaza una acción iniciada desde una vista
+     * El resto de los errores no controlados siguen yendo al manejador que ya tenía el hilo de JavaFX
+     */
+    private void manejarAccesosDenegados() {
+        var handler = springContext.getBean(GlobalExceptionHandler.class);
+        var anterior = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler((hilo, error) -> {
+            for (var causa = error; causa != null; causa = causa.getCause()) {
+                if (causa instanceof ForbiddenException e) {
+                    handler.handleForbiddenException(e);
+                    return;
+                }
+            }
+            anterior.uncaughtException(hilo, error);
+        });
+    }
+
     @Override
     public void stop() {
         springContext.close();
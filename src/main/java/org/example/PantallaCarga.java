@@ -0,0 +1,67 @@
+package org.example;
+
+import javafx.application.Preloader;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+import java.util.Objects;
+
+/**
+ * Pantalla que se muestra apenas arranca la aplicación, mientras {@link App#init()} levanta el contexto de Spring
+ * Se cierra cuando la aplicación está por mostrar la pantalla de inicio de sesión
+ */
+public class PantallaCarga extends Preloader {
+    private Stage stage;
+    private Label lblEtapa;
+
+    /**
+     * Etapa del arranque que se muestra debajo del indicador
+     * @param descripcion de la etapa
+     */
+    public record Etapa(String descripcion) implements PreloaderNotification {}
+
+    @Override
+    public void start(Stage stage) {
+        this.stage = stage;
+        String logo = Objects.requireNonNull(getClass().getResource("/org/example/image/logoUTN.png")).toExternalForm();
+        ImageView imagen = new ImageView(new Image(logo, 224, 139, true, true));
+        lblEtapa = new Label("Iniciando...");
+
+        VBox raiz = new VBox(15, imagen, new ProgressIndicator(), lblEtapa);
+        raiz.setAlignment(Pos.CENTER);
+        raiz.setPadding(new Insets(30));
+        raiz.setStyle("-fx-background-color: #ecf8ff;");
+
+        stage.initStyle(StageStyle.UNDECORATED);
+        stage.setScene(new Scene(raiz));
+        stage.show();
+    }
+
+    @Override
+    public void handleApplicationNotification(PreloaderNotification info) {
+        if (info instanceof Etapa etapa) {
+            lblEtapa.setText(etapa.descripcion());
+        }
+    }
+
+    @Override
+    public void handleStateChangeNotification(StateChangeNotification info) {
+        if (info.getType() == StateChangeNotification.Type.BEFORE_START) {
+            stage.hide();
+        }
+    }
+
+    @Override
+    public boolean handleErrorNotification(ErrorNotification info) {
+        stage.hide();
+        return false;
+    }
+}
@@ -14,7 +14,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.exception.GlobalExceptionHandler;
 import org.example.exception.NotFoundException;
 import org.example.model.Usuario;
-import org.example.model.dto.UsuarioDTO;
 import org.example.security.SesionActual;
 import org.example.service.UsuarioService;
 import org.example.utils.VistaUtils;
@@ -105,9 +104,7 @@ public class CambioPasswordVistaController {
                 return;
             }
 
-            UsuarioDTO modificado = new UsuarioDTO(usuarioActual.getId(),usuarioActual.getUsername(),
-                    newPassword.getText(),usuarioActual.getRol().getId(),usuarioActual.getProfesor().getId());
-            usuarioService.modificar(modificado);
+            usuarioService.cambiarPassword(newPassword.getText());
 
             vistaUtils.mostrarAlerta(
                     "La contraseña fue modificada correctamente",
@@ -1,22 +1,21 @@
 package org.example.controller.menus;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.exception.GlobalExceptionHandler;
-import org.example.exception.NotFoundException;
-import org.example.model.Rol;
 import org.example.model.Usuario;
 import org.example.security.Seguridad;
 import org.example.security.SesionActual;
-import org.example.service.RolService;
 import org.example.utils.VistaUtils;
 import org.springframework.stereotype.Controller;
 
 import javax.naming.AuthenticationException;
 import java.io.IOException;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -26,7 +25,6 @@ public class MenuInicioVistaController {
     private final VistaUtils vistaUtils;
     private final Seguridad seguridad;
     private final GlobalExceptionHandler globalExceptionHandler;
-    private final RolService rolService;
     @FXML
     private TextField username;
     @FXML
@@ -40,8 +38,17 @@ public class MenuInicioVistaController {
      */
     @FXML
     public void iniciarSesion(ActionEvent event) {
-        Usuario usuario = autenticarUsuario();
-        redireccionarSegunRol(usuario);
+        // BCrypt corre fuera del hilo de JavaFX, la ventana sigue respondiendo mientras se verifica
+        btnLogin.setDisable(true);
+        seguridad.autenticarAsync(username.getText(), password.getText())
+                .whenComplete((usuario, error) -> Platform.runLater(() -> {
+                    btnLogin.setDisable(false);
+                    if (error != null) {
+                        manejarErrorAutenticacion(error);
+                        return;
+                    }
+                    redireccionarSegunRol(iniciarSesion(usuario));
+                }));
     }
 
     /**
@@ -63,6 +70,7 @@ public class MenuInicioVistaController {
                     globalExceptionHandler.handleIOException(e);
                 }
                 vistaUtils.cerrarVentana(btnLogin);
+                vistaUtils.precargarVistas(VistaUtils.PRECARGA_ADMINISTRADOR);
             }
             case "profesor" -> {
                 try{
@@ -71,34 +79,30 @@ public class MenuInicioVistaController {
                     globalExceptionHandler.handleIOException(e);
                 }
                 vistaUtils.cerrarVentana(btnLogin);
+                vistaUtils.precargarVistas(VistaUtils.PRECARGA_PROFESOR);
             }
             default -> log.error("Rol no encontrado");
         }
     }
 
     /**
-     * Autentica al Usuario
-     * @return Usuario autenticado o null
+     * Deja al usuario autenticado en la sesión
+     * El rol y sus permisos ya vienen cargados con el usuario y los permisos se verifican contra la caché de roles
+     * @param usuario autenticado
+     * @return Usuario de la sesión
      */
-    private Usuario autenticarUsuario() {
-        Usuario usuario = null;
-        try {
-            usuario = seguridad.autenticar(username.getText(), password.getText());
-            var rol = getRol(usuario.getRol().getId());
-            usuario.setRol(rol);
-            sesionActual.setUsuario(usuario);
-        } catch (AuthenticationException e) {
-            globalExceptionHandler.handleAuthenticationException(e);
-        }
+    private Usuario iniciarSesion(Usuario usuario) {
+        sesionActual.setUsuario(usuario);
         return usuario;
     }
 
-    private Rol getRol(Integer idRol) {
-        try {
-            return rolService.obtener(idRol);
-        }catch (NotFoundException e){
-            globalExceptionHandler.handleNotFoundException(e);
-            return null;
+    private void manejarErrorAutenticacion(Throwable error) {
+        var causa = error instanceof CompletionException ? error.getCause() : error;
+        if (causa instanceof AuthenticationException e) {
+            globalExceptionHandler.handleAuthenticationException(e);
+        } else {
+            log.error("Error al iniciar sesión", causa);
+            vistaUtils.mostrarAlerta("No se pudo iniciar sesión, intente nuevamente.", Alert.AlertType.ERROR);
         }
     }
 }
@@ -57,9 +57,8 @@ public class MenuListarEspaciosVistaController {
     @FXML
     public void listarAulas(ActionEvent actionEvent) {
         try {
-            var aulas = espacioService.listarAulas();
             vistaUtils.cargarVista("/org/example/view/model/espacio/espacio-view.fxml",
-                    (EspacioVistaController controller) -> controller.setEspacios(aulas));
+                    (EspacioVistaController controller) -> controller.setEspacios(espacioService::listarAulas));
         } catch (IOException e) {
             globalExceptionHandler.handleIOException(e);
         }
@@ -68,9 +67,8 @@ public class MenuListarEspaciosVistaController {
     @FXML
     public void listarLaboratorios(ActionEvent actionEvent) {
         try {
-            var laboratorios = espacioService.listarLaboratorios();
             vistaUtils.cargarVista("/org/example/view/model/espacio/espacio-view.fxml",
-                    (EspacioVistaController controller) -> controller.setEspacios(laboratorios));
+                    (EspacioVistaController controller) -> controller.setEspacios(espacioService::listarLaboratorios));
         } catch (IOException e) {
             globalExceptionHandler.handleIOException(e);
         }
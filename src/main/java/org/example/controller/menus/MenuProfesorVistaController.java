@@ -12,7 +12,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.controller.model.reserva.ReservaVistaController;
 import org.example.enums.Permisos;
 import org.example.exception.GlobalExceptionHandler;
-import org.example.exception.NotFoundException;
 import org.example.security.Seguridad;
 import org.example.security.SesionActual;
 import org.example.service.ReservaService;
@@ -20,6 +19,7 @@ import org.example.utils.VistaUtils;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.LocalDate;
 
 
 @Slf4j
@@ -37,6 +37,8 @@ public class MenuProfesorVistaController {
     @FXML
     private Button btnListarReservas;
     @FXML
+    private Button btnMiCalendario;
+    @FXML
     private Button btnCambiarcontrasenia;
     @FXML
     private Button btnCerrarSesion;
@@ -82,11 +84,28 @@ public class MenuProfesorVistaController {
         if (seguridad.verificarPermiso(sesionActual.getUsuario(),Permisos.VER_RESERVAS)){
             try {
                 var idProfesor = sesionActual.getUsuario().getProfesor().getId();
-                var reservas = reservaService.listarReservasPorProfesor(idProfesor);
                 vistaUtils.cargarVista("/org/example/view/model/reserva/reserva-view.fxml",
-                        (ReservaVistaController controller) -> controller.setReservas(reservas));
-            } catch (NotFoundException e) {
-                globalExceptionHandler.handleNotFoundException(e);
+                        (ReservaVistaController controller) -> controller.setReservas(
+                                (posicion, tamanio) -> reservaService.listarHistorialPorProfesor(idProfesor, posicion, tamanio)));
+            }catch (IOException e){
+                globalExceptionHandler.handleIOException(e);
+            }
+        }else {
+            vistaUtils.mostrarAlerta("No tienes permisos para ver las reservas", Alert.AlertType.ERROR);
+        }
+    }
+
+    @FXML
+    public void verMiCalendario(ActionEvent actionEvent) {
+        if (seguridad.verificarPermiso(sesionActual.getUsuario(),Permisos.VER_RESERVAS)){
+            try {
+                var idProfesor = sesionActual.getUsuario().getProfesor().getId();
+                // Primer cuatrimestre de marzo a julio, segundo de agosto a diciembre
+                var hoy = LocalDate.now();
+                var desde = hoy.getMonthValue() < 8 ? LocalDate.of(hoy.getYear(), 3, 1) : LocalDate.of(hoy.getYear(), 8, 1);
+                var hasta = hoy.getMonthValue() < 8 ? LocalDate.of(hoy.getYear(), 7, 31) : LocalDate.of(hoy.getYear(), 12, 31);
+                vistaUtils.mostrarCalendarioOcupacion("Mi calendario", desde, hasta,
+                        (inicio, fin) -> reservaService.listarOcupacionProfesor(idProfesor, inicio, fin));
             }catch (IOException e){
                 globalExceptionHandler.handleIOException(e);
             }
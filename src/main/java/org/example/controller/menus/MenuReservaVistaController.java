@@ -5,14 +5,18 @@ import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.controller.model.reserva.ReservaVistaController;
 import org.example.enums.Permisos;
+import org.example.exception.BadRequestException;
+import org.example.exception.ConflictException;
 import org.example.exception.GlobalExceptionHandler;
 import org.example.security.Seguridad;
 import org.example.security.SesionActual;
+import org.example.service.ImportacionReservaService;
 import org.example.service.ReservaService;
 import org.example.utils.VistaUtils;
 import org.springframework.stereotype.Component;
@@ -27,6 +31,7 @@ public class MenuReservaVistaController {
     private final SesionActual sesionActual;
     private final VistaUtils vistaUtils;
     private final ReservaService reservaService;
+    private final ImportacionReservaService importacionReservaService;
     private final GlobalExceptionHandler globalExceptionHandler;
     @FXML
     private Button btnListar;
@@ -35,6 +40,8 @@ public class MenuReservaVistaController {
     @FXML
     private Button btnEliminar;
     @FXML
+    private Button btnImportar;
+    @FXML
     private Button btnVolver;
 
     @FXML
@@ -57,7 +64,7 @@ public class MenuReservaVistaController {
         if (seguridad.verificarPermiso(sesionActual.getUsuario(), Permisos.VER_RESERVAS)){
             try{
                 vistaUtils.cargarVista("/org/example/view/model/reserva/reserva-view.fxml",
-                        (ReservaVistaController controller) -> controller.setReservas(reservaService.listar()));
+                        (ReservaVistaController controller) -> controller.setReservas(reservaService::listarHistorial));
             }catch (IOException e){
                 globalExceptionHandler.handleIOException(e);
             }
@@ -92,6 +99,31 @@ public class MenuReservaVistaController {
         }
     }
 
+    @FXML
+    public void importar(ActionEvent actionEvent) {
+        if (!seguridad.verificarPermiso(sesionActual.getUsuario(), Permisos.CREAR_RESERVA)){
+            vistaUtils.mostrarAlerta("No tienes permisos para crear reservas", Alert.AlertType.ERROR);
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Importar reservas");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Archivos CSV", "*.csv"));
+        var archivo = fileChooser.showOpenDialog(btnImportar.getScene().getWindow());
+        if (archivo == null) {
+            return;
+        }
+
+        try {
+            var importadas = importacionReservaService.importar(archivo.toPath());
+            vistaUtils.mostrarAlerta(String.format("Se importaron %d reservas", importadas), Alert.AlertType.INFORMATION);
+        } catch (BadRequestException e) {
+            globalExceptionHandler.handleBadRequestException(e);
+        } catch (ConflictException e) {
+            globalExceptionHandler.handleConflictException(e);
+        }
+    }
+
     @FXML
     public void volverMenuPrincipal(ActionEvent actionEvent) {
         try{
@@ -71,7 +71,7 @@ public class MenuSolicitudProfesorVistaController {
 
     @FXML
     public void eliminarSolicitud(ActionEvent actionEvent) {
-        if (seguridad.verificarPermiso(sesionActual.getUsuario(), Permisos.VER_SOLICITUDES_CAMBIO)) {
+        if (seguridad.verificarPermiso(sesionActual.getUsuario(), Permisos.SOLICITAR_CAMBIO)) {
             try{
                 vistaUtils.cargarVista("/org/example/view/model/solicitud/eliminar-solicitud-view.fxml");
             }catch (IOException e) {
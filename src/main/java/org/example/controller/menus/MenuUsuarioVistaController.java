@@ -57,7 +57,7 @@ public class MenuUsuarioVistaController {
         if (seguridad.verificarPermiso(sesionActual.getUsuario(), Permisos.VER_USUARIOS)){
             try{
                 vistaUtils.cargarVista("/org/example/view/model/usuario/usuario-view.fxml",
-                        (UsuarioVistaController controller) -> controller.setUsuarios(usuarioService.listar()));
+                        (UsuarioVistaController controller) -> controller.setUsuarios(usuarioService::listar));
             }catch (IOException e) {
                 globalExceptionHandler.handleIOException(e);
             }
@@ -1,59 +1,234 @@
 package org.example.controller.model;
 
 import javafx.fxml.FXML;
+import javafx.scene.control.Label;
 import jfxtras.scene.control.agenda.Agenda;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.enums.BloqueHorario;
+import org.example.exception.GlobalExceptionHandler;
 import org.example.model.DiaBloque;
+import org.example.model.dto.OcupacionTurno;
+import org.example.utils.EjecutorTareas;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
+import java.util.function.BiFunction;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 public class CalendarioVistaController {
+    private static final String TITULO_HORARIOS = "Reserva Semanal";
+    private static final String RESERVADO = "reservado";
+    private static final String TEMPORAL = "temporal";
+
+    private final EjecutorTareas ejecutorTareas;
+    private final GlobalExceptionHandler globalExceptionHandler;
+    @FXML
+    private Label lblTitulo;
     @FXML
     private Agenda agenda;
 
+    // Lo que muestra la agenda por turno, así al cambiar de semana solo se agrega y quita lo que cambia
+    private final Map<Turno, Agenda.Appointment> mostrados = new HashMap<>();
+    private final Map<String, Agenda.AppointmentGroup> grupos = new HashMap<>();
+
+    // Semanas de ocupación ya traídas (por lunes) y las que están en camino
+    private final Map<LocalDate, List<OcupacionTurno>> semanas = new HashMap<>();
+    private final Set<LocalDate> pedidas = new HashSet<>();
+    private BiFunction<LocalDate, LocalDate, List<OcupacionTurno>> consulta;
+    private LocalDate desde;
+    private LocalDate hasta;
+    private LocalDate semanaVisible;
+    // Cambia con cada consulta nueva, descarta las semanas que llegan de la anterior
+    private int generacion;
+
+    private record Turno(LocalDate fecha, BloqueHorario bloqueHorario, Integer idReserva) {}
+
+    private record Contenido(String descripcion, String estilo) {}
+
     @FXML
     public void initialize() {
-        agenda.setDisplayedLocalDateTime(LocalDateTime.now()); // Muestra la fecha actual
+        // Empieza sin nada mostrado ni traído, la agenda es nueva
+        mostrados.clear();
+        grupos.clear();
+        reiniciar(null, null, null);
+
         agenda.setAllowDragging(false); // ❌ No permitir arrastrar eventos
         agenda.setAllowResize(false);   // ❌ No permitir cambiar tamaño
         agenda.setEditAppointmentCallback(param -> null); // ❌ No permitir editar con doble clic
+        // La agenda avisa cada vez que cambia el rango que muestra
+        agenda.setLocalDateTimeRangeCallback(rango -> {
+            if (rango != null && rango.getStartLocalDateTime() != null) {
+                mostrarSemana(rango.getStartLocalDateTime().toLocalDate());
+            }
+            return null;
+        });
 
         // Cargar el archivo CSS
         String css = Objects.requireNonNull(getClass().getResource("/org/example/styles/calendar.css")).toExternalForm();
         agenda.getStylesheets().add(css);
     }
 
+    /**
+     * Muestra un patrón de días y bloques sobre la semana actual
+     * @param diasBloques a mostrar
+     */
     public void cargarHorarios(Set<DiaBloque> diasBloques) {
-        agenda.appointments().clear();
-
-        LocalDate semanaBase = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        reiniciar(null, null, null);
+        lblTitulo.setText(TITULO_HORARIOS);
 
+        LocalDate semanaBase = lunes(LocalDate.now());
+        Map<Turno, Contenido> deseados = new HashMap<>();
         for (DiaBloque diaBloque : diasBloques) {
-            DayOfWeek dia = diaBloque.getDia(); // Obtener el día
-            BloqueHorario bh = diaBloque.getBloqueHorario(); // Obtener el bloque horario
+            LocalDate fechaReferencia = semanaBase.with(diaBloque.getDia());
+            deseados.put(new Turno(fechaReferencia, diaBloque.getBloqueHorario(), null),
+                    new Contenido("Reserva programada", RESERVADO));
+        }
+        sincronizar(deseados);
+        agenda.setDisplayedLocalDateTime(LocalDate.now().atStartOfDay()); // La vista se reutiliza, vuelve a la semana actual
+    }
+
+    /**
+     * Muestra la ocupación real de un período (por ejemplo un cuatrimestre), semana por semana
+     * Solo se trae de la base de datos la semana visible, las vecinas se traen en segundo plano
+     * @param titulo de la vista
+     * @param desde primera fecha del período
+     * @param hasta última fecha del período
+     * @param consulta que trae los turnos ocupados entre dos fechas
+     */
+    public void mostrarOcupacion(String titulo, LocalDate desde, LocalDate hasta,
+                                 BiFunction<LocalDate, LocalDate, List<OcupacionTurno>> consulta) {
+        reiniciar(consulta, desde, hasta);
+        lblTitulo.setText(titulo);
+        sincronizar(Map.of());
+
+        var hoy = LocalDate.now();
+        var inicial = hoy.isBefore(desde) || hoy.isAfter(hasta) ? desde : hoy;
+        agenda.setDisplayedLocalDateTime(inicial.atStartOfDay());
+        // Si la agenda ya mostraba esa semana no avisa el cambio de rango
+        mostrarSemana(inicial);
+    }
+
+    private void reiniciar(BiFunction<LocalDate, LocalDate, List<OcupacionTurno>> consulta,
+                           LocalDate desde, LocalDate hasta) {
+        this.consulta = consulta;
+        this.desde = desde;
+        this.hasta = hasta;
+        this.semanaVisible = null;
+        semanas.clear();
+        pedidas.clear();
+        generacion++;
+    }
+
+    private void mostrarSemana(LocalDate fecha) {
+        if (consulta == null) {
+            return;
+        }
+        var lunes = lunes(fecha);
+        if (lunes.equals(semanaVisible)) {
+            return;
+        }
+        semanaVisible = lunes;
+        pedirSemana(lunes, true);
+        pedirSemana(lunes.minusWeeks(1), false);
+        pedirSemana(lunes.plusWeeks(1), false);
+        actualizarAgenda();
+    }
+
+    private void pedirSemana(LocalDate lunes, boolean visible) {
+        var domingo = lunes.plusDays(6);
+        if (domingo.isBefore(desde) || lunes.isAfter(hasta) || semanas.containsKey(lunes) || !pedidas.add(lunes)) {
+            return;
+        }
+        var consultaActual = consulta;
+        var generacionActual = generacion;
+        var tarea = ejecutorTareas.tarea(() -> consultaActual.apply(lunes, domingo))
+                .alTerminar(turnos -> {
+                    if (generacionActual == generacion) {
+                        semanas.put(lunes, turnos);
+                        actualizarAgenda();
+                    }
+                })
+                .alFallar(e -> {
+                    if (generacionActual == generacion) {
+                        pedidas.remove(lunes);
+                        globalExceptionHandler.manejar(e);
+                    }
+                });
+        if (visible) {
+            tarea.indicando(agenda);
+        }
+        tarea.iniciar();
+    }
+
+    /**
+     * La agenda tiene los turnos de la semana visible y sus vecinas, así al pasar de semana ya están
+     */
+    private void actualizarAgenda() {
+        if (semanaVisible == null) {
+            return;
+        }
+        Map<Turno, Contenido> deseados = new HashMap<>();
+        for (var lunes = semanaVisible.minusWeeks(1); !lunes.isAfter(semanaVisible.plusWeeks(1)); lunes = lunes.plusWeeks(1)) {
+            semanas.getOrDefault(lunes, List.of()).stream()
+                    .filter(turno -> !turno.fecha().isBefore(desde) && !turno.fecha().isAfter(hasta))
+                    .forEach(turno -> deseados.put(
+                            new Turno(turno.fecha(), turno.bloqueHorario(), turno.idReserva()),
+                            new Contenido(turno.descripcion(), turno.temporal() ? TEMPORAL : RESERVADO)));
+        }
+        sincronizar(deseados);
+    }
 
-            LocalDate fechaReferencia = semanaBase.with(dia);
-            LocalDateTime inicio = fechaReferencia.atTime(bh.getInicio());
-            LocalDateTime fin = fechaReferencia.atTime(bh.getFin());
+    /**
+     * Quita de la agenda los turnos que sobran y agrega los que faltan, los que siguen no se tocan
+     */
+    private void sincronizar(Map<Turno, Contenido> deseados) {
+        List<Agenda.Appointment> quitar = new ArrayList<>();
+        mostrados.entrySet().removeIf(e -> {
+            if (deseados.containsKey(e.getKey())) {
+                return false;
+            }
+            quitar.add(e.getValue());
+            return true;
+        });
 
-            Agenda.Appointment appointment = new Agenda.AppointmentImplLocal()
-                    .withStartLocalDateTime(inicio)
-                    .withEndLocalDateTime(fin)
-                    .withDescription("Reserva programada")
-                    .withAppointmentGroup(new Agenda.AppointmentGroupImpl().withStyleClass("reservado"));
+        List<Agenda.Appointment> agregar = new ArrayList<>();
+        deseados.forEach((turno, contenido) -> {
+            if (!mostrados.containsKey(turno)) {
+                var appointment = crearAppointment(turno, contenido);
+                mostrados.put(turno, appointment);
+                agregar.add(appointment);
+            }
+        });
 
-            agenda.appointments().add(appointment);
+        if (!quitar.isEmpty()) {
+            agenda.appointments().removeAll(quitar);
+        }
+        if (!agregar.isEmpty()) {
+            agenda.appointments().addAll(agregar);
         }
     }
+
+    private Agenda.Appointment crearAppointment(Turno turno, Contenido contenido) {
+        var bloque = turno.bloqueHorario();
+        return new Agenda.AppointmentImplLocal()
+                .withStartLocalDateTime(turno.fecha().atTime(bloque.getInicio()))
+                .withEndLocalDateTime(turno.fecha().atTime(bloque.getFin()))
+                .withSummary(contenido.descripcion())
+                .withDescription(contenido.descripcion())
+                .withAppointmentGroup(grupos.computeIfAbsent(contenido.estilo(),
+                        estilo -> new Agenda.AppointmentGroupImpl().withStyleClass(estilo)));
+    }
+
+    private static LocalDate lunes(LocalDate fecha) {
+        return fecha.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
 }
@@ -10,16 +10,24 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.model.Espacio;
 import org.example.model.Laboratorio;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.function.Function;
 
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 public class EspacioVistaController {
+    private final EjecutorTareas ejecutorTareas;
     @FXML
     private Pagination pagination;
     @FXML
@@ -35,31 +43,36 @@ public class EspacioVistaController {
     @FXML
     private TableColumn<Laboratorio, Integer> colComputadoras;
     private static final int PAGE_SIZE = 10;
-    private List<? extends Espacio> espacios;
-
-    public void setEspacios(List<? extends Espacio> espacios) {
-        this.espacios = espacios;
-
-        int totalPages = (int) Math.ceil((double) espacios.size() / PAGE_SIZE);
-        pagination.setPageCount(Math.max(totalPages, 1));
-
-        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
+    private Function<Pageable, Page<? extends Espacio>> consulta;
 
+    /**
+     * Indica de dónde salen los espacios, cada cambio de página trae solo esa página de la base de datos
+     * @param consulta que trae una página de aulas o laboratorios
+     */
+    public void setEspacios(Function<Pageable, Page<? extends Espacio>> consulta) {
+        this.consulta = consulta;
+        pagination.setCurrentPageIndex(0);
         cargarPagina(0);
     }
 
     private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, espacios.size());
-
-        ObservableList<Espacio> espacioObservableList = FXCollections.observableArrayList();
-        espacioObservableList.addAll(espacios.subList(fromIndex, toIndex));
+        var consultaActual = consulta;
+        ejecutorTareas.tarea(() -> consultaActual.apply(PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblEspacios)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<Espacio> espacioObservableList = FXCollections.observableArrayList();
+                    espacioObservableList.addAll(pagina.getContent());
 
-        tblEspacios.setItems(espacioObservableList);
+                    tblEspacios.setItems(espacioObservableList);
+                })
+                .iniciar();
     }
 
     @FXML
     public void initialize() {
         TableUtils.inicializarTablaEspacio(colNum, colCapacidad, colTieneProyector, colTieneTV, colComputadoras);
+        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
     }
 }
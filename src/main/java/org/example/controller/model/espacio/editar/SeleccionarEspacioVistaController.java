@@ -14,12 +14,13 @@ import org.example.exception.GlobalExceptionHandler;
 import org.example.model.Espacio;
 import org.example.model.Laboratorio;
 import org.example.service.EspacioService;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -29,6 +30,7 @@ public class SeleccionarEspacioVistaController {
     private final VistaUtils vistaUtils;
     private final EspacioService espacioService;
     private final GlobalExceptionHandler globalExceptionHandler;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
     Pagination pagination;
     @FXML
@@ -56,21 +58,21 @@ public class SeleccionarEspacioVistaController {
         // Deshabilitar botón si no hay selección
         btnContinuar.disableProperty().bind(tblEspacios.getSelectionModel().selectedItemProperty().isNull());
 
-        // Cargar y paginar los espacios directamente
-        List<Espacio> espacios = espacioService.listar();
-        int totalPages = (int) Math.ceil((double) espacios.size() / PAGE_SIZE);
-        pagination.setPageCount(Math.max(totalPages, 1));
-
-        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(espacios, newIndex.intValue()));
-        cargarPagina(espacios, 0); // Cargar la primera página
+        // Cada cambio de página trae solo esa página de la base de datos
+        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
+        cargarPagina(0); // Cargar la primera página
     }
 
-    private void cargarPagina(List<Espacio> espacios, int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, espacios.size());
-
-        ObservableList<Espacio> espacioObservableList = FXCollections.observableArrayList(espacios.subList(fromIndex, toIndex));
-        tblEspacios.setItems(espacioObservableList);
+    private void cargarPagina(int pageIndex) {
+        ejecutorTareas.tarea(() -> espacioService.listar(PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblEspacios)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<Espacio> espacioObservableList = FXCollections.observableArrayList(pagina.getContent());
+                    tblEspacios.setItems(espacioObservableList);
+                })
+                .iniciar();
     }
 
 
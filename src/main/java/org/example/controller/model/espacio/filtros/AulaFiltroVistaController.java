@@ -21,22 +21,27 @@ import org.example.model.DiaBloque;
 import org.example.service.DiaBloqueService;
 import org.example.service.EspacioService;
 
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
 import org.example.utils.Utils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Slf4j
 @Component
 public class AulaFiltroVistaController{
     private final VistaUtils vistaUtils;
     private final DiaBloqueService diaBloqueService;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
     private TextField capacidad;
     @FXML
@@ -95,14 +100,15 @@ public class AulaFiltroVistaController{
     private final Set<DiaBloque> diasYBloques;
 
     private static final int PAGE_SIZE = 10;
-    private List<Aula> aulasFiltradas;
+    private Function<Pageable, Page<Aula>> consulta;
 
-    public AulaFiltroVistaController(EspacioService espacioService, VistaUtils vistaUtils, DiaBloqueService diaBloqueService) {
+    public AulaFiltroVistaController(EspacioService espacioService, VistaUtils vistaUtils, DiaBloqueService diaBloqueService,
+                                     EjecutorTareas ejecutorTareas) {
         this.espacioService = espacioService;
         this.vistaUtils = vistaUtils;
         this.diaBloqueService = diaBloqueService;
+        this.ejecutorTareas = ejecutorTareas;
         this.diasYBloques = new HashSet<>();
-        this.aulasFiltradas = new ArrayList<>();
     }
 
     @FXML
@@ -148,6 +154,9 @@ public class AulaFiltroVistaController{
                 configurarControlesPorRango(diasEnRango);
             }
         });
+
+        // Cada cambio de página trae solo esa página de la base de datos
+        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
     }
 
 
@@ -193,36 +202,42 @@ public class AulaFiltroVistaController{
             return;
         }
 
-        var diasBloquesPersist = diasYBloques.stream()
-                .map(diaBloque -> {
-                    try {
-                        return diaBloqueService.buscarPorDiaYBloque(diaBloque.getBloqueHorario(),diaBloque.getDia());
-                    } catch (NotFoundException e) {
-                        log.error(e.getMessage());
-                    }
-                    return diaBloque;
-                })
-                .collect(Collectors.toSet());
-
+        Set<DiaBloque> diasBloquesPersist;
+        try {
+            diasBloquesPersist = diaBloqueService.resolver(diasYBloques);
+        } catch (NotFoundException e) {
+            log.error(e.getMessage());
+            vistaUtils.mostrarAlerta(e.getMessage(), Alert.AlertType.ERROR);
+            return;
+        }
 
-        aulasFiltradas = espacioService.listarAulasDisponiblesConCondiciones(capacidadMin, proyectorRequerido, tvRequerido,
-                inicio, fin, diasBloquesPersist);
-        int totalPages = (int) Math.ceil((double) aulasFiltradas.size() / PAGE_SIZE);
-        pagination.setPageCount(Math.max(totalPages, 1));
 
-        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
+        consulta = pagina -> espacioService.listarAulasDisponiblesConCondiciones(capacidadMin, proyectorRequerido,
+                tvRequerido, inicio, fin, diasBloquesPersist, pagina);
 
-        cargarPagina(0);
+        if (pagination.getCurrentPageIndex() == 0) {
+            cargarPagina(0);
+        } else {
+            pagination.setCurrentPageIndex(0);
+        }
     }
 
     private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, aulasFiltradas.size());
-
-        ObservableList<Aula> espacioObservableList = FXCollections.observableArrayList();
-        espacioObservableList.addAll(aulasFiltradas.subList(fromIndex, toIndex));
-
-        tblAulas.setItems(espacioObservableList);
+        if (consulta == null) {
+            return;
+        }
+        var consultaActual = consulta;
+        ejecutorTareas.tarea(() -> consultaActual.apply(PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblAulas)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<Aula> espacioObservableList = FXCollections.observableArrayList();
+                    espacioObservableList.addAll(pagina.getContent());
+
+                    tblAulas.setItems(espacioObservableList);
+                })
+                .iniciar();
     }
 
     /**
@@ -14,21 +14,26 @@ import org.example.model.DiaBloque;
 import org.example.model.Laboratorio;
 import org.example.service.DiaBloqueService;
 import org.example.service.EspacioService;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
 import org.example.utils.Utils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Slf4j
 @Component
 public class LaboratorioFiltroVistaController{
     private final VistaUtils vistaUtils;
     private final DiaBloqueService diaBloqueService;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
     private TextField computadoras;
     @FXML
@@ -90,14 +95,15 @@ public class LaboratorioFiltroVistaController{
 
     private final Set<DiaBloque> diasYBloques;
     private static final int PAGE_SIZE = 10;
-    private List<Laboratorio> labsFiltrados;
+    private Function<Pageable, Page<Laboratorio>> consulta;
 
-    public LaboratorioFiltroVistaController(EspacioService espacioService, VistaUtils vistaUtils, DiaBloqueService diaBloqueService) {
+    public LaboratorioFiltroVistaController(EspacioService espacioService, VistaUtils vistaUtils, DiaBloqueService diaBloqueService,
+                                            EjecutorTareas ejecutorTareas) {
         this.espacioService = espacioService;
         this.diaBloqueService = diaBloqueService;
+        this.ejecutorTareas = ejecutorTareas;
         this.diasYBloques = new HashSet<>();
         this.vistaUtils = vistaUtils;
-        this.labsFiltrados = new ArrayList<>();
     }
 
     @FXML
@@ -145,6 +151,9 @@ public class LaboratorioFiltroVistaController{
                 configurarControlesPorRango(diasEnRango);
             }
         });
+
+        // Cada cambio de página trae solo esa página de la base de datos
+        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
     }
 
     @FXML
@@ -197,37 +206,43 @@ public class LaboratorioFiltroVistaController{
             vistaUtils.mostrarAlerta("Debe seleccionar al menos un día con sus bloques horarios", Alert.AlertType.ERROR);
             return;
         }
-        var diasBloquesPersist = diasYBloques.stream()
-                .map(diaBloque -> {
-                    try {
-                        return diaBloqueService.buscarPorDiaYBloque(diaBloque.getBloqueHorario(),diaBloque.getDia());
-                    } catch (NotFoundException e) {
-                        log.error(e.getMessage());
-                    }
-                    return diaBloque;
-                })
-                .collect(Collectors.toSet());
+        Set<DiaBloque> diasBloquesPersist;
+        try {
+            diasBloquesPersist = diaBloqueService.resolver(diasYBloques);
+        } catch (NotFoundException e) {
+            log.error(e.getMessage());
+            vistaUtils.mostrarAlerta(e.getMessage(), Alert.AlertType.ERROR);
+            return;
+        }
 
-        labsFiltrados = espacioService.listarLaboratoriosDisponiblesConCondiciones(computadorasMin,capacidadMin,
+        consulta = pagina -> espacioService.listarLaboratoriosDisponiblesConCondiciones(computadorasMin, capacidadMin,
                 proyectorRequerido, tvRequerido,
                 inicio, fin,
-                diasBloquesPersist);
-        int totalPages = (int) Math.ceil((double) labsFiltrados.size() / PAGE_SIZE);
-        pagination.setPageCount(Math.max(totalPages, 1));
-
-        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
+                diasBloquesPersist, pagina);
 
-        cargarPagina(0);
+        if (pagination.getCurrentPageIndex() == 0) {
+            cargarPagina(0);
+        } else {
+            pagination.setCurrentPageIndex(0);
+        }
     }
 
     private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, labsFiltrados.size());
-
-        ObservableList<Laboratorio> labsObservableList = FXCollections.observableArrayList();
-        labsObservableList.addAll(labsFiltrados.subList(fromIndex, toIndex));
-
-        tblLaboratorios.setItems(labsObservableList);
+        if (consulta == null) {
+            return;
+        }
+        var consultaActual = consulta;
+        ejecutorTareas.tarea(() -> consultaActual.apply(PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblLaboratorios)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<Laboratorio> labsObservableList = FXCollections.observableArrayList();
+                    labsObservableList.addAll(pagina.getContent());
+
+                    tblLaboratorios.setItems(labsObservableList);
+                })
+                .iniciar();
     }
 
     /**
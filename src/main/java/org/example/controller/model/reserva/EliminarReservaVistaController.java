@@ -9,17 +9,19 @@ import javafx.scene.input.MouseEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.exception.GlobalExceptionHandler;
-import org.example.exception.NotFoundException;
 import org.example.model.DiaBloque;
-import org.example.model.Reserva;
+import org.example.model.dto.ReservaResumen;
+import org.example.service.EspacioService;
+import org.example.service.InscripcionService;
 import org.example.service.ReservaService;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -30,18 +32,21 @@ public class EliminarReservaVistaController {
     private final VistaUtils vistaUtils;
     private final ReservaService reservaService;
     private final GlobalExceptionHandler globalExceptionHandler;
+    private final InscripcionService inscripcionService;
+    private final EspacioService espacioService;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
-    private TableView<Reserva> tblReservas;
+    private TableView<ReservaResumen> tblReservas;
     @FXML
-    private TableColumn<Reserva, LocalDate> colFechaInicio;
+    private TableColumn<ReservaResumen, LocalDate> colFechaInicio;
     @FXML
-    private TableColumn<Reserva,LocalDate> colFechaFin;
+    private TableColumn<ReservaResumen,LocalDate> colFechaFin;
     @FXML
-    private TableColumn<Reserva,String> colAula;
+    private TableColumn<ReservaResumen,String> colAula;
     @FXML
-    private TableColumn<Reserva,String> colInscripcion;
+    private TableColumn<ReservaResumen,String> colInscripcion;
     @FXML
-    private TableColumn<Reserva, Set<DiaBloque>> colDiaHorario;
+    private TableColumn<ReservaResumen, Set<DiaBloque>> colDiaHorario;
     @FXML
     private Button btnEliminar;
     @FXML
@@ -66,7 +71,7 @@ public class EliminarReservaVistaController {
                             .ofNullable(reserva)
                             .ifPresent(r -> {
                                 try {
-                                    vistaUtils.mostrarVistaHorarios(reserva.getDiasYBloques());
+                                    vistaUtils.mostrarVistaHorarios(DiaBloque.desdeMascara(reserva.mascaraHorario()));
                                 } catch (IOException e) {
                                     globalExceptionHandler.handleIOException(e);
                                 }
@@ -86,7 +91,7 @@ public class EliminarReservaVistaController {
         });
 
         tblReservas.setRowFactory(tableView -> {
-            TableRow<Reserva> row = new TableRow<>();
+            TableRow<ReservaResumen> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
                     handleRowDoubleClick(row.getItem(), event);
@@ -95,59 +100,70 @@ public class EliminarReservaVistaController {
             return row;
         });
 
-        // Cargar y paginar las reservas directamente
-        var reservas = reservaService.listar();
-        int totalPages = (int) Math.ceil((double) reservas.size() / PAGE_SIZE);
-        pagination.setPageCount(Math.max(totalPages, 1));
-
+        // Cada cambio de página trae solo esa página de la base de datos
         pagination.currentPageIndexProperty().addListener(
-                (obs, oldIndex, newIndex) -> cargarPagina(reservas, newIndex.intValue()));
-        cargarPagina(reservas, 0); // Cargar la primera página
+                (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
+        cargarPagina(0); // Cargar la primera página
     }
 
-    private void cargarPagina(List<Reserva> reservas, int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, reservas.size());
-
-        ObservableList<Reserva> reservaObservableList = FXCollections.observableArrayList(reservas.subList(fromIndex, toIndex));
-        tblReservas.setItems(reservaObservableList);
+    private void cargarPagina(int pageIndex) {
+        ejecutorTareas.tarea(() -> reservaService.listar(PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblReservas)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<ReservaResumen> reservaObservableList = FXCollections.observableArrayList(pagina.getContent());
+                    tblReservas.setItems(reservaObservableList);
+                })
+                .iniciar();
     }
 
-    private void handleRowDoubleClick(Reserva reserva, MouseEvent ignoredEvent) {
+    private void handleRowDoubleClick(ReservaResumen reserva, MouseEvent ignoredEvent) {
         // Determinar la columna del click
         var clickedColumn = tblReservas.getFocusModel().getFocusedCell().getTableColumn();
 
         if (clickedColumn == colInscripcion) {
-            try{
-                vistaUtils.mostrarVistaInscripcion(reserva.getInscripcion());
-            }catch (IOException e){
-                globalExceptionHandler.handleIOException(e);
-            }
+            ejecutorTareas.tarea(() -> inscripcionService.obtener(reserva.idInscripcion()))
+                    .indicando(tblReservas)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaInscripcion(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
         }else if(clickedColumn == colAula) {
-            try {
-                vistaUtils.mostrarVistaEspacio(reserva.getEspacio());
-            } catch (IOException e) {
-                globalExceptionHandler.handleIOException(e);
-            }
+            ejecutorTareas.tarea(() -> espacioService.obtener(reserva.idEspacio()))
+                    .indicando(tblReservas)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaEspacio(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
         }
     }
 
     @FXML
     public void eliminar(ActionEvent actionEvent) {
-        Reserva seleccionada = tblReservas.getSelectionModel().getSelectedItem();
+        ReservaResumen seleccionada = tblReservas.getSelectionModel().getSelectedItem();
         Optional
                 .ofNullable(seleccionada)
                 .ifPresent(usuario ->{
-                    try {
-                        var result = vistaUtils.mostrarAlerta("Estas seguro?", Alert.AlertType.CONFIRMATION);
-
-                        if (result == ButtonType.OK) {
-                            reservaService.eliminar(usuario.getId());
-                            vistaUtils.mostrarAlerta("Reserva eliminada correctamente", Alert.AlertType.INFORMATION);
-                            vistaUtils.cerrarVentana(btnEliminar);
-                        }
-                    } catch (NotFoundException e) {
-                        globalExceptionHandler.handleNotFoundException(e);
+                    var result = vistaUtils.mostrarAlerta("Estas seguro?", Alert.AlertType.CONFIRMATION);
+
+                    if (result == ButtonType.OK) {
+                        ejecutorTareas.accion(() -> reservaService.eliminar(usuario.id()))
+                                .bloqueando(btnEliminar, btnCancelar)
+                                .indicando(tblReservas)
+                                .alTerminar(sinResultado -> {
+                                    vistaUtils.mostrarAlerta("Reserva eliminada correctamente", Alert.AlertType.INFORMATION);
+                                    vistaUtils.cerrarVentana(btnEliminar);
+                                })
+                                .iniciar();
                     }
                 });
 
@@ -2,6 +2,7 @@ package org.example.controller.model.reserva;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseEvent;
@@ -9,57 +10,86 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.exception.GlobalExceptionHandler;
 import org.example.model.DiaBloque;
-import org.example.model.Reserva;
+import org.example.model.dto.ReservaResumen;
+import org.example.service.EspacioService;
+import org.example.service.InscripcionService;
+import org.example.service.ReservaService;
+import org.example.utils.EjecutorTareas;
+import org.example.utils.PaginacionKeyset;
 import org.example.utils.TableUtils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiFunction;
 
 @Slf4j
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class ReservaVistaController {
     private final VistaUtils vistaUtils;
     private final GlobalExceptionHandler globalExceptionHandler;
+    private final InscripcionService inscripcionService;
+    private final EspacioService espacioService;
+    private final ReservaService reservaService;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
-    private TableView<Reserva> tblReservas;
+    private TableView<ReservaResumen> tblReservas;
     @FXML
-    private TableColumn<Reserva, LocalDate> colFechaInicio;
+    private TableColumn<ReservaResumen, LocalDate> colFechaInicio;
     @FXML
-    private TableColumn<Reserva,LocalDate> colFechaFin;
+    private TableColumn<ReservaResumen,LocalDate> colFechaFin;
     @FXML
-    private TableColumn<Reserva,String> colAula;
+    private TableColumn<ReservaResumen,String> colAula;
     @FXML
-    private TableColumn<Reserva,String> colInscripcion;
+    private TableColumn<ReservaResumen,String> colInscripcion;
     @FXML
-    private TableColumn<Reserva,  Set<DiaBloque>> colDiaHorario;
+    private TableColumn<ReservaResumen,  Set<DiaBloque>> colDiaHorario;
     @FXML
-    private Pagination pagination;
-    private List<Reserva> reservas;
+    private Button btnAnterior;
+    @FXML
+    private Button btnSiguiente;
+    @FXML
+    private Label lblPagina;
+    private PaginacionKeyset<ReservaResumen> paginacion;
     private static final int PAGE_SIZE = 10;
 
-    public void setReservas(List<Reserva> reservas) {
-        this.reservas = reservas;
-        int totalPages = (int) Math.ceil((double) reservas.size() / PAGE_SIZE);
-        pagination.setPageCount(Math.max(totalPages, 1));
-
-        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
+    /**
+     * Indica de dónde salen las reservas
+     * Se navega con anterior/siguiente por clave, cualquier página cuesta lo mismo que la primera
+     * @param consulta que trae la ventana de reservas que sigue a una posición, con el tamaño de página pedido
+     */
+    public void setReservas(BiFunction<ScrollPosition, Integer, Window<ReservaResumen>> consulta) {
+        this.paginacion = new PaginacionKeyset<>(consulta, PAGE_SIZE);
+        mostrarPagina(paginacion.primera());
+    }
 
-        cargarPagina(0);
+    @FXML
+    public void anterior(ActionEvent actionEvent) {
+        mostrarPagina(paginacion.anterior());
     }
 
-    private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, reservas.size());
+    @FXML
+    public void siguiente(ActionEvent actionEvent) {
+        mostrarPagina(paginacion.siguiente());
+    }
 
-        ObservableList<Reserva> reservaObservableList = FXCollections.observableArrayList();
-        reservaObservableList.addAll(reservas.subList(fromIndex, toIndex));
+    private void mostrarPagina(List<ReservaResumen> reservas) {
+        ObservableList<ReservaResumen> reservaObservableList = FXCollections.observableArrayList();
+        reservaObservableList.addAll(reservas);
 
         tblReservas.setItems(reservaObservableList);
+        lblPagina.setText(String.valueOf(paginacion.getNumeroPagina()));
+        btnAnterior.setDisable(!paginacion.tieneAnterior());
+        btnSiguiente.setDisable(!paginacion.tieneSiguiente());
     }
 
     @FXML
@@ -72,10 +102,10 @@ public class ReservaVistaController {
 
             {
                 btnVerHorarios.setOnAction(event -> {
-                    Reserva reserva = getTableRow().getItem();
-                    if (reserva != null && reserva.getDiasYBloques() != null) {
+                    ReservaResumen reserva = getTableRow().getItem();
+                    if (reserva != null) {
                         try {
-                            vistaUtils.mostrarVistaHorarios(reserva.getDiasYBloques());
+                            vistaUtils.mostrarVistaHorarios(DiaBloque.desdeMascara(reserva.mascaraHorario()));
                         }catch (IOException e) {
                             globalExceptionHandler.handleIOException(e);
                         }
@@ -99,7 +129,7 @@ public class ReservaVistaController {
         });
 
         tblReservas.setRowFactory(tableView -> {
-            TableRow<Reserva> row = new TableRow<>();
+            TableRow<ReservaResumen> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
                     handleRowDoubleClick(row.getItem(), event);
@@ -109,19 +139,38 @@ public class ReservaVistaController {
         });
     }
 
-    private void handleRowDoubleClick(Reserva reserva, MouseEvent ignoredEvent) {
+    private void handleRowDoubleClick(ReservaResumen reserva, MouseEvent ignoredEvent) {
         // Determinar la columna del click
         var clickedColumn = tblReservas.getFocusModel().getFocusedCell().getTableColumn();
 
         if (clickedColumn == colInscripcion) {
-            try {
-                vistaUtils.mostrarVistaInscripcion(reserva.getInscripcion());
-            } catch (IOException e) {
-                globalExceptionHandler.handleIOException(e);
-            }
+            ejecutorTareas.tarea(() -> inscripcionService.obtener(reserva.idInscripcion()))
+                    .indicando(tblReservas)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaInscripcion(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
         }else if(clickedColumn == colAula) {
+            ejecutorTareas.tarea(() -> espacioService.obtener(reserva.idEspacio()))
+                    .indicando(tblReservas)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaEspacio(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
+        }else if(clickedColumn == colFechaInicio || clickedColumn == colFechaFin) {
+            // Ocupación del espacio durante todo el período de la reserva
             try {
-                vistaUtils.mostrarVistaEspacio(reserva.getEspacio());
+                vistaUtils.mostrarCalendarioOcupacion("Ocupación del espacio " + reserva.espacio(),
+                        reserva.fechaInicio(), reserva.fechaFin(),
+                        (desde, hasta) -> reservaService.listarOcupacionEspacio(reserva.idEspacio(), desde, hasta));
             } catch (IOException e) {
                 globalExceptionHandler.handleIOException(e);
             }
@@ -17,15 +17,19 @@ import org.example.model.dto.ReservaDTO;
 import org.example.service.DiaBloqueService;
 import org.example.service.EspacioService;
 import org.example.service.ReservaService;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
 import org.example.utils.Utils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Slf4j
 @Component
@@ -37,6 +41,7 @@ public class CrearReservaVistaController {
     @Setter
     private Inscripcion inscripcion;
     private final EspacioService espacioService;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
     private DatePicker fechaInicioPicker;
     @FXML
@@ -94,15 +99,17 @@ public class CrearReservaVistaController {
     private final Set<DiaBloque> diasYBloques;
 
     private static final int PAGE_SIZE = 10;
-    private List<? extends Espacio> espaciosFiltrados;
+    private Function<Pageable, Page<? extends Espacio>> consulta;
 
-    public CrearReservaVistaController(EspacioService espacioService, VistaUtils vistaUtils, ReservaService reservaService, DiaBloqueService diaBloqueService, GlobalExceptionHandler globalExceptionHandler) {
+    public CrearReservaVistaController(EspacioService espacioService, VistaUtils vistaUtils, ReservaService reservaService, DiaBloqueService diaBloqueService, GlobalExceptionHandler globalExceptionHandler,
+                                      EjecutorTareas ejecutorTareas) {
         this.espacioService = espacioService;
         this.diaBloqueService = diaBloqueService;
         this.diasYBloques = new HashSet<>();
         this.vistaUtils = vistaUtils;
         this.reservaService = reservaService;
         this.globalExceptionHandler = globalExceptionHandler;
+        this.ejecutorTareas = ejecutorTareas;
     }
 
     @FXML
@@ -152,6 +159,9 @@ public class CrearReservaVistaController {
                 configurarControlesPorRango(diasEnRango);
             }
         });
+
+        // Cada cambio de página trae solo esa página de la base de datos
+        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
     }
 
     @FXML
@@ -191,43 +201,48 @@ public class CrearReservaVistaController {
             return;
         }
 
-        var diasBloquesPersist = diasYBloques.stream()
-                .map(diaBloque -> {
-                    try {
-                        return diaBloqueService.buscarPorDiaYBloque(diaBloque.getBloqueHorario(),diaBloque.getDia());
-                    } catch (NotFoundException e) {
-                        log.error(e.getMessage());
-                    }
-                    return diaBloque;
-                })
-                .collect(Collectors.toSet());
+        Set<DiaBloque> diasBloquesPersist;
+        try {
+            diasBloquesPersist = diaBloqueService.resolver(diasYBloques);
+        } catch (NotFoundException e) {
+            log.error(e.getMessage());
+            vistaUtils.mostrarAlerta(e.getMessage(), Alert.AlertType.ERROR);
+            return;
+        }
 
         if (inscripcion.getAsignatura().isRequiereLaboratorio()){
             // Si la asignatura requiere laboratorio, filtrar por laboratorios
-            espaciosFiltrados = espacioService.listarLaboratoriosDisponiblesConCondiciones(
-                    null,capacidadMin, proyectorRequerido, tvRequerido, inicio, fin, diasBloquesPersist);
+            consulta = pagina -> espacioService.listarLaboratoriosDisponiblesConCondiciones(
+                    null,capacidadMin, proyectorRequerido, tvRequerido, inicio, fin, diasBloquesPersist, pagina);
         } else {
             // Si no requiere laboratorio, filtrar por aulas
-            espaciosFiltrados = espacioService.listarAulasDisponiblesConCondiciones(
-                    capacidadMin, proyectorRequerido, tvRequerido, inicio, fin, diasBloquesPersist);
+            consulta = pagina -> espacioService.listarAulasDisponiblesConCondiciones(
+                    capacidadMin, proyectorRequerido, tvRequerido, inicio, fin, diasBloquesPersist, pagina);
         }
 
-        int totalPages = (int) Math.ceil((double) espaciosFiltrados.size() / PAGE_SIZE);
-        pagination.setPageCount(Math.max(totalPages, 1));
-
-        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
-
-        cargarPagina(0);
+        if (pagination.getCurrentPageIndex() == 0) {
+            cargarPagina(0);
+        } else {
+            pagination.setCurrentPageIndex(0);
+        }
     }
 
     private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, espaciosFiltrados.size());
-
-        ObservableList<Espacio> espacioObservableList = FXCollections.observableArrayList();
-        espacioObservableList.addAll(espaciosFiltrados.subList(fromIndex, toIndex));
-
-        tblEspacios.setItems(espacioObservableList);
+        if (consulta == null) {
+            return;
+        }
+        var consultaActual = consulta;
+        ejecutorTareas.tarea(() -> consultaActual.apply(PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblEspacios)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<Espacio> espacioObservableList = FXCollections.observableArrayList();
+                    espacioObservableList.addAll(pagina.getContent());
+
+                    tblEspacios.setItems(espacioObservableList);
+                })
+                .iniciar();
     }
 
     private void configurarControlesPorRango(Set<DayOfWeek> diasEnRango) {
@@ -304,16 +319,7 @@ public class CrearReservaVistaController {
             }
             var espacio = tblEspacios.getSelectionModel().getSelectedItem();
 
-            var diasBloquesPersist = diasYBloques.stream()
-                    .map(diaBloque -> {
-                        try {
-                            return diaBloqueService.buscarPorDiaYBloque(diaBloque.getBloqueHorario(),diaBloque.getDia());
-                        } catch (NotFoundException e) {
-                            log.error(e.getMessage());
-                        }
-                        return diaBloque;
-                    })
-                    .collect(Collectors.toSet());
+            var diasBloquesPersist = diaBloqueService.resolver(diasYBloques);
 
             ReservaDTO reserva = new ReservaDTO(null,fechaInicioPicker.getValue(),
                     fechaFinPicker.getValue(),espacio.getId(),inscripcion.getId(), diasBloquesPersist);
@@ -1,14 +1,17 @@
 package org.example.controller.model.reserva.crear;
 
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.util.Duration;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.exception.GlobalExceptionHandler;
 import org.example.model.Inscripcion;
 import org.example.service.InscripcionService;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
 import org.example.utils.VistaUtils;
 import org.springframework.stereotype.Component;
@@ -16,7 +19,6 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 
 @Slf4j
@@ -26,6 +28,7 @@ public class SeleccionarInscripcionVistaController {
     private final VistaUtils vistaUtils;
     private final InscripcionService inscripcionService;
     private final GlobalExceptionHandler globalExceptionHandler;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
     private Button btnContinuar;
     @FXML
@@ -53,10 +56,15 @@ public class SeleccionarInscripcionVistaController {
     @FXML
     private ComboBox<Integer> cmbCuatrimestre;
     @FXML
-    private Button btnFiltrar;
+    private TextField txtBuscar;
+    @FXML
+    private Button btnLimpiar;
     @FXML
     private Pagination pagination;
     private static final int PAGE_SIZE = 10;
+    private static final Duration ESPERA_FILTRO = Duration.millis(250);
+    private PauseTransition espera;
+    private List<Inscripcion> filtradas = List.of();
 
     @FXML
     public void initialize(){
@@ -66,53 +74,50 @@ public class SeleccionarInscripcionVistaController {
         // Deshabilitar el botón de continuar al inicio
         btnContinuar.disableProperty().bind(tblInscripciones.getSelectionModel().selectedItemProperty().isNull());
 
-        // Deshabilitar el botón de filtrado si ambos ComboBox están vacíos
-        btnFiltrar.disableProperty().bind(
-                cmbYear.valueProperty().isNull().and(cmbCuatrimestre.valueProperty().isNull())
-        );
-
-        // Cargar opciones en los ComboBox
-        cmbYear.setItems(FXCollections.observableArrayList(1, 2));
-        cmbCuatrimestre.setItems(FXCollections.observableArrayList(1, 2, 3, 4));
-
-        // Cargar y paginar las inscripciones directamente
-        var inscripciones = inscripcionService.listar();
-        int totalPages = (int) Math.ceil((double) inscripciones.size() / PAGE_SIZE);
-        pagination.setPageCount(Math.max(totalPages, 1));
+        // Se filtra cuando se deja de escribir, no en cada tecla
+        espera = new PauseTransition(ESPERA_FILTRO);
+        espera.setOnFinished(event -> filtrar());
+        txtBuscar.textProperty().addListener((obs, oldValue, newValue) -> espera.playFromStart());
+        cmbYear.valueProperty().addListener((obs, oldValue, newValue) -> espera.playFromStart());
+        cmbCuatrimestre.valueProperty().addListener((obs, oldValue, newValue) -> espera.playFromStart());
 
         pagination.currentPageIndexProperty().addListener(
-                (obs, oldIndex, newIndex) -> cargarPagina(inscripciones, newIndex.intValue()));
-        cargarPagina(inscripciones, 0); // Cargar la primera página
+                (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
+
+        // El índice se reconstruye una vez por apertura, después se filtra en memoria
+        ejecutorTareas.accion(inscripcionService::reconstruirIndice)
+                .bloqueando(cmbYear, cmbCuatrimestre, txtBuscar, btnLimpiar)
+                .indicando(tblInscripciones)
+                .alTerminar(sinResultado -> {
+                    cmbYear.setItems(FXCollections.observableArrayList(inscripcionService.listarYears()));
+                    cmbCuatrimestre.setItems(FXCollections.observableArrayList(inscripcionService.listarCuatrimestres()));
+                    filtrar();
+                })
+                .iniciar();
     }
 
-    private void cargarPagina(List<Inscripcion> inscripciones, int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, inscripciones.size());
+    private void cargarPagina(int pageIndex) {
+        int fromIndex = Math.min(pageIndex * PAGE_SIZE, filtradas.size());
+        int toIndex = Math.min(fromIndex + PAGE_SIZE, filtradas.size());
 
-        ObservableList<Inscripcion> reservaObservableList = FXCollections.observableArrayList(inscripciones.subList(fromIndex, toIndex));
-        tblInscripciones.setItems(reservaObservableList);
-        tblInscripciones.refresh();
+        ObservableList<Inscripcion> inscripcionObservableList = FXCollections.observableArrayList(filtradas.subList(fromIndex, toIndex));
+        tblInscripciones.setItems(inscripcionObservableList);
     }
 
-    @FXML
     private void filtrar() {
-        Integer yearSeleccionado = cmbYear.getValue();
-        Integer cuatrimestreSeleccionado = cmbCuatrimestre.getValue();
-
-        var inscripciones = inscripcionService.listar();
-
-        // Aplicar los filtros
-        List<Inscripcion> filtradas = inscripciones.stream()
-                .filter(i -> (yearSeleccionado == null || Objects.equals(i.getYear(), yearSeleccionado)))
-                .filter(i -> (cuatrimestreSeleccionado == null || Objects.equals(i.getCuatrimestre(), cuatrimestreSeleccionado)))
-                .toList();
+        filtradas = inscripcionService.buscar(cmbYear.getValue(), cmbCuatrimestre.getValue(), txtBuscar.getText());
 
         int totalPages = (int) Math.ceil((double) filtradas.size() / PAGE_SIZE);
         pagination.setPageCount(Math.max(totalPages, 1));
+        pagination.setCurrentPageIndex(0);
+        cargarPagina(0);
+    }
 
-        pagination.currentPageIndexProperty().addListener(
-                (obs, oldIndex, newIndex) -> cargarPagina(filtradas, newIndex.intValue()));
-        cargarPagina(filtradas, 0);
+    @FXML
+    public void limpiar() {
+        cmbYear.setValue(null);
+        cmbCuatrimestre.setValue(null);
+        txtBuscar.clear();
     }
 
     @FXML
@@ -12,16 +12,19 @@ import org.example.enums.EstadoSolicitud;
 import org.example.exception.GlobalExceptionHandler;
 import org.example.exception.NotFoundException;
 import org.example.model.DiaBloque;
-import org.example.model.SolicitudCambioAula;
+import org.example.model.dto.SolicitudResumen;
 import org.example.security.SesionActual;
+import org.example.service.EspacioService;
+import org.example.service.ReservaService;
 import org.example.service.SolicitudCambioAulaService;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -33,33 +36,35 @@ public class EliminarSolicitudVistaController {
     private final SesionActual sesionActual;
     private final SolicitudCambioAulaService solicitudCambioAulaService;
     private final GlobalExceptionHandler globalExceptionHandler;
+    private final ReservaService reservaService;
+    private final EspacioService espacioService;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
-    private TableView<SolicitudCambioAula> tblSolicitudes;
+    private TableView<SolicitudResumen> tblSolicitudes;
     @FXML
-    private TableColumn<SolicitudCambioAula,String> colReserva;
+    private TableColumn<SolicitudResumen,String> colReserva;
     @FXML
-    private TableColumn<SolicitudCambioAula,String> colAula;
+    private TableColumn<SolicitudResumen,String> colAula;
     @FXML
-    private TableColumn<SolicitudCambioAula, String> colEstado;
+    private TableColumn<SolicitudResumen, String> colEstado;
     @FXML
-    private TableColumn<SolicitudCambioAula, String> colTipo;
+    private TableColumn<SolicitudResumen, String> colTipo;
     @FXML
-    private TableColumn<SolicitudCambioAula, LocalDate> colInicio;
+    private TableColumn<SolicitudResumen, LocalDate> colInicio;
     @FXML
-    private TableColumn<SolicitudCambioAula, LocalDate> colFin;
+    private TableColumn<SolicitudResumen, LocalDate> colFin;
     @FXML
-    private TableColumn<SolicitudCambioAula, Set<DiaBloque>> colDiaHorario;
+    private TableColumn<SolicitudResumen, Set<DiaBloque>> colDiaHorario;
     @FXML
-    private TableColumn<SolicitudCambioAula,String> colComenProfe;
+    private TableColumn<SolicitudResumen,String> colComenProfe;
     @FXML
-    private TableColumn<SolicitudCambioAula,String> colComenAdmin;
+    private TableColumn<SolicitudResumen,String> colComenAdmin;
     @FXML
     private Button btnEliminar;
     @FXML
     private Button btnCancelar;
     @FXML
     private Pagination pagination;
-    private List<SolicitudCambioAula> solicitudes;
     private static final int PAGE_SIZE = 10;
 
     @FXML
@@ -71,7 +76,7 @@ public class EliminarSolicitudVistaController {
         btnEliminar.disableProperty().bind(tblSolicitudes.getSelectionModel().selectedItemProperty().isNull());
 
         tblSolicitudes.setRowFactory(tableView -> {
-            TableRow<SolicitudCambioAula> row = new TableRow<>();
+            TableRow<SolicitudResumen> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
                     handleRowDoubleClick(row.getItem(), event);
@@ -90,7 +95,7 @@ public class EliminarSolicitudVistaController {
                             .ofNullable(solicitud)
                             .ifPresent(r -> {
                                 try {
-                                    vistaUtils.mostrarVistaHorarios(solicitud.getDiasYBloques());
+                                    vistaUtils.mostrarVistaHorarios(DiaBloque.desdeMascara(solicitud.mascaraHorario()));
                                 } catch (IOException e) {
                                     globalExceptionHandler.handleIOException(e);
                                 }
@@ -110,37 +115,31 @@ public class EliminarSolicitudVistaController {
             }
         });
 
-        try {
-            var user = sesionActual.getUsuario();
-            solicitudes = solicitudCambioAulaService.listarSolicitudesPorEstadoYProfesor(
-                    EstadoSolicitud.PENDIENTE, user.getProfesor().getId()
-            );
-
-            int totalPages = (int) Math.ceil((double) solicitudes.size() / PAGE_SIZE);
-            pagination.setPageCount(Math.max(totalPages, 1));
-
-            pagination.currentPageIndexProperty().addListener(
-                    (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
-
-            cargarPagina(0);
-        } catch (NotFoundException e) {
-            globalExceptionHandler.handleNotFoundException(e);
-        }
+        // Cada cambio de página trae solo esa página de la base de datos
+        pagination.currentPageIndexProperty().addListener(
+                (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
 
+        cargarPagina(0);
     }
 
     private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, solicitudes.size());
-
-        ObservableList<SolicitudCambioAula> solicitudesObservableList = FXCollections.observableArrayList();
-        solicitudesObservableList.addAll(solicitudes.subList(fromIndex, toIndex));
-        tblSolicitudes.setItems(solicitudesObservableList);
+        var idProfesor = sesionActual.getUsuario().getProfesor().getId();
+        ejecutorTareas.tarea(() -> solicitudCambioAulaService.listarSolicitudesPorEstadoYProfesor(
+                        EstadoSolicitud.PENDIENTE, idProfesor, PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblSolicitudes)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<SolicitudResumen> solicitudesObservableList = FXCollections.observableArrayList();
+                    solicitudesObservableList.addAll(pagina.getContent());
+                    tblSolicitudes.setItems(solicitudesObservableList);
+                })
+                .iniciar();
     }
 
     @FXML
     public void eliminar(ActionEvent actionEvent) {
-        SolicitudCambioAula seleccionada = tblSolicitudes.getSelectionModel().getSelectedItem();
+        SolicitudResumen seleccionada = tblSolicitudes.getSelectionModel().getSelectedItem();
         Optional
                 .ofNullable(seleccionada)
                 .ifPresent(solicitud ->{
@@ -148,7 +147,7 @@ public class EliminarSolicitudVistaController {
                         var result = vistaUtils.mostrarAlerta("Estas seguro?", Alert.AlertType.CONFIRMATION);
 
                         if (result == ButtonType.OK) {
-                            solicitudCambioAulaService.eliminar(solicitud.getId());
+                            solicitudCambioAulaService.eliminar(solicitud.id());
                             vistaUtils.mostrarAlerta("Solicitud eliminada correctamente", Alert.AlertType.INFORMATION);
                             vistaUtils.cerrarVentana(btnEliminar);
                         }
@@ -164,22 +163,32 @@ public class EliminarSolicitudVistaController {
         vistaUtils.cerrarVentana(btnCancelar);
     }
 
-    private void handleRowDoubleClick(SolicitudCambioAula solicitud, MouseEvent ignoredEvent) {
+    private void handleRowDoubleClick(SolicitudResumen solicitud, MouseEvent ignoredEvent) {
         // Determinar la columna del click
         var clickedColumn = tblSolicitudes.getFocusModel().getFocusedCell().getTableColumn();
 
         if (clickedColumn == colReserva) {
-            try {
-                vistaUtils.mostrarVistaReserva(solicitud.getReservaOriginal());
-            } catch (IOException e) {
-                globalExceptionHandler.handleIOException(e);
-            }
+            ejecutorTareas.tarea(() -> reservaService.obtenerResumen(solicitud.idReservaOriginal()))
+                    .indicando(tblSolicitudes)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaReserva(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
         } else if (clickedColumn == colAula) {
-            try {
-                vistaUtils.mostrarVistaEspacio(solicitud.getNuevoEspacio());
-            } catch (IOException e) {
-                globalExceptionHandler.handleIOException(e);
-            }
+            ejecutorTareas.tarea(() -> espacioService.obtener(solicitud.idNuevoEspacio()))
+                    .indicando(tblSolicitudes)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaEspacio(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
         }
     }
 }
@@ -11,10 +11,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.enums.EstadoSolicitud;
 import org.example.exception.*;
 import org.example.model.DiaBloque;
-import org.example.model.SolicitudCambioAula;
+import org.example.model.dto.SolicitudResumen;
+import org.example.service.EspacioService;
+import org.example.service.ReservaService;
 import org.example.service.SolicitudCambioAulaService;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -28,6 +32,9 @@ public class RevisarSolicitudVistaController {
     private final VistaUtils vistaUtils;
     private final SolicitudCambioAulaService solicitudCambioAulaService;
     private final GlobalExceptionHandler globalExceptionHandler;
+    private final ReservaService reservaService;
+    private final EspacioService espacioService;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
     private TextArea comentarioAdmin;
     @FXML
@@ -35,28 +42,27 @@ public class RevisarSolicitudVistaController {
     @FXML
     private Button btnRechazar;
     @FXML
-    private TableView<SolicitudCambioAula> tblSolicitudes;
+    private TableView<SolicitudResumen> tblSolicitudes;
     @FXML
-    private TableColumn<SolicitudCambioAula, String> colReserva;
+    private TableColumn<SolicitudResumen, String> colReserva;
     @FXML
-    private TableColumn<SolicitudCambioAula, String> colAula;
+    private TableColumn<SolicitudResumen, String> colAula;
     @FXML
-    private TableColumn<SolicitudCambioAula, String> colEstado;
+    private TableColumn<SolicitudResumen, String> colEstado;
     @FXML
-    private TableColumn<SolicitudCambioAula, String> colTipo;
+    private TableColumn<SolicitudResumen, String> colTipo;
     @FXML
-    private TableColumn<SolicitudCambioAula, LocalDate> colInicio;
+    private TableColumn<SolicitudResumen, LocalDate> colInicio;
     @FXML
-    private TableColumn<SolicitudCambioAula, LocalDate> colFin;
+    private TableColumn<SolicitudResumen, LocalDate> colFin;
     @FXML
-    private TableColumn<SolicitudCambioAula, Set<DiaBloque>> colDiaHorario;
+    private TableColumn<SolicitudResumen, Set<DiaBloque>> colDiaHorario;
     @FXML
-    private TableColumn<SolicitudCambioAula, String> colComenProfe;
+    private TableColumn<SolicitudResumen, String> colComenProfe;
     @FXML
-    private TableColumn<SolicitudCambioAula, String> colComenAdmin;
+    private TableColumn<SolicitudResumen, String> colComenAdmin;
     @FXML
     private Pagination pagination;
-    private List<SolicitudCambioAula> solicitudes;
     private static final int PAGE_SIZE = 10;
 
     @FXML
@@ -70,7 +76,7 @@ public class RevisarSolicitudVistaController {
         );
 
         tblSolicitudes.setRowFactory(tableView -> {
-            TableRow<SolicitudCambioAula> row = new TableRow<>();
+            TableRow<SolicitudResumen> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
                     handleRowDoubleClick(row.getItem(), event);
@@ -84,10 +90,10 @@ public class RevisarSolicitudVistaController {
 
             {
                 btnVerHorarios.setOnAction(event -> {
-                    SolicitudCambioAula solicitud = getTableRow().getItem();
-                    if (solicitud != null && solicitud.getDiasYBloques() != null) {
+                    SolicitudResumen solicitud = getTableRow().getItem();
+                    if (solicitud != null) {
                         try {
-                            vistaUtils.mostrarVistaHorarios(solicitud.getDiasYBloques());
+                            vistaUtils.mostrarVistaHorarios(DiaBloque.desdeMascara(solicitud.mascaraHorario()));
                         } catch (IOException e) {
                             globalExceptionHandler.handleIOException(e);
                         }
@@ -110,95 +116,94 @@ public class RevisarSolicitudVistaController {
             }
         });
 
-        try {
-            solicitudes = solicitudCambioAulaService.listarSolicitudesPorEstado(EstadoSolicitud.PENDIENTE);
-            int totalPages = (int) Math.ceil((double) solicitudes.size() / PAGE_SIZE);
-            pagination.setPageCount(Math.max(totalPages, 1));
-
-            pagination.currentPageIndexProperty().addListener(
-                    (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
-
-            cargarPagina(0);
-        } catch (NotFoundException e) {
-            globalExceptionHandler.handleNotFoundException(e);
-        }
+        // Cada cambio de página trae solo esa página de la base de datos
+        pagination.currentPageIndexProperty().addListener(
+                (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
 
+        cargarPagina(0);
     }
 
     private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, solicitudes.size());
-
-        ObservableList<SolicitudCambioAula> solicitudesObservableList = FXCollections.observableArrayList();
-        solicitudesObservableList.addAll(solicitudes.subList(fromIndex, toIndex));
-        tblSolicitudes.setItems(solicitudesObservableList);
+        ejecutorTareas.tarea(() -> solicitudCambioAulaService.listarSolicitudesPorEstado(EstadoSolicitud.PENDIENTE,
+                        PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblSolicitudes)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<SolicitudResumen> solicitudesObservableList = FXCollections.observableArrayList();
+                    solicitudesObservableList.addAll(pagina.getContent());
+                    tblSolicitudes.setItems(solicitudesObservableList);
+                })
+                .iniciar();
     }
 
-    private void handleRowDoubleClick(SolicitudCambioAula solicitud, MouseEvent ignoredEvent) {
+    private void handleRowDoubleClick(SolicitudResumen solicitud, MouseEvent ignoredEvent) {
         // Determinar la columna del click
         var clickedColumn = tblSolicitudes.getFocusModel().getFocusedCell().getTableColumn();
 
         if (clickedColumn == colReserva) {
-            try {
-                vistaUtils.mostrarVistaReserva(solicitud.getReservaOriginal());
-            } catch (IOException e) {
-                globalExceptionHandler.handleIOException(e);
-            }
-
+            ejecutorTareas.tarea(() -> reservaService.obtenerResumen(solicitud.idReservaOriginal()))
+                    .indicando(tblSolicitudes)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaReserva(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
         } else if (clickedColumn == colAula) {
-            try {
-                vistaUtils.mostrarVistaEspacio(solicitud.getNuevoEspacio());
-            } catch (IOException e) {
-                globalExceptionHandler.handleIOException(e);
-            }
-
-
+            ejecutorTareas.tarea(() -> espacioService.obtener(solicitud.idNuevoEspacio()))
+                    .indicando(tblSolicitudes)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaEspacio(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
         }
     }
 
     @FXML
     public void aprobar(ActionEvent actionEvent) {
-        SolicitudCambioAula seleccionada = tblSolicitudes.getSelectionModel().getSelectedItem();
+        SolicitudResumen seleccionada = tblSolicitudes.getSelectionModel().getSelectedItem();
         Optional
                 .ofNullable(seleccionada)
                 .ifPresent(solicitud -> {
-                    try {
-                        var result = vistaUtils.mostrarAlerta("Estas seguro de aprobar la solicitud?", Alert.AlertType.CONFIRMATION);
-                        String comentario = comentarioAdmin.getText();
-                        if (result == ButtonType.OK) {
-                            solicitudCambioAulaService.aprobarSolicitud(solicitud.getId(), comentario);
-                            vistaUtils.mostrarAlerta("Solicitud aprobada correctamente", Alert.AlertType.INFORMATION);
-                            vistaUtils.cerrarVentana(btnAprobar);
-                        }
-                    } catch (NotFoundException e) {
-                        globalExceptionHandler.handleNotFoundException(e);
-                    } catch (ConflictException e) {
-                        globalExceptionHandler.handleConflictException(e);
-                    } catch (BadRequestException e) {
-                        globalExceptionHandler.handleBadRequestException(e);
+                    var result = vistaUtils.mostrarAlerta("Estas seguro de aprobar la solicitud?", Alert.AlertType.CONFIRMATION);
+                    String comentario = comentarioAdmin.getText();
+                    if (result == ButtonType.OK) {
+                        ejecutorTareas.accion(() -> solicitudCambioAulaService.aprobarSolicitud(solicitud.id(), comentario))
+                                .bloqueando(btnAprobar, btnRechazar)
+                                .indicando(tblSolicitudes)
+                                .alTerminar(sinResultado -> {
+                                    vistaUtils.mostrarAlerta("Solicitud aprobada correctamente", Alert.AlertType.INFORMATION);
+                                    vistaUtils.cerrarVentana(btnAprobar);
+                                })
+                                .iniciar();
                     }
                 });
     }
 
     @FXML
     public void rechazar(ActionEvent actionEvent) {
-        SolicitudCambioAula seleccionada = tblSolicitudes.getSelectionModel().getSelectedItem();
+        SolicitudResumen seleccionada = tblSolicitudes.getSelectionModel().getSelectedItem();
         Optional
                 .ofNullable(seleccionada)
                 .ifPresent(solicitud -> {
-                    try {
-                        var result = vistaUtils.mostrarAlerta("Estas seguro de rechazar la solicitud?", Alert.AlertType.CONFIRMATION);
-
-                        String comentario = comentarioAdmin.getText();
-                        if (result == ButtonType.OK) {
-                            solicitudCambioAulaService.rechazarSolicitud(solicitud.getId(), comentario);
-                            vistaUtils.mostrarAlerta("Solicitud rechazada correctamente", Alert.AlertType.INFORMATION);
-                            vistaUtils.cerrarVentana(btnRechazar);
-                        }
-                    } catch (NotFoundException e) {
-                        globalExceptionHandler.handleNotFoundException(e);
-                    } catch (BadRequestException e) {
-                        globalExceptionHandler.handleBadRequestException(e);
+                    var result = vistaUtils.mostrarAlerta("Estas seguro de rechazar la solicitud?", Alert.AlertType.CONFIRMATION);
+                    String comentario = comentarioAdmin.getText();
+                    if (result == ButtonType.OK) {
+                        ejecutorTareas.accion(() -> solicitudCambioAulaService.rechazarSolicitud(solicitud.id(), comentario))
+                                .bloqueando(btnAprobar, btnRechazar)
+                                .indicando(tblSolicitudes)
+                                .alTerminar(sinResultado -> {
+                                    vistaUtils.mostrarAlerta("Solicitud rechazada correctamente", Alert.AlertType.INFORMATION);
+                                    vistaUtils.cerrarVentana(btnRechazar);
+                                })
+                                .iniciar();
                     }
                 });
     }
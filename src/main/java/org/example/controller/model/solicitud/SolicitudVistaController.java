@@ -2,6 +2,7 @@ package org.example.controller.model.solicitud;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseEvent;
@@ -9,19 +10,25 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.enums.EstadoSolicitud;
 import org.example.exception.GlobalExceptionHandler;
-import org.example.exception.NotFoundException;
 import org.example.model.DiaBloque;
-import org.example.model.SolicitudCambioAula;
+import org.example.model.dto.SolicitudResumen;
 import org.example.security.SesionActual;
+import org.example.service.EspacioService;
+import org.example.service.ReservaService;
 import org.example.service.SolicitudCambioAulaService;
+import org.example.utils.EjecutorTareas;
+import org.example.utils.PaginacionKeyset;
 import org.example.utils.TableUtils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiFunction;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -31,29 +38,36 @@ public class SolicitudVistaController {
     private final SesionActual sesionActual;
     private final VistaUtils vistaUtils;
     private final GlobalExceptionHandler globalExceptionHandler;
+    private final ReservaService reservaService;
+    private final EspacioService espacioService;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
-    private TableView<SolicitudCambioAula> tblSolicitudes;
+    private TableView<SolicitudResumen> tblSolicitudes;
     @FXML
-    private TableColumn<SolicitudCambioAula,String> colReserva;
+    private TableColumn<SolicitudResumen,String> colReserva;
     @FXML
-    private TableColumn<SolicitudCambioAula,String> colAula;
+    private TableColumn<SolicitudResumen,String> colAula;
     @FXML
-    private TableColumn<SolicitudCambioAula, String> colEstado;
+    private TableColumn<SolicitudResumen, String> colEstado;
     @FXML
-    private TableColumn<SolicitudCambioAula, String> colTipo;
+    private TableColumn<SolicitudResumen, String> colTipo;
     @FXML
-    private TableColumn<SolicitudCambioAula, LocalDate> colInicio;
+    private TableColumn<SolicitudResumen, LocalDate> colInicio;
     @FXML
-    private TableColumn<SolicitudCambioAula, LocalDate> colFin;
+    private TableColumn<SolicitudResumen, LocalDate> colFin;
     @FXML
-    private TableColumn<SolicitudCambioAula, Set<DiaBloque>> colDiaHorario;
+    private TableColumn<SolicitudResumen, Set<DiaBloque>> colDiaHorario;
     @FXML
-    private TableColumn<SolicitudCambioAula,String> colComenProfe;
+    private TableColumn<SolicitudResumen,String> colComenProfe;
     @FXML
-    private TableColumn<SolicitudCambioAula,String> colComenAdmin;
+    private TableColumn<SolicitudResumen,String> colComenAdmin;
     @FXML
-    private Pagination pagination;
-    private List<SolicitudCambioAula> solicitudes;
+    private Button btnAnterior;
+    @FXML
+    private Button btnSiguiente;
+    @FXML
+    private Label lblPagina;
+    private PaginacionKeyset<SolicitudResumen> paginacion;
     private static final int PAGE_SIZE = 10;
 
 
@@ -65,7 +79,7 @@ public class SolicitudVistaController {
         );
 
         tblSolicitudes.setRowFactory(tableView -> {
-            TableRow<SolicitudCambioAula> row = new TableRow<>();
+            TableRow<SolicitudResumen> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
                     handleRowDoubleClick(row.getItem(), event);
@@ -79,10 +93,10 @@ public class SolicitudVistaController {
 
             {
                 btnVerHorarios.setOnAction(event -> {
-                    SolicitudCambioAula solicitud = getTableRow().getItem();
-                    if (solicitud != null && solicitud.getDiasYBloques() != null) {
+                    SolicitudResumen solicitud = getTableRow().getItem();
+                    if (solicitud != null) {
                         try {
-                            vistaUtils.mostrarVistaHorarios(solicitud.getDiasYBloques());
+                            vistaUtils.mostrarVistaHorarios(DiaBloque.desdeMascara(solicitud.mascaraHorario()));
                         } catch (IOException e) {
                             globalExceptionHandler.handleIOException(e);
                         }
@@ -105,60 +119,72 @@ public class SolicitudVistaController {
         });
     }
 
+    /**
+     * Muestra el historial de solicitudes con ese estado, todas para el administrador y las propias para el profesor
+     * Se navega con anterior/siguiente por clave, cualquier página cuesta lo mismo que la primera
+     * @param estadoSolicitud de las solicitudes a mostrar
+     */
     public void setEstadoSolicitud(EstadoSolicitud estadoSolicitud) {
-        try {
-            var user = sesionActual.getUsuario();
-            if (sesionActual.getUsuario().getRol().getNombre().equals("Administrador")) {
-                this.solicitudes = switch (estadoSolicitud) {
-                    case PENDIENTE -> solicitudCambioAulaService.listarSolicitudesPorEstado(EstadoSolicitud.PENDIENTE);
-                    case APROBADA -> solicitudCambioAulaService.listarSolicitudesPorEstado(EstadoSolicitud.APROBADA);
-                    case RECHAZADA -> solicitudCambioAulaService.listarSolicitudesPorEstado(EstadoSolicitud.RECHAZADA);
-                };
-            } else {
-                this.solicitudes = switch (estadoSolicitud) {
-                    case PENDIENTE -> solicitudCambioAulaService.listarSolicitudesPorEstadoYProfesor(EstadoSolicitud.PENDIENTE,user.getProfesor().getId());
-                    case APROBADA -> solicitudCambioAulaService.listarSolicitudesPorEstadoYProfesor(EstadoSolicitud.APROBADA,user.getProfesor().getId());
-                    case RECHAZADA -> solicitudCambioAulaService.listarSolicitudesPorEstadoYProfesor(EstadoSolicitud.RECHAZADA,user.getProfesor().getId());
-                };
-            }
-
-            int totalPages = (int) Math.ceil((double) solicitudes.size() / PAGE_SIZE);
-            pagination.setPageCount(Math.max(totalPages, 1));
+        var user = sesionActual.getUsuario();
+        BiFunction<ScrollPosition, Integer, Window<SolicitudResumen>> consulta;
+        if (sesionActual.getUsuario().getRol().getNombre().equals("Administrador")) {
+            consulta = (posicion, tamanio) ->
+                    solicitudCambioAulaService.listarHistorialPorEstado(estadoSolicitud, posicion, tamanio);
+        } else {
+            var idProfesor = user.getProfesor().getId();
+            consulta = (posicion, tamanio) -> solicitudCambioAulaService.listarHistorialPorEstadoYProfesor(
+                    estadoSolicitud, idProfesor, posicion, tamanio);
+        }
 
-            pagination.currentPageIndexProperty().addListener(
-                    (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
+        this.paginacion = new PaginacionKeyset<>(consulta, PAGE_SIZE);
+        mostrarPagina(paginacion.primera());
+    }
 
-            cargarPagina(0);
-        } catch ( NotFoundException e) {
-           globalExceptionHandler.handleNotFoundException(e);
-        }
+    @FXML
+    public void anterior(ActionEvent actionEvent) {
+        mostrarPagina(paginacion.anterior());
     }
 
-    private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, solicitudes.size());
+    @FXML
+    public void siguiente(ActionEvent actionEvent) {
+        mostrarPagina(paginacion.siguiente());
+    }
 
-        ObservableList<SolicitudCambioAula> solicitudesObservableList = FXCollections.observableArrayList();
-        solicitudesObservableList.addAll(solicitudes.subList(fromIndex, toIndex));
+    private void mostrarPagina(List<SolicitudResumen> solicitudes) {
+        ObservableList<SolicitudResumen> solicitudesObservableList = FXCollections.observableArrayList();
+        solicitudesObservableList.addAll(solicitudes);
         tblSolicitudes.setItems(solicitudesObservableList);
+        lblPagina.setText(String.valueOf(paginacion.getNumeroPagina()));
+        btnAnterior.setDisable(!paginacion.tieneAnterior());
+        btnSiguiente.setDisable(!paginacion.tieneSiguiente());
     }
 
-    private void handleRowDoubleClick(SolicitudCambioAula solicitud, MouseEvent ignoredEvent) {
+    private void handleRowDoubleClick(SolicitudResumen solicitud, MouseEvent ignoredEvent) {
         // Determinar la columna del click
         var clickedColumn = tblSolicitudes.getFocusModel().getFocusedCell().getTableColumn();
 
         if (clickedColumn == colReserva) {
-            try {
-                vistaUtils.mostrarVistaReserva(solicitud.getReservaOriginal());
-            }catch (IOException e){
-                globalExceptionHandler.handleIOException(e);
-            }
+            ejecutorTareas.tarea(() -> reservaService.obtenerResumen(solicitud.idReservaOriginal()))
+                    .indicando(tblSolicitudes)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaReserva(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
         } else if (clickedColumn == colAula) {
-            try {
-                vistaUtils.mostrarVistaEspacio(solicitud.getNuevoEspacio());
-            } catch (IOException e) {
-                globalExceptionHandler.handleIOException(e);
-            }
+            ejecutorTareas.tarea(() -> espacioService.obtener(solicitud.idNuevoEspacio()))
+                    .indicando(tblSolicitudes)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaEspacio(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
         }
     }
 }
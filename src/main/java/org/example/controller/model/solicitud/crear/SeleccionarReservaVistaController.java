@@ -11,16 +11,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.exception.GlobalExceptionHandler;
 import org.example.exception.NotFoundException;
 import org.example.model.DiaBloque;
-import org.example.model.Reserva;
+import org.example.model.dto.ReservaResumen;
 import org.example.security.SesionActual;
+import org.example.service.EspacioService;
+import org.example.service.InscripcionService;
 import org.example.service.ReservaService;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -32,110 +35,115 @@ public class SeleccionarReservaVistaController {
     private final VistaUtils vistaUtils;
     private final SesionActual sesionActual;
     private final GlobalExceptionHandler globalExceptionHandler;
+    private final InscripcionService inscripcionService;
+    private final EspacioService espacioService;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
-    private TableView<Reserva> tblReservas;
+    private TableView<ReservaResumen> tblReservas;
     @FXML
-    private TableColumn<Reserva, LocalDate> colFechaInicio;
+    private TableColumn<ReservaResumen, LocalDate> colFechaInicio;
     @FXML
-    private TableColumn<Reserva,LocalDate> colFechaFin;
+    private TableColumn<ReservaResumen,LocalDate> colFechaFin;
     @FXML
-    private TableColumn<Reserva,String> colAula;
+    private TableColumn<ReservaResumen,String> colAula;
     @FXML
-    private TableColumn<Reserva,String> colInscripcion;
+    private TableColumn<ReservaResumen,String> colInscripcion;
     @FXML
-    private TableColumn<Reserva, Set<DiaBloque>> colDiaHorario;
+    private TableColumn<ReservaResumen, Set<DiaBloque>> colDiaHorario;
     @FXML
     private Button btnContinuar;
     @FXML
     private Button btnCancelar;
     @FXML
     private Pagination pagination;
-    private List<Reserva> reservas;
     private static final int PAGE_SIZE = 10;
 
     @FXML
     public void initialize() {
-        try {
-            TableUtils.inicializarTablaReserva(colFechaInicio,colFechaFin,
-                    colAula,colInscripcion,colDiaHorario);
-            // Deshabilitar botón si no hay selección
-            btnContinuar.disableProperty().bind(tblReservas.getSelectionModel().selectedItemProperty().isNull());
-
-            tblReservas.setRowFactory(tableView -> {
-                TableRow<Reserva> row = new TableRow<>();
-                row.setOnMouseClicked(event -> {
-                    if (event.getClickCount() == 2 && !row.isEmpty()) {
-                        handleRowDoubleClick(row.getItem(), event);
-                    }
-                });
-                return row;
+        TableUtils.inicializarTablaReserva(colFechaInicio,colFechaFin,
+                colAula,colInscripcion,colDiaHorario);
+        // Deshabilitar botón si no hay selección
+        btnContinuar.disableProperty().bind(tblReservas.getSelectionModel().selectedItemProperty().isNull());
+
+        tblReservas.setRowFactory(tableView -> {
+            TableRow<ReservaResumen> row = new TableRow<>();
+            row.setOnMouseClicked(event -> {
+                if (event.getClickCount() == 2 && !row.isEmpty()) {
+                    handleRowDoubleClick(row.getItem(), event);
+                }
             });
+            return row;
+        });
 
-            colDiaHorario.setCellFactory(column -> new TableCell<>() {
-                private final Button btnVerHorarios = new Button("Ver");
-
-                {
-                    btnVerHorarios.setOnAction(event -> {
-                        Reserva reserva = getTableRow().getItem();
-                        if (reserva != null && reserva.getDiasYBloques() != null) {
-                            try {
-                                vistaUtils.mostrarVistaHorarios(reserva.getDiasYBloques());
-                            } catch (IOException e) {
-                                globalExceptionHandler.handleIOException(e);
-                            }
+        colDiaHorario.setCellFactory(column -> new TableCell<>() {
+            private final Button btnVerHorarios = new Button("Ver");
+
+            {
+                btnVerHorarios.setOnAction(event -> {
+                    ReservaResumen reserva = getTableRow().getItem();
+                    if (reserva != null) {
+                        try {
+                            vistaUtils.mostrarVistaHorarios(DiaBloque.desdeMascara(reserva.mascaraHorario()));
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
                         }
-                    });
-                }
+                    }
+                });
+            }
 
-                @Override
-                protected void updateItem(Set<DiaBloque> item, boolean empty) {
-                    super.updateItem(item, empty);
+            @Override
+            protected void updateItem(Set<DiaBloque> item, boolean empty) {
+                super.updateItem(item, empty);
 
-                    if (empty || item == null || getTableRow().getItem() == null) {
-                        setGraphic(null);
-                        setText(null);
-                    } else {
-                        setGraphic(btnVerHorarios);
-                        setText(null);
-                    }
+                if (empty || item == null || getTableRow().getItem() == null) {
+                    setGraphic(null);
+                    setText(null);
+                } else {
+                    setGraphic(btnVerHorarios);
+                    setText(null);
                 }
-            });
-
-            reservas = reservaService.listarReservasPorProfesor(sesionActual.getUsuario().getProfesor().getId());
-            int totalPages = (int) Math.ceil((double) reservas.size() / PAGE_SIZE);
-            pagination.setPageCount(Math.max(totalPages, 1));
+            }
+        });
 
-            pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
+        // Cada cambio de página trae solo esa página de la base de datos
+        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
 
-            cargarPagina(0);
-        }catch (NotFoundException e){
-            log.error(e.getMessage());
-        }
+        cargarPagina(0);
     }
 
     private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, reservas.size());
-
-        ObservableList<Reserva> reservaObservableList = FXCollections.observableArrayList();
-        reservaObservableList.addAll(reservas.subList(fromIndex, toIndex));
-
-        tblReservas.setItems(reservaObservableList);
+        var idProfesor = sesionActual.getUsuario().getProfesor().getId();
+        ejecutorTareas.tarea(() -> reservaService.listarReservasPorProfesor(idProfesor,
+                        PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblReservas)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<ReservaResumen> reservaObservableList = FXCollections.observableArrayList();
+                    reservaObservableList.addAll(pagina.getContent());
+
+                    tblReservas.setItems(reservaObservableList);
+                })
+                .iniciar();
     }
 
     @FXML
     public void continuar(ActionEvent actionEvent) {
-        Reserva seleccionada = tblReservas.getSelectionModel().getSelectedItem();
+        ReservaResumen seleccionada = tblReservas.getSelectionModel().getSelectedItem();
         Optional
                 .ofNullable(seleccionada)
                 .ifPresent(reserva -> {
                     try{
+                        // La tabla solo tiene el resumen, la solicitud necesita la reserva completa
+                        var completa = reservaService.obtener(reserva.id());
                         vistaUtils.cargarVista("/org/example/view/model/solicitud/crear/seleccionar-tipo-solicitud-view.fxml",
                                 (SeleccionarTipoSolicitudVistaController controller) ->
-                                        controller.setReserva(reserva));
+                                        controller.setReserva(completa));
                         vistaUtils.cerrarVentana(btnContinuar);
                     }catch (IOException e) {
                         globalExceptionHandler.handleIOException(e);
+                    } catch (NotFoundException e) {
+                        globalExceptionHandler.handleNotFoundException(e);
                     }
         });
     }
@@ -145,23 +153,32 @@ public class SeleccionarReservaVistaController {
         vistaUtils.cerrarVentana(btnCancelar);
     }
 
-    private void handleRowDoubleClick(Reserva reserva, MouseEvent ignoredEvent) {
+    private void handleRowDoubleClick(ReservaResumen reserva, MouseEvent ignoredEvent) {
         // Determinar la columna del click
         var clickedColumn = tblReservas.getFocusModel().getFocusedCell().getTableColumn();
 
         if (clickedColumn == colInscripcion) {
-            try{
-                vistaUtils.mostrarVistaInscripcion(reserva.getInscripcion());
-            }catch (IOException e) {
-                globalExceptionHandler.handleIOException(e);
-            }
-
+            ejecutorTareas.tarea(() -> inscripcionService.obtener(reserva.idInscripcion()))
+                    .indicando(tblReservas)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaInscripcion(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
         }else if(clickedColumn == colAula) {
-            try {
-                vistaUtils.mostrarVistaEspacio(reserva.getEspacio());
-            } catch (IOException e) {
-                globalExceptionHandler.handleIOException(e);
-            }
+            ejecutorTareas.tarea(() -> espacioService.obtener(reserva.idEspacio()))
+                    .indicando(tblReservas)
+                    .alTerminar(detalle -> {
+                        try {
+                            vistaUtils.mostrarVistaEspacio(detalle);
+                        } catch (IOException e) {
+                            globalExceptionHandler.handleIOException(e);
+                        }
+                    })
+                    .iniciar();
         }
     }
 }
@@ -14,14 +14,19 @@ import org.example.exception.NotFoundException;
 import org.example.model.*;
 import org.example.service.EspacioService;
 import org.example.service.SolicitudCambioAulaService;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.Mapper;
 import org.example.utils.TableUtils;
 import org.example.utils.Utils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,6 +38,7 @@ public class SeleccionarTipoSolicitudVistaController {
     private final EspacioService espacioService;
     private final GlobalExceptionHandler globalExceptionHandler;
     private final SolicitudCambioAulaService solicitudCambioAulaService;
+    private final EjecutorTareas ejecutorTareas;
     private Reserva reserva;
     @FXML
     private ComboBox<TipoSolicitud> tipoSolicitudComboBox;
@@ -60,7 +66,7 @@ public class SeleccionarTipoSolicitudVistaController {
     private Button btnBuscar;
     @FXML
     private Pagination pagination;
-    private List<? extends Espacio> espaciosDisponibles;
+    private Function<Pageable, Page<? extends Espacio>> consulta;
     private static final int PAGE_SIZE = 10;
 
     @FXML
@@ -73,6 +79,10 @@ public class SeleccionarTipoSolicitudVistaController {
         Utils.configurarCalendarios(fechaInicioPicker, fechaFinPicker);
         fechaInicioPicker.setDisable(true);
         fechaFinPicker.setDisable(true);
+
+        // Cada cambio de página trae solo esa página de la base de datos
+        pagination.currentPageIndexProperty().addListener(
+                (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
     }
 
     public void setReserva(Reserva reserva) {
@@ -114,51 +124,45 @@ public class SeleccionarTipoSolicitudVistaController {
                         vistaUtils.mostrarAlerta(String.join("\n", errores.get()), Alert.AlertType.ERROR);
                         return;
                     }
+                    var fechaInicio = fechaInicioPicker.getValue();
+                    var fechaFin = fechaFinPicker.getValue();
                     if (r.getEspacio() instanceof Laboratorio lab) {
-                        espaciosDisponibles = espacioService.listarLaboratoriosDisponiblesConCondiciones(
+                        consulta = pagina -> espacioService.listarLaboratoriosDisponiblesConCondiciones(
                                 lab.getComputadoras(), lab.getCapacidad(), lab.isTieneProyector(), lab.isTieneTV(),
-                                fechaInicioPicker.getValue(), fechaFinPicker.getValue(),
-                                r.getDiasYBloques());
-
-                        int totalPages = (int) Math.ceil((double) espaciosDisponibles.size() / PAGE_SIZE);
-                        pagination.setPageCount(Math.max(totalPages, 1));
-
-                        pagination.currentPageIndexProperty().addListener(
-                                (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
-
-                        cargarPagina(0);
-
-                        if (espaciosDisponibles.isEmpty()) {
-                            vistaUtils.mostrarAlerta("No hay aulas disponibles.", Alert.AlertType.INFORMATION);
-                        }
+                                fechaInicio, fechaFin, r.getDiasYBloques(), pagina);
                     } else {
-                        List<? extends Espacio> disponibles = espacioService.listarAulasDisponiblesConCondiciones(
+                        consulta = pagina -> espacioService.listarAulasDisponiblesConCondiciones(
                                 r.getEspacio().getCapacidad(), r.getEspacio().isTieneProyector(), r.getEspacio().isTieneTV(),
-                                fechaInicioPicker.getValue(), fechaFinPicker.getValue(),
-                                r.getDiasYBloques());
-
-                        int totalPages = (int) Math.ceil((double) espaciosDisponibles.size() / PAGE_SIZE);
-                        pagination.setPageCount(Math.max(totalPages, 1));
-
-                        pagination.currentPageIndexProperty().addListener(
-                                (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
+                                fechaInicio, fechaFin, r.getDiasYBloques(), pagina);
+                    }
 
+                    if (pagination.getCurrentPageIndex() == 0) {
                         cargarPagina(0);
+                    } else {
+                        pagination.setCurrentPageIndex(0);
+                    }
 
-                        if (disponibles.isEmpty()) {
-                            vistaUtils.mostrarAlerta("No hay aulas disponibles.", Alert.AlertType.INFORMATION);
-                        }
+                    if (tblEspacios.getItems().isEmpty()) {
+                        vistaUtils.mostrarAlerta("No hay aulas disponibles.", Alert.AlertType.INFORMATION);
                     }
                 });
     }
 
     private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, espaciosDisponibles.size());
-
-        ObservableList<Espacio> espaciosObservableList = FXCollections.observableArrayList();
-        espaciosObservableList.addAll(espaciosDisponibles.subList(fromIndex, toIndex));
-        tblEspacios.setItems(espaciosObservableList);
+        if (consulta == null) {
+            return;
+        }
+        var consultaActual = consulta;
+        ejecutorTareas.tarea(() -> consultaActual.apply(PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblEspacios)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<Espacio> espaciosObservableList = FXCollections.observableArrayList();
+                    espaciosObservableList.addAll(pagina.getContent());
+                    tblEspacios.setItems(espaciosObservableList);
+                })
+                .iniciar();
     }
 
     @FXML
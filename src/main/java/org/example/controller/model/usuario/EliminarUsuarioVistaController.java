@@ -11,11 +11,12 @@ import org.example.exception.GlobalExceptionHandler;
 import org.example.exception.NotFoundException;
 import org.example.model.*;
 import org.example.service.UsuarioService;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
 import org.example.utils.VistaUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -25,6 +26,7 @@ public class EliminarUsuarioVistaController {
     private final VistaUtils vistaUtils;
     private final UsuarioService usuarioService;
     private final GlobalExceptionHandler globalExceptionHandler;
+    private final EjecutorTareas ejecutorTareas;
     @FXML
     private TableView<Usuario> tblUsuarios;
     @FXML
@@ -41,7 +43,6 @@ public class EliminarUsuarioVistaController {
     private Button btnCancelar;
     @FXML
     private Pagination pagination;
-    private List<Usuario> usuarios;
     private static final int PAGE_SIZE = 10;
 
     @FXML
@@ -50,22 +51,23 @@ public class EliminarUsuarioVistaController {
         TableUtils.inicializarTablaUsuarios(colUsername,colNombre,colApellido,colMatricula);
         btnEliminar.disableProperty().bind(tblUsuarios.getSelectionModel().selectedItemProperty().isNull());
 
-        usuarios = usuarioService.listar();
-        int totalPages = (int) Math.ceil((double) usuarios.size() / PAGE_SIZE);
-        pagination.setPageCount(Math.max(totalPages, 1));
-
+        // Cada cambio de página trae solo esa página de la base de datos
         pagination.currentPageIndexProperty().addListener(
                 (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
         cargarPagina(0);
     }
 
     private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, usuarios.size());
-
-        ObservableList<Usuario> usuariosObservableList = FXCollections.observableArrayList();
-        usuariosObservableList.addAll(usuarios.subList(fromIndex, toIndex));
-        tblUsuarios.setItems(usuariosObservableList);
+        ejecutorTareas.tarea(() -> usuarioService.listar(PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblUsuarios)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<Usuario> usuariosObservableList = FXCollections.observableArrayList();
+                    usuariosObservableList.addAll(pagina.getContent());
+                    tblUsuarios.setItems(usuariosObservableList);
+                })
+                .iniciar();
     }
 
     @FXML
@@ -10,15 +10,20 @@ import javafx.scene.control.TableView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.model.Usuario;
+import org.example.utils.EjecutorTareas;
 import org.example.utils.TableUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.function.Function;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class UsuarioVistaController {
+    private final EjecutorTareas ejecutorTareas;
     @FXML
     private TableView<Usuario> tblUsuarios;
     @FXML
@@ -29,15 +34,17 @@ public class UsuarioVistaController {
     private TableColumn<Usuario, String> colApellido;
     @FXML
     private TableColumn<Usuario,String> colMatricula;
-    private List<Usuario> usuarios;
+    private Function<Pageable, Page<Usuario>> consulta;
     @FXML
     private Pagination pagination;
     private static final int PAGE_SIZE = 10;
 
-    public void setUsuarios(List<Usuario> usuarios) {
-        this.usuarios = usuarios;
-        int totalPages = (int) Math.ceil((double) usuarios.size() / PAGE_SIZE);
-        pagination.setPageCount(Math.max(totalPages, 1));
+    /**
+     * Indica de dónde salen los usuarios, cada cambio de página trae solo esa página de la base de datos
+     * @param consulta que trae una página de usuarios
+     */
+    public void setUsuarios(Function<Pageable, Page<Usuario>> consulta) {
+        this.consulta = consulta;
 
         pagination.currentPageIndexProperty().addListener(
                 (obs, oldIndex, newIndex) -> cargarPagina(newIndex.intValue()));
@@ -45,12 +52,17 @@ public class UsuarioVistaController {
     }
 
     private void cargarPagina(int pageIndex) {
-        int fromIndex = pageIndex * PAGE_SIZE;
-        int toIndex = Math.min(fromIndex + PAGE_SIZE, usuarios.size());
-
-        ObservableList<Usuario> usuariosObservableList = FXCollections.observableArrayList();
-        usuariosObservableList.addAll(usuarios.subList(fromIndex, toIndex));
-        tblUsuarios.setItems(usuariosObservableList);
+        var consultaActual = consulta;
+        ejecutorTareas.tarea(() -> consultaActual.apply(PageRequest.of(pageIndex, PAGE_SIZE)))
+                .reemplazando(pagination)
+                .indicando(tblUsuarios)
+                .alTerminar(pagina -> {
+                    pagination.setPageCount(Math.max(pagina.getTotalPages(), 1));
+                    ObservableList<Usuario> usuariosObservableList = FXCollections.observableArrayList();
+                    usuariosObservableList.addAll(pagina.getContent());
+                    tblUsuarios.setItems(usuariosObservableList);
+                })
+                .iniciar();
     }
 
     @FXML
@@ -0,0 +1,11 @@
+package org.example.exception;
+
+/**
+ * El usuario de la sesión no tiene permiso para la acción pedida
+ * Es unchecked porque la lanza la guardia de permisos antes de entrar al método del servicio
+ */
+public class ForbiddenException extends RuntimeException{
+    public ForbiddenException(String message){
+        super(message);
+    }
+}
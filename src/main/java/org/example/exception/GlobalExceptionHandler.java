@@ -8,13 +8,34 @@ import org.springframework.stereotype.Component;
 
 import javax.naming.AuthenticationException;
 import java.io.IOException;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class GlobalExceptionHandler {
     private final VistaUtils vistaUtils;
-    
+
+    /**
+     * Muestra el error de una tarea en segundo plano según su tipo
+     * @param error lanzado por el servicio, puede venir envuelto en una CompletionException
+     */
+    public void manejar(Throwable error) {
+        var causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        switch (causa) {
+            case BadRequestException e -> handleBadRequestException(e);
+            case NotFoundException e -> handleNotFoundException(e);
+            case ConflictException e -> handleConflictException(e);
+            case ForbiddenException e -> handleForbiddenException(e);
+            case AuthenticationException e -> handleAuthenticationException(e);
+            case IOException e -> handleIOException(e);
+            default -> {
+                log.error("Error no controlado en una tarea", causa);
+                vistaUtils.mostrarAlerta("Ocurrió un problema, inténtelo en unos minutos.", Alert.AlertType.ERROR);
+            }
+        }
+    }
+
     public void handleBadRequestException(BadRequestException e) {
         vistaUtils.mostrarAlerta( e.getMessage(),Alert.AlertType.ERROR);
     }
@@ -30,6 +51,10 @@ public class GlobalExceptionHandler {
         vistaUtils.mostrarAlerta( e.getMessage(),Alert.AlertType.ERROR);
     }
 
+    public void handleForbiddenException(ForbiddenException e){
+        vistaUtils.mostrarAlerta( e.getMessage(),Alert.AlertType.ERROR);
+    }
+
     public void handleIOException(IOException e) {
         vistaUtils.mostrarAlerta( "Ocurrió un problema, inténtelo en unos minutos.",Alert.AlertType.ERROR);
         log.error( e.getMessage(),e);
@@ -3,11 +3,14 @@ package org.example.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity @Table(name = "asignaturas")
 @Getter @Setter @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @AllArgsConstructor @NoArgsConstructor
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "asignaturas")
 public class Asignatura {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -5,14 +5,19 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.example.enums.BloqueHorario;
 
 import java.time.DayOfWeek;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Entity
 @Getter @Setter @AllArgsConstructor @NoArgsConstructor
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "dias-bloques")
 public class DiaBloque {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -37,6 +42,66 @@ public class DiaBloque {
         this.dia = dia;
     }
 
+    /**
+     * Posición del día y bloque dentro de la semana (0 a 41)
+     * @return int slot semanal
+     */
+    public int getSlotSemanal() {
+        return slotSemanal(dia, bloqueHorario);
+    }
+
+    /**
+     * Calcula la posición de un día y bloque dentro de la semana
+     * @param dia de la semana
+     * @param bloqueHorario del día
+     * @return int slot semanal
+     */
+    public static int slotSemanal(DayOfWeek dia, BloqueHorario bloqueHorario) {
+        return (dia.getValue() - 1) * BloqueHorario.values().length + bloqueHorario.ordinal();
+    }
+
+    /**
+     * Obtiene los slots semanales de un conjunto de días y bloques
+     * @param diasYBloques a convertir
+     * @return Set<Integer> slots semanales
+     */
+    public static Set<Integer> slotsSemanales(Set<DiaBloque> diasYBloques) {
+        return diasYBloques.stream()
+                .map(DiaBloque::getSlotSemanal)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Codifica un conjunto de días y bloques en una máscara de bits, un bit por slot semanal
+     * @param diasYBloques a codificar
+     * @return long máscara horaria (42 bits)
+     */
+    public static long mascara(Set<DiaBloque> diasYBloques) {
+        long mascara = 0L;
+        if (diasYBloques == null) {
+            return mascara;
+        }
+        for (var diaBloque : diasYBloques) {
+            mascara |= 1L << diaBloque.getSlotSemanal();
+        }
+        return mascara;
+    }
+
+    /**
+     * Decodifica una máscara horaria en días y bloques, sin ID: sirven para mostrar, no para persistir
+     * @param mascara horaria (42 bits)
+     * @return Set<DiaBloque> ordenados por día y bloque
+     */
+    public static Set<DiaBloque> desdeMascara(long mascara) {
+        var bloques = BloqueHorario.values();
+        Set<DiaBloque> diasYBloques = new LinkedHashSet<>();
+        for (long resto = mascara; resto != 0; resto &= resto - 1) {
+            int slot = Long.numberOfTrailingZeros(resto);
+            diasYBloques.add(new DiaBloque(bloques[slot % bloques.length], DayOfWeek.of(slot / bloques.length + 1)));
+        }
+        return diasYBloques;
+    }
+
     @Override
     public String toString() {
         return bloqueHorario + " " + dia;
@@ -2,12 +2,16 @@ package org.example.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @AllArgsConstructor @NoArgsConstructor @Getter @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity(name="espacios")
+@Table(name = "espacios", indexes = @Index(name = "idx_espacios_tipo_capacidad", columnList = "espacio_type, capacidad"))
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "espacio_type")
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "espacios")
 public abstract class Espacio {
     @EqualsAndHashCode.Include
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -3,11 +3,14 @@ package org.example.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity @Table(name = "profesores")
 @Getter @Setter @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @AllArgsConstructor @RequiredArgsConstructor @NoArgsConstructor
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profesores")
 public class Profesor {
     @EqualsAndHashCode.Include @NonNull
     @Id
@@ -8,10 +8,39 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
-@Entity @Table(name = "reservas")
+@Entity @Table(name = "reservas", indexes = {
+        // Paginación por clave del historial
+        @Index(name = "idx_reservas_fecha_inicio_id", columnList = "fecha_inicio, id"),
+        // Reservas de un espacio por rango de fechas
+        @Index(name = "idx_reservas_espacio_fechas", columnList = "espacio_id, fecha_inicio, fecha_fin")
+})
+// Las relaciones son LAZY, cada consulta declara con un grafo lo que necesita traer en el mismo select
+@NamedEntityGraph(name = Reserva.GRAFO_LISTA,
+        attributeNodes = {
+                @NamedAttributeNode("espacio"),
+                @NamedAttributeNode(value = "inscripcion", subgraph = "inscripcion")
+        },
+        subgraphs = @NamedSubgraph(name = "inscripcion", attributeNodes = @NamedAttributeNode("asignatura")))
+@NamedEntityGraph(name = Reserva.GRAFO_DETALLE,
+        attributeNodes = {
+                @NamedAttributeNode("espacio"),
+                @NamedAttributeNode(value = "inscripcion", subgraph = "inscripcion"),
+                @NamedAttributeNode("diasYBloques")
+        },
+        subgraphs = @NamedSubgraph(name = "inscripcion",
+                attributeNodes = {@NamedAttributeNode("asignatura"), @NamedAttributeNode("profesor")}))
+@NamedEntityGraph(name = Reserva.GRAFO_VALIDACION,
+        attributeNodes = {@NamedAttributeNode("espacio"), @NamedAttributeNode("diasYBloques")})
 @Getter @Setter @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-@AllArgsConstructor @NoArgsConstructor
+@NoArgsConstructor
 public class Reserva {
+    // Listados: espacio e inscripción con su asignatura, sin días y bloques
+    public static final String GRAFO_LISTA = "Reserva.lista";
+    // Una reserva abierta o modificada: todo lo que se muestra o se copia a una solicitud
+    public static final String GRAFO_DETALLE = "Reserva.detalle";
+    // Ocupación y ocurrencias: espacio y días y bloques
+    public static final String GRAFO_VALIDACION = "Reserva.validacion";
+
     @EqualsAndHashCode.Include
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,27 +52,58 @@ public class Reserva {
     @Column(nullable = false)
     private LocalDate fechaFin;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "espacio_id", nullable = false)
     private Espacio espacio;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "inscripcion_id", nullable = false)
     private Inscripcion inscripcion;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
     @JoinTable(
             name = "reserva_dia_bloque",
             joinColumns = @JoinColumn(name = "reserva_id"),
-            inverseJoinColumns = @JoinColumn(name = "dia_bloque_id")
+            inverseJoinColumns = @JoinColumn(name = "dia_bloque_id"),
+            indexes = @Index(name = "idx_reserva_dia_bloque_inverso", columnList = "dia_bloque_id, reserva_id")
     )
     private Set<DiaBloque> diasYBloques;
 
+    // Días y bloques codificados en bits para comparar horarios sin pasar por la tabla intermedia
+    @Setter(AccessLevel.NONE)
+    @Column(name = "mascara_horario", nullable = false)
+    private long mascaraHorario;
+
+
+    public Reserva(Integer id, LocalDate fechaInicio, LocalDate fechaFin, Espacio espacio,
+                   Inscripcion inscripcion, Set<DiaBloque> diasYBloques) {
+        this.id = id;
+        this.fechaInicio = fechaInicio;
+        this.fechaFin = fechaFin;
+        this.espacio = espacio;
+        this.inscripcion = inscripcion;
+        setDiasYBloques(diasYBloques);
+    }
 
     public Set<DiaBloque> getDiasYBloques() {
         return diasYBloques == null ? new HashSet<>() : new HashSet<>(diasYBloques);
     }
 
+    public void setDiasYBloques(Set<DiaBloque> diasYBloques) {
+        this.diasYBloques = diasYBloques;
+        this.mascaraHorario = DiaBloque.mascara(diasYBloques);
+    }
+
+    /**
+     * Vuelve a calcular la máscara horaria desde los días y bloques, sin reemplazar la colección
+     * (reemplazarla hace que Hibernate borre y vuelva a insertar las filas de la tabla intermedia)
+     */
+    @PrePersist
+    @PreUpdate
+    public void actualizarMascaraHorario() {
+        this.mascaraHorario = DiaBloque.mascara(diasYBloques);
+    }
+
 
     @Override
     public String toString() {
@@ -0,0 +1,76 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.enums.BloqueHorario;
+import org.springframework.data.domain.Persistable;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Ocurrencia concreta de una reserva: un espacio ocupado en una fecha y bloque horario
+ * Se deriva de la reserva y la clave primaria evita la doble reserva de un mismo slot
+ */
+@Entity
+@Table(name = "reserva_ocurrencia", indexes = {
+        @Index(name = "idx_ocurrencia_fecha_slot", columnList = "fecha, slot_semanal, espacio_id"),
+        @Index(name = "idx_ocurrencia_reserva", columnList = "reserva_id"),
+        @Index(name = "idx_ocurrencia_espacio_fecha_slot", columnList = "espacio_id, fecha, slot_semanal, reserva_id")
+})
+@Getter @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@NoArgsConstructor
+public class ReservaOcurrencia implements Persistable<ReservaOcurrenciaId> {
+    @EmbeddedId
+    @EqualsAndHashCode.Include
+    private ReservaOcurrenciaId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reserva_id", nullable = false)
+    private Reserva reserva;
+
+    @Column(name = "slot_semanal", nullable = false)
+    private int slotSemanal;
+
+    // Las ocurrencias siempre se insertan, nunca se actualizan
+    @Transient
+    private boolean nueva = true;
+
+    public ReservaOcurrencia(Reserva reserva, LocalDate fecha, BloqueHorario bloqueHorario) {
+        this.id = new ReservaOcurrenciaId(reserva.getEspacio().getId(), fecha, bloqueHorario);
+        this.reserva = reserva;
+        this.slotSemanal = DiaBloque.slotSemanal(fecha.getDayOfWeek(), bloqueHorario);
+    }
+
+    /**
+     * Expande una reserva en sus ocurrencias concretas
+     * @param reserva con su rango de fechas y días y bloques
+     * @return List<ReservaOcurrencia> una por cada fecha y bloque que ocupa
+     */
+    public static List<ReservaOcurrencia> desde(Reserva reserva) {
+        Map<DayOfWeek, List<BloqueHorario>> bloquesPorDia = new EnumMap<>(DayOfWeek.class);
+        reserva.getDiasYBloques().forEach(db -> bloquesPorDia
+                .computeIfAbsent(db.getDia(), d -> new ArrayList<>())
+                .add(db.getBloqueHorario()));
+
+        List<ReservaOcurrencia> ocurrencias = new ArrayList<>();
+        for (var fecha = reserva.getFechaInicio(); !fecha.isAfter(reserva.getFechaFin()); fecha = fecha.plusDays(1)) {
+            for (var bloque : bloquesPorDia.getOrDefault(fecha.getDayOfWeek(), List.of())) {
+                ocurrencias.add(new ReservaOcurrencia(reserva, fecha, bloque));
+            }
+        }
+        return ocurrencias;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nueva;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistida() {
+        this.nueva = false;
+    }
+}
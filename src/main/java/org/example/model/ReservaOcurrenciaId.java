@@ -0,0 +1,30 @@
+package org.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.*;
+import org.example.enums.BloqueHorario;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Clave de una ocurrencia de reserva
+ * Un espacio solo puede estar ocupado una vez en una fecha y bloque horario
+ */
+@Embeddable
+@Getter @EqualsAndHashCode @ToString
+@AllArgsConstructor @NoArgsConstructor
+public class ReservaOcurrenciaId implements Serializable {
+    @Column(name = "espacio_id", nullable = false)
+    private Integer espacioId;
+
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bloque_horario", nullable = false)
+    private BloqueHorario bloqueHorario;
+}
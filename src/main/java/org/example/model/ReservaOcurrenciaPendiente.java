@@ -0,0 +1,23 @@
+package org.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+/**
+ * Reserva guardada antes de que existieran las ocurrencias, la migración V2 las anota todas
+ * Se borran después de generar sus ocurrencias, aunque no se haya podido generar ninguna (sin días y bloques
+ * o con todos sus slots ya ocupados), así no se vuelven a revisar en cada arranque
+ */
+@Entity
+@Table(name = "reserva_ocurrencia_pendiente")
+@Getter @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@AllArgsConstructor @NoArgsConstructor
+public class ReservaOcurrenciaPendiente {
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "reserva_id")
+    private Integer idReserva;
+}
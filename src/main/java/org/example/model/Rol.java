@@ -3,12 +3,15 @@ package org.example.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.example.enums.Permisos;
 import java.util.List;
 
 @Entity @Table(name = "roles")
 @Getter @Setter @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @AllArgsConstructor @NoArgsConstructor
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 public class Rol {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,15 +23,12 @@ public class Rol {
     private String nombre;
 
     @ElementCollection(targetClass = Permisos.class, fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles-permisos")
     @CollectionTable(name = "rol_permisos", joinColumns = @JoinColumn(name = "rol_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "permiso")
     private List<Permisos> permisos;
 
-    public boolean tienePermiso(Permisos permiso) {
-        return this.permisos.contains(permiso);
-    }
-
     @Override
     public String toString() {
         return nombre;
@@ -10,25 +10,56 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Set;
 
-@Entity @Table(name = "solicitudes")
+@Entity @Table(name = "solicitudes", indexes = {
+        // Paginación por clave del historial, por estado y por estado de un profesor
+        @Index(name = "idx_solicitudes_estado_fecha_id", columnList = "estado, fecha_hora_solicitud, id"),
+        @Index(name = "idx_solicitudes_profesor_estado_fecha_id",
+                columnList = "profesor_id, estado, fecha_hora_solicitud, id"),
+        // Solicitudes superpuestas de un espacio (find y findByCriteria)
+        @Index(name = "idx_solicitudes_espacio_fechas_estado",
+                columnList = "nuevo_espacio_id, fecha_inicio, fecha_fin, estado, mascara_horario")
+})
+// Las relaciones son LAZY, cada consulta declara con un grafo lo que necesita traer en el mismo select
+@NamedEntityGraph(name = SolicitudCambioAula.GRAFO_LISTA,
+        attributeNodes = {
+                @NamedAttributeNode("profesor"),
+                @NamedAttributeNode("reservaOriginal"),
+                @NamedAttributeNode("nuevoEspacio")
+        })
+@NamedEntityGraph(name = SolicitudCambioAula.GRAFO_DETALLE,
+        attributeNodes = {
+                @NamedAttributeNode("profesor"),
+                @NamedAttributeNode("reservaOriginal"),
+                @NamedAttributeNode("nuevoEspacio"),
+                @NamedAttributeNode("diasYBloques")
+        })
+@NamedEntityGraph(name = SolicitudCambioAula.GRAFO_VALIDACION,
+        attributeNodes = {@NamedAttributeNode("nuevoEspacio"), @NamedAttributeNode("diasYBloques")})
 @Getter @Setter @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 public class SolicitudCambioAula {
+    // Listados: profesor, reserva original y nuevo espacio, sin días y bloques
+    public static final String GRAFO_LISTA = "SolicitudCambioAula.lista";
+    // Una solicitud que se aprueba o rechaza: se copia entera, días y bloques incluidos
+    public static final String GRAFO_DETALLE = "SolicitudCambioAula.detalle";
+    // Superposición con otras reservas o solicitudes: nuevo espacio y días y bloques
+    public static final String GRAFO_VALIDACION = "SolicitudCambioAula.validacion";
+
     @Id
     @EqualsAndHashCode.Include
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @EqualsAndHashCode.Include
     @JoinColumn(name = "profesor_id", nullable = false)
     private Profesor profesor;
 
-    @ManyToOne @EqualsAndHashCode.Include
+    @ManyToOne(fetch = FetchType.LAZY) @EqualsAndHashCode.Include
     @JoinColumn(name = "reserva_original_id", nullable = false)
     private Reserva reservaOriginal;
 
-    @ManyToOne @EqualsAndHashCode.Include
+    @ManyToOne(fetch = FetchType.LAZY) @EqualsAndHashCode.Include
     @JoinColumn(name = "nuevo_espacio_id", nullable = false)
     private Espacio nuevoEspacio;
 
@@ -46,14 +77,20 @@ public class SolicitudCambioAula {
     @Column(nullable = false)
     private LocalDate fechaFin;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
     @JoinTable(
             name = "solicitud_dia_bloque",
             joinColumns = @JoinColumn(name = "solicitud_id"),
-            inverseJoinColumns = @JoinColumn(name = "dia_bloque_id")
+            inverseJoinColumns = @JoinColumn(name = "dia_bloque_id"),
+            indexes = @Index(name = "idx_solicitud_dia_bloque_inverso", columnList = "dia_bloque_id, solicitud_id")
     )
     private Set<DiaBloque> diasYBloques;
 
+    // Días y bloques codificados en bits para comparar horarios sin pasar por la tabla intermedia
+    @Setter(AccessLevel.NONE)
+    @Column(name = "mascara_horario", nullable = false)
+    private long mascaraHorario;
+
     private String comentarioEstado;
     private String comentarioProfesor;
 
@@ -73,7 +110,7 @@ public class SolicitudCambioAula {
         this.tipoSolicitud = tipoSolicitud;
         this.fechaInicio = fechaInicio;
         this.fechaFin = fechaFin;
-        this.diasYBloques = diasYBloques;
+        setDiasYBloques(diasYBloques);
         this.comentarioProfesor = comentarioProfesor;
         this.fechaHoraSolicitud = LocalDateTime.now();
     }
@@ -90,7 +127,7 @@ public class SolicitudCambioAula {
         this.tipoSolicitud = tipoSolicitud;
         this.fechaInicio = fechaInicio;
         this.fechaFin = fechaFin;
-        this.diasYBloques = diasYBloques;
+        setDiasYBloques(diasYBloques);
         this.comentarioEstado = comentarioEstado;
         this.comentarioProfesor = comentarioProfesor;
         this.fechaHoraSolicitud = fechaHoraSolicitud;
@@ -98,6 +135,18 @@ public class SolicitudCambioAula {
 
 
 
+    public void setDiasYBloques(Set<DiaBloque> diasYBloques) {
+        this.diasYBloques = diasYBloques;
+        this.mascaraHorario = DiaBloque.mascara(diasYBloques);
+    }
+
+    /** Recalcula la máscara horaria a partir de los días y bloques cargados */
+    @PrePersist
+    @PreUpdate
+    public void actualizarMascaraHorario() {
+        this.mascaraHorario = DiaBloque.mascara(diasYBloques);
+    }
+
     @Override
     public String toString() {
         return String.valueOf(id);
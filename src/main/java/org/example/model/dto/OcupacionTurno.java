@@ -0,0 +1,18 @@
+package org.example.model.dto;
+
+import org.example.enums.BloqueHorario;
+
+import java.time.LocalDate;
+
+/**
+ * Un turno ocupado en el calendario: una fecha y bloque horario de una reserva, se arma con una sola consulta
+ * Temporal indica que la reserva salió de una solicitud de cambio temporal aprobada
+ */
+public record OcupacionTurno(LocalDate fecha, BloqueHorario bloqueHorario, Integer idReserva,
+                             Integer numeroEspacio, Integer comision, String asignatura,
+                             boolean temporal) {
+
+    public String descripcion() {
+        return comision + " - " + asignatura + " (espacio " + numeroEspacio + ")";
+    }
+}
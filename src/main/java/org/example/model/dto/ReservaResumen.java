@@ -0,0 +1,22 @@
+package org.example.model.dto;
+
+
+import java.time.LocalDate;
+
+/**
+ * Columnas de una reserva que muestran las tablas, se arma con una sola consulta
+ * Los días y bloques vienen como máscara horaria, la reserva completa se carga solo al abrirla
+ */
+public record ReservaResumen(Integer id, LocalDate fechaInicio, LocalDate fechaFin,
+                             Integer idEspacio, Integer numeroEspacio,
+                             Integer idInscripcion, Integer comision, String asignatura,
+                             long mascaraHorario) {
+
+    public String espacio() {
+        return String.valueOf(numeroEspacio);
+    }
+
+    public String inscripcion() {
+        return comision + " - " + asignatura;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.model.dto;
+
+
+import org.example.enums.EstadoSolicitud;
+import org.example.enums.TipoSolicitud;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Columnas de una solicitud de cambio de aula que muestran las tablas, se arma con una sola consulta
+ * Los días y bloques vienen como máscara horaria, la solicitud completa se carga solo al abrirla
+ */
+public record SolicitudResumen(Integer id, Integer idReservaOriginal, Integer idNuevoEspacio,
+                               Integer numeroNuevoEspacio, EstadoSolicitud estado, TipoSolicitud tipoSolicitud,
+                               LocalDate fechaInicio, LocalDate fechaFin, String comentarioProfesor,
+                               String comentarioEstado, LocalDateTime fechaHoraSolicitud, long mascaraHorario) {
+
+    public String nuevoEspacio() {
+        return String.valueOf(numeroNuevoEspacio);
+    }
+}
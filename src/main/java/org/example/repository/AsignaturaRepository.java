@@ -1,7 +1,10 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.model.Asignatura;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,5 +16,7 @@ import java.util.Optional;
  */
 @Repository
 public interface AsignaturaRepository extends JpaRepository<Asignatura, Integer> {
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-referencia")})
     Optional<Asignatura> findByCodigo(Integer codigo);
 }
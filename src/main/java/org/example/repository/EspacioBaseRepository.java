@@ -1,18 +1,37 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.model.Espacio;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositorio base de Espacios
- * Implementa JpaRepository
+ * Implementa JpaRepository y JpaSpecificationExecutor para las búsquedas con filtros
+ * Los listados completos y la búsqueda por número pasan por la caché de consultas de Hibernate
  * Su responsabilidad es interactuar con la base de datos
  */
 @Repository
-public interface EspacioBaseRepository<T extends Espacio> extends JpaRepository<T, Integer> {
+public interface EspacioBaseRepository<T extends Espacio> extends JpaRepository<T, Integer>, JpaSpecificationExecutor<T> {
+    @Override
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-espacios")})
+    List<T> findAll();
+
+    @Override
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-espacios")})
+    List<T> findAll(Sort sort);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-referencia")})
     Optional<T> findByNumero(Integer numero);
 }
 
@@ -0,0 +1,86 @@
+package org.example.repository;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.experimental.UtilityClass;
+import org.example.model.DiaBloque;
+import org.example.model.Espacio;
+import org.example.model.ReservaOcurrencia;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Especificaciones de búsqueda de espacios
+ * Cada filtro nulo no agrega condición, así se combinan en una sola consulta
+ */
+@UtilityClass
+public class EspacioSpecification {
+
+    /**
+     * Filtra espacios con capacidad mayor o igual a la indicada
+     * @param capacidad mínima del espacio
+     * @return Specification<T>
+     */
+    public <T extends Espacio> Specification<T> conCapacidadMinima(Integer capacidad) {
+        return (root, query, cb) -> capacidad == null ? null :
+                cb.greaterThanOrEqualTo(root.get("capacidad"), capacidad);
+    }
+
+    /**
+     * Filtra espacios según tengan o no proyector
+     * @param tieneProyector si tiene o no proyector
+     * @return Specification<T>
+     */
+    public <T extends Espacio> Specification<T> conProyector(Boolean tieneProyector) {
+        return (root, query, cb) -> tieneProyector == null ? null :
+                cb.equal(root.get("tieneProyector"), tieneProyector);
+    }
+
+    /**
+     * Filtra espacios según tengan o no TV
+     * @param tieneTV si tiene o no TV
+     * @return Specification<T>
+     */
+    public <T extends Espacio> Specification<T> conTV(Boolean tieneTV) {
+        return (root, query, cb) -> tieneTV == null ? null :
+                cb.equal(root.get("tieneTV"), tieneTV);
+    }
+
+    /**
+     * Filtra laboratorios con computadoras mayor o igual a la cantidad indicada
+     * @param computadoras mínima del laboratorio
+     * @return Specification<T>
+     */
+    public <T extends Espacio> Specification<T> conComputadorasMinimas(Integer computadoras) {
+        return (root, query, cb) -> computadoras == null ? null :
+                cb.greaterThanOrEqualTo(root.get("computadoras"), computadoras);
+    }
+
+    /**
+     * Filtra espacios que no tengan ocurrencias de reserva en ese rango de fecha con esos días y bloques
+     * Se resuelve con un NOT EXISTS correlacionado sobre reserva_ocurrencia, sin traer las reservas a memoria
+     * @param fechaInicio del rango de fecha
+     * @param fechaFin del rango de fecha
+     * @param diasYBloques en los cuales debe estar disponible
+     * @return Specification<T>
+     */
+    public <T extends Espacio> Specification<T> disponible(LocalDate fechaInicio, LocalDate fechaFin,
+                                                         Set<DiaBloque> diasYBloques) {
+        return (root, query, cb) -> {
+            if (diasYBloques.isEmpty()) {
+                return null;
+            }
+
+            Subquery<Integer> ocupadas = query.subquery(Integer.class);
+            Root<ReservaOcurrencia> ocurrencia = ocupadas.from(ReservaOcurrencia.class);
+            ocupadas.select(ocurrencia.get("slotSemanal")).where(
+                    cb.equal(ocurrencia.get("id").get("espacioId"), root.get("id")),
+                    cb.between(ocurrencia.get("id").get("fecha"), fechaInicio, fechaFin),
+                    ocurrencia.get("slotSemanal").in(DiaBloque.slotsSemanales(diasYBloques)));
+
+            return cb.not(cb.exists(ocupadas));
+        };
+    }
+}
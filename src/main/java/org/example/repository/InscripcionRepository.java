@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -26,4 +28,18 @@ public interface InscripcionRepository extends JpaRepository<Inscripcion, Intege
                                @Param("comision") Integer comision,
                                @Param("year") Integer year,
                                @Param("cuatrimestre") Integer cuatrimestre);
+
+    @Query("SELECT i FROM Inscripcion i JOIN FETCH i.asignatura JOIN FETCH i.profesor WHERE i.id = :id")
+    Optional<Inscripcion> findConAsignaturaYProfesor(@Param("id") Integer id);
+
+    @Query("SELECT i FROM Inscripcion i JOIN FETCH i.asignatura JOIN FETCH i.profesor WHERE i.id IN :ids")
+    List<Inscripcion> findAllConAsignaturaYProfesor(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT i FROM Inscripcion i JOIN FETCH i.asignatura JOIN FETCH i.profesor " +
+            "WHERE i.year = :year AND i.cuatrimestre = :cuatrimestre ORDER BY i.id")
+    List<Inscripcion> findAllConAsignaturaYProfesor(@Param("year") Integer year,
+                                                    @Param("cuatrimestre") Integer cuatrimestre);
+
+    @Query("SELECT i FROM Inscripcion i JOIN FETCH i.asignatura JOIN FETCH i.profesor ORDER BY i.id")
+    List<Inscripcion> findAllConAsignaturaYProfesor();
 }
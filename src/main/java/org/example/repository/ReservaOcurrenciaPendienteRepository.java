@@ -0,0 +1,14 @@
+package org.example.repository;
+
+import org.example.model.ReservaOcurrenciaPendiente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de reservas que esperan sus ocurrencias
+ * Implementa JpaRepository
+ * Su responsabilidad es interactuar con la base de datos
+ */
+@Repository
+public interface ReservaOcurrenciaPendienteRepository extends JpaRepository<ReservaOcurrenciaPendiente, Integer> {
+}
@@ -0,0 +1,72 @@
+package org.example.repository;
+
+import org.example.enums.EstadoSolicitud;
+import org.example.enums.TipoSolicitud;
+import org.example.model.ReservaOcurrencia;
+import org.example.model.ReservaOcurrenciaId;
+import org.example.model.dto.OcupacionTurno;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio de ocurrencias de reserva
+ * Implementa JpaRepository
+ * Su responsabilidad es interactuar con la base de datos
+ */
+@Repository
+public interface ReservaOcurrenciaRepository extends JpaRepository<ReservaOcurrencia, ReservaOcurrenciaId> {
+    // Una fila por ocurrencia, la reserva es temporal si coincide con una solicitud temporal aprobada
+    String OCUPACION = "SELECT new org.example.model.dto.OcupacionTurno(o.id.fecha, o.id.bloqueHorario, r.id, " +
+            "e.numero, i.comision, a.nombre, " +
+            "CASE WHEN EXISTS (SELECT s.id FROM SolicitudCambioAula s WHERE s.nuevoEspacio = r.espacio AND " +
+            "s.fechaInicio = r.fechaInicio AND s.fechaFin = r.fechaFin AND s.estado = :aprobada AND " +
+            "s.tipoSolicitud = :temporal AND s.reservaOriginal.inscripcion = r.inscripcion) " +
+            "THEN true ELSE false END) " +
+            "FROM ReservaOcurrencia o JOIN o.reserva r JOIN r.espacio e JOIN r.inscripcion i JOIN i.asignatura a ";
+
+    @Query("SELECT DISTINCT o.id.espacioId FROM ReservaOcurrencia o WHERE " +
+            "o.id.fecha BETWEEN :fechaInicio AND :fechaFin AND o.slotSemanal IN :slots")
+    List<Integer> findEspaciosOcupados(@Param("fechaInicio") LocalDate fechaInicio,
+                                       @Param("fechaFin") LocalDate fechaFin,
+                                       @Param("slots") Collection<Integer> slots);
+
+    @Query("SELECT COUNT(o) > 0 FROM ReservaOcurrencia o WHERE o.id.espacioId = :idEspacio AND " +
+            "o.id.fecha BETWEEN :fechaInicio AND :fechaFin AND o.slotSemanal IN :slots AND " +
+            "(:idReserva IS NULL OR o.reserva.id <> :idReserva)")
+    boolean existsOcupacion(@Param("idEspacio") Integer idEspacio,
+                            @Param("fechaInicio") LocalDate fechaInicio,
+                            @Param("fechaFin") LocalDate fechaFin,
+                            @Param("slots") Collection<Integer> slots,
+                            @Param("idReserva") Integer idReservaExcluida);
+
+    @Query("SELECT o.id FROM ReservaOcurrencia o WHERE o.id.espacioId IN :idsEspacio AND " +
+            "o.id.fecha BETWEEN :fechaInicio AND :fechaFin")
+    List<ReservaOcurrenciaId> findIdsOcupados(@Param("idsEspacio") Collection<Integer> idsEspacio,
+                                              @Param("fechaInicio") LocalDate fechaInicio,
+                                              @Param("fechaFin") LocalDate fechaFin);
+
+    @Query(OCUPACION + "WHERE o.id.espacioId = :idEspacio AND o.id.fecha BETWEEN :desde AND :hasta")
+    List<OcupacionTurno> findOcupacionEspacio(@Param("idEspacio") Integer idEspacio,
+                                              @Param("desde") LocalDate desde,
+                                              @Param("hasta") LocalDate hasta,
+                                              @Param("aprobada") EstadoSolicitud aprobada,
+                                              @Param("temporal") TipoSolicitud temporal);
+
+    @Query(OCUPACION + "WHERE i.profesor.id = :idProfesor AND o.id.fecha BETWEEN :desde AND :hasta")
+    List<OcupacionTurno> findOcupacionProfesor(@Param("idProfesor") Integer idProfesor,
+                                               @Param("desde") LocalDate desde,
+                                               @Param("hasta") LocalDate hasta,
+                                               @Param("aprobada") EstadoSolicitud aprobada,
+                                               @Param("temporal") TipoSolicitud temporal);
+
+    @Modifying
+    @Query("DELETE FROM ReservaOcurrencia o WHERE o.reserva.id = :idReserva")
+    void deleteByReservaId(@Param("idReserva") Integer idReserva);
+}
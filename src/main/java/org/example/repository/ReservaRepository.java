@@ -1,9 +1,13 @@
 package org.example.repository;
 
 
-import org.example.model.DiaBloque;
 import org.example.model.Espacio;
 import org.example.model.Reserva;
+import org.example.model.dto.ReservaResumen;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +15,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -20,18 +25,85 @@ import java.util.Set;
  */
 @Repository
 public interface ReservaRepository extends JpaRepository<Reserva, Integer> {
+    // Solo las columnas de las tablas, en una consulta y sin traer espacio, inscripción ni días y bloques
+    String RESUMEN = "SELECT new org.example.model.dto.ReservaResumen(r.id, r.fechaInicio, r.fechaFin, " +
+            "e.id, e.numero, i.id, i.comision, a.nombre, r.mascaraHorario) " +
+            "FROM Reserva r JOIN r.espacio e JOIN r.inscripcion i JOIN i.asignatura a ";
 
+    @Override
+    @EntityGraph(Reserva.GRAFO_LISTA)
+    List<Reserva> findAll();
+
+    @EntityGraph(Reserva.GRAFO_DETALLE)
+    Optional<Reserva> findDetalleById(Integer id);
+
+    @EntityGraph(Reserva.GRAFO_LISTA)
     @Query("SELECT r FROM Reserva r WHERE r.inscripcion.profesor.id= :idProfesor")
     List<Reserva> findByIdProfesor(@Param("idProfesor")int idProfesor);
 
-    @Query("SELECT r.espacio.id FROM Reserva r WHERE " +
-            "(r.fechaInicio <= :fechaFin AND r.fechaFin >= :fechaInicio) AND " +
-            "EXISTS (SELECT 1 FROM r.diasYBloques db WHERE db IN :diasYBloques)")
-    List<Integer> findEspaciosOcupadas(
-            @Param("fechaInicio") LocalDate fechaInicio,
-            @Param("fechaFin") LocalDate fechaFin,
-            @Param("diasYBloques") Set<DiaBloque> diasYBloques);
+    boolean existsByEspacio(Espacio espacio);
+
+    // Inscripciones de un cuatrimestre que ya tienen alguna reserva
+    @Query("SELECT DISTINCT r.inscripcion.id FROM Reserva r " +
+            "WHERE r.inscripcion.year = :year AND r.inscripcion.cuatrimestre = :cuatrimestre")
+    Set<Integer> findIdsInscripcionConReserva(@Param("year") Integer year,
+                                              @Param("cuatrimestre") Integer cuatrimestre);
+
+    @Query(RESUMEN + "WHERE r.id = :id")
+    Optional<ReservaResumen> findResumen(@Param("id") Integer id);
+
+    @Query(value = RESUMEN, countQuery = "SELECT count(r) FROM Reserva r")
+    Page<ReservaResumen> findResumenes(Pageable pagina);
+
+    @Query(value = RESUMEN + "WHERE i.profesor.id = :idProfesor",
+            countQuery = "SELECT count(r) FROM Reserva r WHERE r.inscripcion.profesor.id = :idProfesor")
+    Page<ReservaResumen> findResumenesPorProfesor(@Param("idProfesor") int idProfesor, Pageable pagina);
+
+    // Historial paginado por clave (fechaInicio, id): cada página sigue desde la última fila vista, sin OFFSET.
+    // Una consulta por caso (primera página, siguientes o anteriores, con o sin profesor): con parámetros
+    // opcionales (:id IS NULL OR ...) MySQL arma un único plan y no puede usar el índice de la clave
+    @Query(RESUMEN + "ORDER BY r.fechaInicio, r.id")
+    List<ReservaResumen> findResumenesPrimeros(Limit limite);
+
+    @Query(RESUMEN + "WHERE i.profesor.id = :idProfesor ORDER BY r.fechaInicio, r.id")
+    List<ReservaResumen> findResumenesPrimerosPorProfesor(@Param("idProfesor") int idProfesor, Limit limite);
+
+    @Query(RESUMEN + "WHERE r.fechaInicio > :fechaInicio OR (r.fechaInicio = :fechaInicio AND r.id > :id) " +
+            "ORDER BY r.fechaInicio, r.id")
+    List<ReservaResumen> findResumenesSiguientes(@Param("fechaInicio") LocalDate fechaInicio,
+                                                 @Param("id") Integer id, Limit limite);
+
+    @Query(RESUMEN + "WHERE i.profesor.id = :idProfesor " +
+            "AND (r.fechaInicio > :fechaInicio OR (r.fechaInicio = :fechaInicio AND r.id > :id)) " +
+            "ORDER BY r.fechaInicio, r.id")
+    List<ReservaResumen> findResumenesSiguientesPorProfesor(@Param("idProfesor") int idProfesor,
+                                                            @Param("fechaInicio") LocalDate fechaInicio,
+                                                            @Param("id") Integer id, Limit limite);
+
+    @Query(RESUMEN + "WHERE r.fechaInicio < :fechaInicio OR (r.fechaInicio = :fechaInicio AND r.id < :id) " +
+            "ORDER BY r.fechaInicio DESC, r.id DESC")
+    List<ReservaResumen> findResumenesAnteriores(@Param("fechaInicio") LocalDate fechaInicio,
+                                                 @Param("id") Integer id, Limit limite);
+
+    @Query(RESUMEN + "WHERE i.profesor.id = :idProfesor " +
+            "AND (r.fechaInicio < :fechaInicio OR (r.fechaInicio = :fechaInicio AND r.id < :id)) " +
+            "ORDER BY r.fechaInicio DESC, r.id DESC")
+    List<ReservaResumen> findResumenesAnterioresPorProfesor(@Param("idProfesor") int idProfesor,
+                                                            @Param("fechaInicio") LocalDate fechaInicio,
+                                                            @Param("id") Integer id, Limit limite);
+
+    @Query("SELECT DISTINCT r FROM Reserva r JOIN FETCH r.espacio LEFT JOIN FETCH r.diasYBloques WHERE " +
+            "r.fechaInicio <= :fechaFin AND r.fechaFin >= :fechaInicio")
+    List<Reserva> findByRango(@Param("fechaInicio") LocalDate fechaInicio,
+                              @Param("fechaFin") LocalDate fechaFin);
+
+    @EntityGraph(Reserva.GRAFO_VALIDACION)
+    @Query("SELECT r FROM Reserva r WHERE r.id IN (SELECT p.idReserva FROM ReservaOcurrenciaPendiente p) " +
+            "ORDER BY r.id")
+    List<Reserva> findPendientesDeOcurrencias();
 
-    List<Reserva> findReservaByEspacio(Espacio espacio);
+    // Reservas guardadas antes de existir la máscara horaria
+    @EntityGraph(Reserva.GRAFO_VALIDACION)
+    List<Reserva> findByMascaraHorario(long mascaraHorario);
 
 }
@@ -1,7 +1,10 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.model.Rol;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -12,5 +15,7 @@ import java.util.Optional;
  */
 @Repository
 public interface RolRepository extends JpaRepository<Rol, Integer> {
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consultas-referencia")})
     Optional<Rol> findByNombre(String nombre);
 }
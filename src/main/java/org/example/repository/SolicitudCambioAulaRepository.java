@@ -2,13 +2,20 @@ package org.example.repository;
 
 import org.example.enums.EstadoSolicitud;
 import org.example.model.SolicitudCambioAula;
+import org.example.model.dto.SolicitudResumen;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 
 /**
@@ -18,51 +25,119 @@ import java.util.List;
  */
 @Repository
 public interface SolicitudCambioAulaRepository extends JpaRepository<SolicitudCambioAula, Integer> {
+    // Solo las columnas de las tablas, en una consulta y sin traer profesor, reserva, espacio ni días y bloques
+    String RESUMEN = "SELECT new org.example.model.dto.SolicitudResumen(s.id, s.reservaOriginal.id, e.id, " +
+            "e.numero, s.estado, s.tipoSolicitud, s.fechaInicio, s.fechaFin, s.comentarioProfesor, " +
+            "s.comentarioEstado, s.fechaHoraSolicitud, s.mascaraHorario) " +
+            "FROM SolicitudCambioAula s JOIN s.nuevoEspacio e ";
 
-    // Buscar solicitudes por estado con paginación
+    @Override
+    @EntityGraph(SolicitudCambioAula.GRAFO_LISTA)
+    List<SolicitudCambioAula> findAll();
+
+    @EntityGraph(SolicitudCambioAula.GRAFO_DETALLE)
+    Optional<SolicitudCambioAula> findDetalleById(Integer id);
+
+    // Buscar solicitudes por estado
+    @EntityGraph(SolicitudCambioAula.GRAFO_LISTA)
     List<SolicitudCambioAula> findByEstado(EstadoSolicitud estado);
 
-    // Buscar solicitudes por estado y profesor con paginación
+    // Solicitudes por estado con su espacio destino y sus días y bloques, para ocupar sus slots
+    @EntityGraph(SolicitudCambioAula.GRAFO_VALIDACION)
+    List<SolicitudCambioAula> findConHorarioByEstado(EstadoSolicitud estado);
+
+    // Buscar solicitudes por estado y profesor
+    @EntityGraph(SolicitudCambioAula.GRAFO_LISTA)
     List<SolicitudCambioAula> findByEstadoAndProfesor_Id(EstadoSolicitud estado, Integer profesorId);
 
-    @Query(value = """
-    SELECT DISTINCT s.* FROM solicitudes s
-    JOIN solicitud_dia_bloque sd ON sd.solicitud_id = s.id
-    JOIN dia_bloque db on db.id = sd.dia_bloque_id
-    WHERE s.profesor_id = :idProfesor
-    AND s.nuevo_espacio_id = :idEspacio
-    AND s.reserva_original_id = :idReserva
-    AND s.fecha_inicio = :fechaInicio
-    AND s.fecha_fin = :fechaFin
-    AND db.dia IN :dias
-    AND db.bloque_horario IN :bloques
-    """, nativeQuery = true)
+    @Query(value = RESUMEN + "WHERE s.estado = :estado",
+            countQuery = "SELECT count(s) FROM SolicitudCambioAula s WHERE s.estado = :estado")
+    Page<SolicitudResumen> findResumenesPorEstado(@Param("estado") EstadoSolicitud estado, Pageable pagina);
+
+    @Query(value = RESUMEN + "WHERE s.estado = :estado AND s.profesor.id = :idProfesor",
+            countQuery = "SELECT count(s) FROM SolicitudCambioAula s " +
+                    "WHERE s.estado = :estado AND s.profesor.id = :idProfesor")
+    Page<SolicitudResumen> findResumenesPorEstadoYProfesor(@Param("estado") EstadoSolicitud estado,
+                                                           @Param("idProfesor") Integer idProfesor, Pageable pagina);
+
+    // Historial paginado por clave (fechaHoraSolicitud, id): cada página sigue desde la última fila vista, sin OFFSET.
+    // Una consulta por caso, cada una sobre su índice: (estado, fecha_hora_solicitud, id) o, con profesor,
+    // (profesor_id, estado, fecha_hora_solicitud, id)
+    @Query(RESUMEN + "WHERE s.estado = :estado ORDER BY s.fechaHoraSolicitud, s.id")
+    List<SolicitudResumen> findResumenesPrimerosPorEstado(@Param("estado") EstadoSolicitud estado, Limit limite);
+
+    @Query(RESUMEN + "WHERE s.estado = :estado AND s.profesor.id = :idProfesor " +
+            "ORDER BY s.fechaHoraSolicitud, s.id")
+    List<SolicitudResumen> findResumenesPrimerosPorEstadoYProfesor(@Param("estado") EstadoSolicitud estado,
+                                                                   @Param("idProfesor") Integer idProfesor,
+                                                                   Limit limite);
+
+    @Query(RESUMEN + "WHERE s.estado = :estado " +
+            "AND (s.fechaHoraSolicitud > :fechaHora OR (s.fechaHoraSolicitud = :fechaHora AND s.id > :id)) " +
+            "ORDER BY s.fechaHoraSolicitud, s.id")
+    List<SolicitudResumen> findResumenesSiguientesPorEstado(@Param("estado") EstadoSolicitud estado,
+                                                            @Param("fechaHora") LocalDateTime fechaHora,
+                                                            @Param("id") Integer id, Limit limite);
+
+    @Query(RESUMEN + "WHERE s.estado = :estado AND s.profesor.id = :idProfesor " +
+            "AND (s.fechaHoraSolicitud > :fechaHora OR (s.fechaHoraSolicitud = :fechaHora AND s.id > :id)) " +
+            "ORDER BY s.fechaHoraSolicitud, s.id")
+    List<SolicitudResumen> findResumenesSiguientesPorEstadoYProfesor(@Param("estado") EstadoSolicitud estado,
+                                                                     @Param("idProfesor") Integer idProfesor,
+                                                                     @Param("fechaHora") LocalDateTime fechaHora,
+                                                                     @Param("id") Integer id, Limit limite);
+
+    @Query(RESUMEN + "WHERE s.estado = :estado " +
+            "AND (s.fechaHoraSolicitud < :fechaHora OR (s.fechaHoraSolicitud = :fechaHora AND s.id < :id)) " +
+            "ORDER BY s.fechaHoraSolicitud DESC, s.id DESC")
+    List<SolicitudResumen> findResumenesAnterioresPorEstado(@Param("estado") EstadoSolicitud estado,
+                                                            @Param("fechaHora") LocalDateTime fechaHora,
+                                                            @Param("id") Integer id, Limit limite);
+
+    @Query(RESUMEN + "WHERE s.estado = :estado AND s.profesor.id = :idProfesor " +
+            "AND (s.fechaHoraSolicitud < :fechaHora OR (s.fechaHoraSolicitud = :fechaHora AND s.id < :id)) " +
+            "ORDER BY s.fechaHoraSolicitud DESC, s.id DESC")
+    List<SolicitudResumen> findResumenesAnterioresPorEstadoYProfesor(@Param("estado") EstadoSolicitud estado,
+                                                                     @Param("idProfesor") Integer idProfesor,
+                                                                     @Param("fechaHora") LocalDateTime fechaHora,
+                                                                     @Param("id") Integer id, Limit limite);
+
+    // La superposición de horarios se resuelve con la máscara horaria, sin unir las tablas de días y bloques.
+    // bitand lo traduce cada dialecto (& en MySQL, BITAND en H2)
+    @Query("""
+    SELECT s FROM SolicitudCambioAula s
+    WHERE s.profesor.id = :idProfesor
+    AND s.nuevoEspacio.id = :idEspacio
+    AND s.reservaOriginal.id = :idReserva
+    AND s.fechaInicio = :fechaInicio
+    AND s.fechaFin = :fechaFin
+    AND bitand(s.mascaraHorario, :mascara) <> 0
+    """)
     List<SolicitudCambioAula> findByCriteria(
             @Param("idProfesor") Integer idProfesor,
             @Param("idEspacio") Integer idEspacio,
             @Param("idReserva") Integer idReserva,
             @Param("fechaInicio") LocalDate fechaInicio,
             @Param("fechaFin") LocalDate fechaFin,
-            @Param("dias") List<String> dias,
-            @Param("bloques") List<String> bloques
+            @Param("mascara") long mascara
     );
 
-    @Query(value = """
-    SELECT DISTINCT s.* FROM solicitudes s
-    JOIN solicitud_dia_bloque sd ON sd.solicitud_id = s.id
-    JOIN dia_bloque db on db.id = sd.dia_bloque_id
-    WHERE s.nuevo_espacio_id = :idEspacio
-    AND s.fecha_inicio = :fechaInicio
-    AND s.fecha_fin = :fechaFin
+    @Query("""
+    SELECT s FROM SolicitudCambioAula s
+    WHERE s.nuevoEspacio.id = :idEspacio
+    AND s.fechaInicio = :fechaInicio
+    AND s.fechaFin = :fechaFin
     AND s.estado = :estadoSolicitud
-    AND db.dia IN :dias
-    AND db.bloque_horario IN :bloques
-    """, nativeQuery = true)
+    AND bitand(s.mascaraHorario, :mascara) <> 0
+    """)
     List<SolicitudCambioAula> find(@Param("idEspacio") Integer idEspacio,
                                    @Param("fechaInicio") LocalDate fechaInicio,
                                    @Param("fechaFin") LocalDate fechaFin,
                                    @Param("estadoSolicitud") EstadoSolicitud estadoSolicitud,
-                                   @Param("dias") List<String> dias,
-                                   @Param("bloques") List<String> bloques
+                                   @Param("mascara") long mascara
     );
+
+    // Solicitudes guardadas antes de existir la máscara horaria
+    @EntityGraph(SolicitudCambioAula.GRAFO_VALIDACION)
+    List<SolicitudCambioAula> findByMascaraHorario(long mascaraHorario);
 }
@@ -2,6 +2,8 @@ package org.example.repository;
 
 import org.example.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -13,5 +15,10 @@ import java.util.Optional;
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Integer> {
    Optional<Usuario> findByUsername(String username);
+
+   // Trae en una sola consulta todo lo que necesita la sesión: rol, permisos y profesor
+   @Query("SELECT u FROM Usuario u JOIN FETCH u.rol r LEFT JOIN FETCH r.permisos " +
+           "LEFT JOIN FETCH u.profesor WHERE u.username = :username")
+   Optional<Usuario> findConRolByUsername(@Param("username") String username);
 }
 
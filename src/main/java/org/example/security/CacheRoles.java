@@ -0,0 +1,55 @@
+package org.example.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.service.RolService;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caché de los permisos compilados de cada rol
+ * Se carga al iniciar la aplicación y se reemplaza entera cuando cambian los roles, así verificar un permiso
+ * no consulta la base de datos
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheRoles {
+    private final RolService rolService;
+
+    private volatile Map<Integer, PermisosRol> roles = Map.of();
+
+    /**
+     * Vuelve a compilar los permisos de todos los roles
+     * Se debe llamar después de crear, modificar o eliminar roles
+     */
+    public void refrescar() {
+        roles = rolService.listar().stream()
+                .map(PermisosRol::de)
+                .collect(Collectors.toUnmodifiableMap(PermisosRol::idRol, Function.identity()));
+        log.info("Caché de roles: {} roles cargados", roles.size());
+    }
+
+    /**
+     * Obtiene los permisos compilados de un rol
+     * Si el rol no está (por ejemplo, se creó después de la última carga) se recarga la caché una vez
+     * @param idRol ID del rol
+     * @return Optional<PermisosRol> vacío si el rol no existe
+     */
+    public Optional<PermisosRol> obtener(Integer idRol) {
+        var permisos = roles.get(idRol);
+        if (permisos == null) {
+            synchronized (this) {
+                if (!roles.containsKey(idRol)) {
+                    refrescar();
+                }
+            }
+            permisos = roles.get(idRol);
+        }
+        return Optional.ofNullable(permisos);
+    }
+}
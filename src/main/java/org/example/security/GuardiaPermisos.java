@@ -0,0 +1,32 @@
+package org.example.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.example.exception.ForbiddenException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspecto que verifica {@link RequierePermiso} contra el usuario de la sesión
+ * Usa los permisos compilados de la caché de roles: es una comparación de bits, sin consultar la base de datos
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class GuardiaPermisos {
+    private final SesionActual sesionActual;
+    private final Seguridad seguridad;
+
+    @Before("@annotation(requierePermiso)")
+    public void verificar(JoinPoint joinPoint, RequierePermiso requierePermiso) {
+        var usuario = sesionActual.getUsuario();
+        if (usuario == null || !seguridad.verificarPermiso(usuario, requierePermiso.value())) {
+            log.warn("Acceso denegado a {} para {}: falta el permiso {}", joinPoint.getSignature().toShortString(),
+                    usuario == null ? "sin sesión" : usuario.getUsername(), requierePermiso.value());
+            throw new ForbiddenException("No tiene permisos para realizar esta acción.");
+        }
+    }
+}
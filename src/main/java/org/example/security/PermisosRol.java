@@ -0,0 +1,52 @@
+package org.example.security;
+
+import org.example.enums.Permisos;
+import org.example.model.Rol;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Foto inmutable de los permisos de un rol, compilada a una máscara de bits (un bit por permiso)
+ * @param idRol ID del rol
+ * @param nombre del rol
+ * @param mascara bit {@code ordinal()} encendido por cada permiso del rol
+ */
+public record PermisosRol(Integer idRol, String nombre, long mascara) {
+
+    /**
+     * Compila los permisos de un rol
+     * @param rol con sus permisos cargados
+     * @return PermisosRol del rol
+     */
+    public static PermisosRol de(Rol rol) {
+        long mascara = 0;
+        for (var permiso : rol.getPermisos()) {
+            mascara |= bit(permiso);
+        }
+        return new PermisosRol(rol.getId(), rol.getNombre(), mascara);
+    }
+
+    public boolean tiene(Permisos permiso) {
+        return (mascara & bit(permiso)) != 0;
+    }
+
+    /**
+     * Permisos del rol
+     * @return Set<Permisos> no modificable
+     */
+    public Set<Permisos> permisos() {
+        var permisos = EnumSet.noneOf(Permisos.class);
+        for (var permiso : Permisos.values()) {
+            if (tiene(permiso)) {
+                permisos.add(permiso);
+            }
+        }
+        return Collections.unmodifiableSet(permisos);
+    }
+
+    private static long bit(Permisos permiso) {
+        return 1L << permiso.ordinal();
+    }
+}
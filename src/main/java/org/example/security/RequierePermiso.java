@@ -0,0 +1,16 @@
+package org.example.security;
+
+import org.example.enums.Permisos;
+
+import java.lang.annotation.*;
+
+/**
+ * Marca un método de servicio que solo puede ejecutar un usuario de la sesión con el permiso indicado
+ * Lo verifica {@link GuardiaPermisos} antes de entrar al método
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequierePermiso {
+    Permisos value();
+}
@@ -5,49 +5,106 @@ import org.example.enums.Permisos;
 import org.example.model.Usuario;
 import org.example.service.UsuarioService;
 import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.naming.AuthenticationException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Clase de seguridad de la app
  * Se encarga del inicio de Sesión y de validar permisos
  */
 @Component
-public class Seguridad {
+public class Seguridad implements DisposableBean {
+    private static final String CREDENCIALES_INCORRECTAS = "Usuario o contraseña incorrecto.";
+    // Hash con el costo por defecto, se verifica contra él cuando el usuario no existe para tardar lo mismo
+    private static final String HASH_FICTICIO = BCrypt.hashpw("", BCrypt.gensalt());
+    private static final int HILOS = 2;
+    private static final int INTENTOS_EN_ESPERA = 16;
+
     private final UsuarioService usuarioService;
+    private final CacheRoles cacheRoles;
+    private final ExecutorService ejecutorLogin;
 
     @Autowired
-    public Seguridad(UsuarioService usuarioService) {
+    public Seguridad(UsuarioService usuarioService, CacheRoles cacheRoles) {
         this.usuarioService = usuarioService;
+        this.cacheRoles = cacheRoles;
+
+        // Ejecutor acotado para BCrypt, fuera del hilo de JavaFX
+        var contador = new AtomicInteger();
+        this.ejecutorLogin = new ThreadPoolExecutor(HILOS, HILOS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(INTENTOS_EN_ESPERA),
+                r -> {
+                    var hilo = new Thread(r, "login-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
     }
 
     /**
      * Iniciar sesión
+     * Busca el usuario por username y siempre verifica un hash, exista o no, así el tiempo no delata
+     * qué usuarios existen
      * @param username nombre de usuario
      * @param password contraseña
-     * @return Usuario que inicia sesión
+     * @return Usuario que inicia sesión, con su rol y permisos cargados
      * @throws AuthenticationException si el username o password son incorrectos
      */
     public Usuario autenticar(String username, String password) throws AuthenticationException {
-        //Verificamos si existe un usuario con ese username y password a través de un stream
-        return usuarioService.listar().stream()
-                .filter(usuario -> usuario.getUsername().equals(username) &&
-                        BCrypt.checkpw(password, usuario.getPassword())) // decodifico la contraseña para validar
-                .findFirst()
-                .orElseThrow(() -> new AuthenticationException("Usuario o contraseña incorrecto."));
+        var usuario = usuarioService.buscarPorUsername(username);
+        var hash = usuario.map(Usuario::getPassword).orElse(HASH_FICTICIO);
+
+        // decodifico la contraseña para validar
+        var passwordCorrecto = BCrypt.checkpw(password, hash);
+        if (usuario.isEmpty() || !passwordCorrecto) {
+            throw new AuthenticationException(CREDENCIALES_INCORRECTAS);
+        }
+        return usuario.get();
+    }
+
+    /**
+     * Iniciar sesión sin bloquear el hilo que llama
+     * @param username nombre de usuario
+     * @param password contraseña
+     * @return CompletableFuture<Usuario> que falla con AuthenticationException si las credenciales son incorrectas
+     * o si hay demasiados intentos en espera
+     */
+    public CompletableFuture<Usuario> autenticarAsync(String username, String password) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return autenticar(username, password);
+                } catch (AuthenticationException e) {
+                    throw new CompletionException(e);
+                }
+            }, ejecutorLogin);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new AuthenticationException("Hay demasiados intentos de inicio de sesión, intente nuevamente."));
+        }
     }
 
     /**
      * Validar permisos del usuario
+     * Usa los permisos compilados del rol en caché, no consulta la base de datos
      * @param usuario usuario que quiere realizar una acción
      * @param permisos enum que indica que es lo que quiere hacer el usuario
      * @return boolean que indica si tiene permisos o no
      */
     public boolean verificarPermiso(Usuario usuario, Permisos permisos) {
         //devuelve si el usuario tiene permiso según su Rol
-        return usuario.getRol().tienePermiso(permisos);
+        return cacheRoles.obtener(usuario.getRol().getId())
+                .map(rol -> rol.tiene(permisos))
+                .orElse(false);
     }
-}
 
+    @Override
+    public void destroy() {
+        ejecutorLogin.shutdownNow();
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.enums.BloqueHorario;
+import org.example.enums.EstadoSolicitud;
+import org.example.model.*;
+import org.example.repository.EspacioBaseRepository;
+import org.example.repository.SolicitudCambioAulaRepository;
+import org.example.utils.Utils;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asigna espacios a muchos pedidos de reserva a la vez (por ejemplo, todo un cuatrimestre)
+ * Trabaja sobre un modelo en memoria: cada pedido es un bitmap de slots (fecha × bloque horario).
+ * Los pedidos que no comparten ningún slot no compiten por los espacios, así que se agrupan en componentes
+ * independientes que se resuelven en paralelo. Dentro de cada componente se asigna primero el pedido más
+ * restringido y se elige el espacio más chico que alcance (best fit), para desperdiciar la menor capacidad.
+ * Además de las reservas guardadas se respetan los espacios destino de las solicitudes de cambio pendientes
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsignadorEspacios {
+    private static final int BLOQUES = BloqueHorario.values().length;
+    private static final Sort POR_CAPACIDAD = Sort.by("capacidad", "numero");
+
+    private final EspacioBaseRepository<Espacio> espacioBaseRepository;
+    private final IndiceOcupacion indiceOcupacion;
+    private final SolicitudCambioAulaRepository solicitudRepository;
+
+    /**
+     * Pedido de reserva sin espacio
+     * @param inscripcion con su asignatura cargada
+     * @param fechaInicio del período
+     * @param fechaFin del período
+     * @param diasYBloques que se necesitan
+     */
+    public record Pedido(Inscripcion inscripcion, LocalDate fechaInicio, LocalDate fechaFin,
+                         Set<DiaBloque> diasYBloques) {}
+
+    private record Nodo(int indice, int requeridos, long mascara, BitSet slots, List<Espacio> candidatos) {}
+
+    /**
+     * Asigna un espacio a cada pedido respetando las reservas guardadas, las solicitudes pendientes y las fijas
+     * @param pedidos que necesitan espacio
+     * @param fijas reservas todavía no guardadas que ya tienen espacio (solo se usa el ID del espacio)
+     * @return Map<Integer, Espacio> espacio asignado según la posición del pedido, los pedidos sin lugar no aparecen
+     */
+    public Map<Integer, Espacio> asignar(List<Pedido> pedidos, List<Reserva> fijas) {
+        if (pedidos.isEmpty()) {
+            return Map.of();
+        }
+
+        var origen = pedidos.stream().map(Pedido::fechaInicio).min(LocalDate::compareTo).orElseThrow();
+        var espacios = espacioBaseRepository.findAll(POR_CAPACIDAD);
+
+        List<Nodo> nodos = new ArrayList<>(pedidos.size());
+        for (int i = 0; i < pedidos.size(); i++) {
+            var pedido = pedidos.get(i);
+            var requeridos = Utils.alumnosRequeridos(pedido.inscripcion());
+            var requiereLaboratorio = pedido.inscripcion().getAsignatura().isRequiereLaboratorio();
+            var ocupados = indiceOcupacion.obtenerEspaciosOcupados(pedido.fechaInicio(), pedido.fechaFin(),
+                    pedido.diasYBloques());
+
+            var candidatos = espacios.stream()
+                    .filter(e -> e.getCapacidad() >= requeridos)
+                    .filter(e -> !requiereLaboratorio || e instanceof Laboratorio)
+                    .filter(e -> !ocupados.contains(e.getId()))
+                    .toList();
+            nodos.add(new Nodo(i, requeridos, DiaBloque.mascara(pedido.diasYBloques()),
+                    calcularSlots(origen, pedido.fechaInicio(), pedido.fechaFin(), pedido.diasYBloques()), candidatos));
+        }
+
+        Map<Integer, BitSet> slotsFijos = new HashMap<>();
+        for (var reserva : fijas) {
+            ocupar(slotsFijos, origen, reserva.getEspacio().getId(), reserva.getFechaInicio(),
+                    reserva.getFechaFin(), reserva.getDiasYBloques());
+        }
+        // Si se aprueba una solicitud pendiente su espacio destino queda ocupado, no se lo damos a otro pedido
+        for (var solicitud : solicitudRepository.findConHorarioByEstado(EstadoSolicitud.PENDIENTE)) {
+            ocupar(slotsFijos, origen, solicitud.getNuevoEspacio().getId(), solicitud.getFechaInicio(),
+                    solicitud.getFechaFin(), solicitud.getDiasYBloques());
+        }
+
+        var componentes = agrupar(nodos);
+        Map<Integer, Espacio> asignados = new ConcurrentHashMap<>();
+        componentes.parallelStream().forEach(componente -> resolver(componente, slotsFijos, asignados));
+
+        log.info("Asignación de espacios: {} de {} pedidos en {} componentes",
+                asignados.size(), pedidos.size(), componentes.size());
+        return asignados;
+    }
+
+    /**
+     * Asigna los espacios de un componente, del pedido con menos candidatos al que tiene más
+     * y, a igual cantidad, del que necesita más lugares al que necesita menos
+     */
+    private void resolver(List<Nodo> componente, Map<Integer, BitSet> slotsFijos, Map<Integer, Espacio> asignados) {
+        var orden = new ArrayList<>(componente);
+        orden.sort(Comparator.comparingInt((Nodo n) -> n.candidatos().size())
+                .thenComparing(Comparator.comparingInt(Nodo::requeridos).reversed()));
+
+        Map<Integer, BitSet> usados = new HashMap<>();
+        for (var nodo : orden) {
+            for (var espacio : nodo.candidatos()) {
+                var fijos = slotsFijos.get(espacio.getId());
+                var ocupados = usados.get(espacio.getId());
+                if ((fijos != null && fijos.intersects(nodo.slots()))
+                        || (ocupados != null && ocupados.intersects(nodo.slots()))) {
+                    continue;
+                }
+                usados.computeIfAbsent(espacio.getId(), id -> new BitSet()).or(nodo.slots());
+                asignados.put(nodo.indice(), espacio);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Agrupa los pedidos que comparten algún slot (union-find)
+     * @param nodos a agrupar
+     * @return List<List<Nodo>> componentes independientes
+     */
+    private List<List<Nodo>> agrupar(List<Nodo> nodos) {
+        int[] padre = new int[nodos.size()];
+        for (int i = 0; i < padre.length; i++) {
+            padre[i] = i;
+        }
+
+        for (int i = 0; i < nodos.size(); i++) {
+            for (int j = i + 1; j < nodos.size(); j++) {
+                var a = nodos.get(i);
+                var b = nodos.get(j);
+                // La máscara descarta rápido los pares que no comparten ningún día y bloque
+                if ((a.mascara() & b.mascara()) != 0 && a.slots().intersects(b.slots())) {
+                    padre[raiz(padre, i)] = raiz(padre, j);
+                }
+            }
+        }
+
+        Map<Integer, List<Nodo>> componentes = new HashMap<>();
+        for (int i = 0; i < nodos.size(); i++) {
+            componentes.computeIfAbsent(raiz(padre, i), r -> new ArrayList<>()).add(nodos.get(i));
+        }
+        return new ArrayList<>(componentes.values());
+    }
+
+    private int raiz(int[] padre, int i) {
+        while (padre[i] != i) {
+            padre[i] = padre[padre[i]];
+            i = padre[i];
+        }
+        return i;
+    }
+
+    /**
+     * Marca como ocupados los slots de un período en un espacio, desde el origen en adelante
+     */
+    private void ocupar(Map<Integer, BitSet> slots, LocalDate origen, Integer idEspacio,
+                        LocalDate fechaInicio, LocalDate fechaFin, Set<DiaBloque> diasYBloques) {
+        if (fechaFin.isBefore(origen)) {
+            return;
+        }
+        var desde = fechaInicio.isBefore(origen) ? origen : fechaInicio;
+        slots.computeIfAbsent(idEspacio, id -> new BitSet())
+                .or(calcularSlots(origen, desde, fechaFin, diasYBloques));
+    }
+
+    /**
+     * Arma el bitmap de slots de un período, contando los días desde el origen
+     */
+    private BitSet calcularSlots(LocalDate origen, LocalDate fechaInicio, LocalDate fechaFin, Set<DiaBloque> diasYBloques) {
+        Map<DayOfWeek, List<BloqueHorario>> bloquesPorDia = new EnumMap<>(DayOfWeek.class);
+        diasYBloques.forEach(db -> bloquesPorDia
+                .computeIfAbsent(db.getDia(), d -> new ArrayList<>())
+                .add(db.getBloqueHorario()));
+
+        var slots = new BitSet();
+        for (var fecha = fechaInicio; !fecha.isAfter(fechaFin); fecha = fecha.plusDays(1)) {
+            var bloques = bloquesPorDia.get(fecha.getDayOfWeek());
+            if (bloques == null) {
+                continue;
+            }
+            int base = (int) ChronoUnit.DAYS.between(origen, fecha) * BLOQUES;
+            for (var bloque : bloques) {
+                slots.set(base + bloque.ordinal());
+            }
+        }
+        return slots;
+    }
+}
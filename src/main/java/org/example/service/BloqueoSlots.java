@@ -0,0 +1,103 @@
+package org.example.service;
+
+import org.example.enums.BloqueHorario;
+import org.example.exception.ConflictException;
+import org.example.model.DiaBloque;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloqueos por franjas sobre los slots (espacio × slot semanal) que se quieren reservar
+ * Solo se serializan las escrituras que tocan los mismos slots, las reservas de espacios distintos
+ * corren en paralelo. Los bloqueos se liberan al terminar la transacción, después del commit
+ */
+@Component
+public class BloqueoSlots {
+    private static final int SLOTS_SEMANALES = DayOfWeek.values().length * BloqueHorario.values().length;
+    private static final int FRANJAS = 1024;
+    private static final long ESPERA_SEGUNDOS = 10;
+
+    private final ReentrantLock[] franjas = new ReentrantLock[FRANJAS];
+
+    public BloqueoSlots() {
+        for (int i = 0; i < FRANJAS; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Bloquea los slots de un espacio hasta que termine la transacción actual
+     * @param idEspacio del espacio que se quiere reservar
+     * @param diasYBloques que se quieren ocupar
+     * @throws ConflictException si otro usuario mantiene ocupados esos slots demasiado tiempo
+     * @throws IllegalStateException si no hay una transacción activa
+     */
+    public void bloquear(Integer idEspacio, Set<DiaBloque> diasYBloques) throws ConflictException {
+        bloquear(Map.of(idEspacio, diasYBloques));
+    }
+
+    /**
+     * Bloquea los slots de varios espacios hasta que termine la transacción actual
+     * Las franjas se toman siempre en orden ascendente para evitar interbloqueos
+     * @param slotsPorEspacio días y bloques que se quieren ocupar en cada espacio
+     * @throws ConflictException si otro usuario mantiene ocupados esos slots demasiado tiempo
+     * @throws IllegalStateException si no hay una transacción activa
+     */
+    public void bloquear(Map<Integer, Set<DiaBloque>> slotsPorEspacio) throws ConflictException {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("El bloqueo de slots requiere una transacción activa");
+        }
+
+        var indices = slotsPorEspacio.entrySet().stream()
+                .flatMapToInt(e -> e.getValue().stream().mapToInt(db -> franja(e.getKey(), db.getSlotSemanal())))
+                .distinct()
+                .sorted()
+                .toArray();
+
+        List<ReentrantLock> tomados = new ArrayList<>(indices.length);
+        try {
+            for (var indice : indices) {
+                var bloqueo = franjas[indice];
+                if (!bloqueo.tryLock(ESPERA_SEGUNDOS, TimeUnit.SECONDS)) {
+                    throw new ConflictException(String.format(
+                            "El aula %s se está reservando en este momento, intente nuevamente.",
+                            slotsPorEspacio.size() == 1 ? slotsPorEspacio.keySet().iterator().next() : "elegida"));
+                }
+                tomados.add(bloqueo);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            liberar(tomados);
+            throw new ConflictException("Se interrumpió la reserva, intente nuevamente.");
+        } catch (ConflictException e) {
+            liberar(tomados);
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                liberar(tomados);
+            }
+        });
+    }
+
+    private int franja(Integer idEspacio, int slotSemanal) {
+        return Math.floorMod(idEspacio * SLOTS_SEMANALES + slotSemanal, FRANJAS);
+    }
+
+    private void liberar(List<ReentrantLock> tomados) {
+        for (int i = tomados.size() - 1; i >= 0; i--) {
+            tomados.get(i).unlock();
+        }
+    }
+}
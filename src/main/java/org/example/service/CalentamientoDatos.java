@@ -0,0 +1,81 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.security.CacheRoles;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Completa los datos guardados con versiones anteriores y carga los datos de referencia al terminar el arranque
+ * Las ocurrencias y las máscaras horarias son las que usan los controles de superposición: se completan antes
+ * de que se abra la pantalla de inicio, si faltaran se aceptarían reservas y solicitudes superpuestas. Se completan
+ * de a uno porque escriben las mismas filas de reservas (en paralelo se bloqueaban entre sí). Si alguno falla la
+ * aplicación no arranca.
+ * La caché de roles y el índice de ocupación se cargan después, en paralelo y fuera del hilo que levanta la
+ * aplicación: la caché se recarga sola si le falta un rol y el índice consulta la base de datos hasta estar
+ * construido. El catálogo de días y bloques se carga aparte ({@link DiaBloqueService#cargar()})
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CalentamientoDatos {
+    private final CacheRoles cacheRoles;
+    private final IndiceOcupacion indiceOcupacion;
+    private final ReservaService reservaService;
+    private final SolicitudCambioAulaService solicitudCambioAulaService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void calentar() {
+        Map<String, Runnable> completados = new LinkedHashMap<>();
+        completados.put("máscaras horarias de reservas", reservaService::completarMascarasHorarias);
+        completados.put("máscaras horarias de solicitudes", solicitudCambioAulaService::completarMascarasHorarias);
+        completados.put("ocurrencias de reservas", reservaService::completarOcurrencias);
+
+        Map<String, Runnable> cargas = new LinkedHashMap<>();
+        cargas.put("caché de roles", cacheRoles::refrescar);
+        cargas.put("índice de ocupación", indiceOcupacion::construir);
+
+        completar(completados);
+        Thread.ofVirtual().name("calentamiento").start(() -> {
+            long inicio = System.nanoTime();
+            // close() espera a que terminen todas
+            try (var ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+                cargas.forEach((nombre, tarea) -> ejecutor.submit(() -> correr(nombre, tarea)));
+            }
+            log.info("Datos de referencia listos en {} ms", (System.nanoTime() - inicio) / 1_000_000);
+        });
+    }
+
+    /**
+     * Corre los completados en orden, cada uno en su transacción
+     * @throws IllegalStateException si alguno falla
+     */
+    private void completar(Map<String, Runnable> completados) {
+        long inicio = System.nanoTime();
+        completados.forEach((nombre, tarea) -> {
+            try {
+                tarea.run();
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("No se pudo completar " + nombre, e);
+            }
+        });
+        log.info("Datos guardados completados en {} ms", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private void correr(String nombre, Runnable tarea) {
+        long inicio = System.nanoTime();
+        try {
+            tarea.run();
+            log.debug("Calentamiento de {}: {} ms", nombre, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("No se pudo completar el calentamiento de {}", nombre, e);
+        }
+    }
+}
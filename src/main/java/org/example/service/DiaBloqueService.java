@@ -1,27 +1,91 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.example.enums.BloqueHorario;
 import org.example.exception.NotFoundException;
 import org.example.model.DiaBloque;
 import org.example.repository.DiaBloqueRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
+import java.util.*;
 
+/**
+ * Registro de los días y bloques horarios
+ * El catálogo es una grilla fija de 7 días × 6 bloques, se carga y valida una sola vez al iniciar
+ * y después se resuelve siempre en memoria con las instancias persistidas
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DiaBloqueService {
     private final DiaBloqueRepository diaBloqueRepository;
 
+    private Map<DayOfWeek, Map<BloqueHorario, DiaBloque>> registro;
+
+    /**
+     * Carga el catálogo de la base de datos, creando los días y bloques que falten
+     * @throws IllegalStateException si hay días y bloques duplicados en la base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        Map<DayOfWeek, Map<BloqueHorario, DiaBloque>> grilla = new EnumMap<>(DayOfWeek.class);
+        for (var diaBloque : diaBloqueRepository.findAll()) {
+            var bloques = grilla.computeIfAbsent(diaBloque.getDia(), d -> new EnumMap<>(BloqueHorario.class));
+            if (bloques.putIfAbsent(diaBloque.getBloqueHorario(), diaBloque) != null) {
+                throw new IllegalStateException("Día y bloque horario duplicado: " + diaBloque);
+            }
+        }
+
+        List<DiaBloque> faltantes = new ArrayList<>();
+        for (var dia : DayOfWeek.values()) {
+            for (var bloque : BloqueHorario.values()) {
+                if (!grilla.getOrDefault(dia, Map.of()).containsKey(bloque)) {
+                    faltantes.add(new DiaBloque(bloque, dia));
+                }
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            for (var diaBloque : diaBloqueRepository.saveAll(faltantes)) {
+                grilla.computeIfAbsent(diaBloque.getDia(), d -> new EnumMap<>(BloqueHorario.class))
+                        .put(diaBloque.getBloqueHorario(), diaBloque);
+            }
+            log.info("Se crearon {} días y bloques horarios faltantes", faltantes.size());
+        }
+
+        grilla.replaceAll((dia, bloques) -> Collections.unmodifiableMap(bloques));
+        registro = Collections.unmodifiableMap(grilla);
+    }
+
     /**
      * Busca un diaBloque por Dia y bloqueHorario
      * @param bloqueHorario bloqueHorario
      * @param dia dia
-     * @return Optional<DiaBloque>
+     * @return DiaBloque persistido
+     * @throws NotFoundException si el día y bloque no está en el catálogo
      */
     public DiaBloque buscarPorDiaYBloque(BloqueHorario bloqueHorario, DayOfWeek dia) throws NotFoundException {
-        return diaBloqueRepository.findByBloqueHorarioAndDia(bloqueHorario, dia)
-                .orElseThrow(() -> new NotFoundException("No se encontró el día y bloque horario"));
+        var bloques = registro.get(dia);
+        if (bloques == null || !bloques.containsKey(bloqueHorario)) {
+            throw new NotFoundException("No se encontró el día y bloque horario");
+        }
+        return bloques.get(bloqueHorario);
+    }
+
+    /**
+     * Reemplaza un conjunto de días y bloques por sus instancias persistidas
+     * @param diasYBloques seleccionados, pueden no estar persistidos
+     * @return Set<DiaBloque> persistidos
+     * @throws NotFoundException si alguno no está en el catálogo
+     */
+    public Set<DiaBloque> resolver(Set<DiaBloque> diasYBloques) throws NotFoundException {
+        Set<DiaBloque> resueltos = new HashSet<>();
+        for (var diaBloque : diasYBloques) {
+            resueltos.add(buscarPorDiaYBloque(diaBloque.getBloqueHorario(), diaBloque.getDia()));
+        }
+        return resueltos;
     }
 }
@@ -0,0 +1,186 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.DiaBloque;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caché de los resultados de las búsquedas de espacios disponibles con filtros, las que resuelve la base de datos
+ * Se limita por cantidad de entradas (se descarta la usada hace más tiempo) y por tiempo de vida.
+ * Un cambio en las reservas solo invalida las búsquedas cuyo rango de fecha y días/bloques se superponen.
+ * Los resultados se comparten entre todos los que hacen la misma búsqueda, así que tienen que ser inmutables
+ * (IDs, no entidades)
+ */
+@Slf4j
+@Component
+public class DisponibilidadCache {
+    private final int tamanioMaximo;
+    private final Duration tiempoDeVida;
+    private final Map<Consulta, Entrada> entradas;
+    // Sube con cada invalidación, protegida por el lock de entradas: un resultado que se calculó
+    // mientras tanto puede ser anterior al cambio y no se guarda
+    private long generacion;
+
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    /**
+     * Parámetros normalizados de una búsqueda, los días y bloques se guardan como máscara horaria
+     * @param tipo de espacio buscado (aula o laboratorio)
+     * @param computadoras mínimas, puede ser null
+     * @param capacidad mínima, puede ser null
+     * @param tieneProyector filtro de proyector, puede ser null
+     * @param tieneTV filtro de TV, puede ser null
+     * @param fechaInicio del rango de fecha
+     * @param fechaFin del rango de fecha
+     * @param mascara horaria de los días y bloques
+     * @param pagina pedida, Pageable.unpaged() si se pide la lista completa
+     */
+    public record Consulta(String tipo, Integer computadoras, Integer capacidad, Boolean tieneProyector,
+                           Boolean tieneTV, LocalDate fechaInicio, LocalDate fechaFin, long mascara,
+                           Pageable pagina) {
+
+        public Consulta(String tipo, Integer computadoras, Integer capacidad, Boolean tieneProyector,
+                        Boolean tieneTV, LocalDate fechaInicio, LocalDate fechaFin, Set<DiaBloque> diasYBloques,
+                        Pageable pagina) {
+            this(tipo, computadoras, capacidad, tieneProyector, tieneTV, fechaInicio, fechaFin,
+                    DiaBloque.mascara(diasYBloques), pagina);
+        }
+
+        private boolean seSuperpone(LocalDate inicio, LocalDate fin, long otraMascara) {
+            return !fechaInicio.isAfter(fin) && !fechaFin.isBefore(inicio) && (mascara & otraMascara) != 0;
+        }
+    }
+
+    /**
+     * Aciertos, fallos e invalidaciones acumulados y cantidad de entradas actuales
+     */
+    public record Estadisticas(long aciertos, long fallos, long invalidaciones, int entradas) {
+        public double tasaAciertos() {
+            var total = aciertos + fallos;
+            return total == 0 ? 0 : (double) aciertos / total;
+        }
+    }
+
+    private record Entrada(Object valor, long creada) {}
+
+    public DisponibilidadCache(@Value("${disponibilidad.cache.tamanio:500}") int tamanioMaximo,
+                               @Value("${disponibilidad.cache.ttl:PT5M}") Duration tiempoDeVida) {
+        this.tamanioMaximo = tamanioMaximo;
+        this.tiempoDeVida = tiempoDeVida;
+        // LinkedHashMap en orden de acceso: la primera entrada es la usada hace más tiempo
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Consulta, Entrada> eldest) {
+                return size() > DisponibilidadCache.this.tamanioMaximo;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el resultado guardado de la búsqueda o lo calcula y lo guarda
+     * El cálculo corre fuera del lock; si mientras tanto hubo una invalidación el resultado se devuelve
+     * pero no se guarda
+     * @param consulta parámetros de la búsqueda
+     * @param cargar calcula el resultado si no está en caché, tiene que devolver un valor inmutable
+     * @return T resultado de la búsqueda
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obtener(Consulta consulta, Supplier<T> cargar) {
+        long generacionInicial;
+        synchronized (entradas) {
+            var entrada = entradas.get(consulta);
+            if (entrada != null && !vencida(entrada)) {
+                aciertos.incrementAndGet();
+                return (T) entrada.valor();
+            }
+            if (entrada != null) {
+                entradas.remove(consulta);
+            }
+            generacionInicial = generacion;
+        }
+
+        fallos.incrementAndGet();
+        var valor = cargar.get();
+        synchronized (entradas) {
+            if (generacion == generacionInicial) {
+                entradas.put(consulta, new Entrada(valor, System.nanoTime()));
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Invalida las búsquedas que se superponen con una reserva creada, modificada o eliminada
+     * Dentro de una transacción se vuelve a invalidar después del commit, por si una búsqueda concurrente
+     * guardó el estado anterior mientras tanto
+     * @param fechaInicio de la reserva
+     * @param fechaFin de la reserva
+     * @param mascara horaria de la reserva
+     */
+    public void invalidar(LocalDate fechaInicio, LocalDate fechaFin, long mascara) {
+        quitarSuperpuestas(fechaInicio, fechaFin, mascara);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    quitarSuperpuestas(fechaInicio, fechaFin, mascara);
+                }
+            });
+        }
+    }
+
+    /**
+     * Vacía la caché, para cambios que afectan a todas las búsquedas (alta o baja de espacios, importaciones)
+     */
+    public void invalidarTodo() {
+        synchronized (entradas) {
+            generacion++;
+            invalidaciones.addAndGet(entradas.size());
+            entradas.clear();
+        }
+    }
+
+    /**
+     * Obtiene las métricas de la caché
+     * @return Estadisticas actuales
+     */
+    public Estadisticas estadisticas() {
+        synchronized (entradas) {
+            return new Estadisticas(aciertos.get(), fallos.get(), invalidaciones.get(), entradas.size());
+        }
+    }
+
+    private void quitarSuperpuestas(LocalDate fechaInicio, LocalDate fechaFin, long mascara) {
+        int quitadas = 0;
+        synchronized (entradas) {
+            generacion++;
+            var it = entradas.keySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().seSuperpone(fechaInicio, fechaFin, mascara)) {
+                    it.remove();
+                    quitadas++;
+                }
+            }
+        }
+        invalidaciones.addAndGet(quitadas);
+        log.debug("Caché de disponibilidad: {} búsquedas invalidadas, {}", quitadas, estadisticas());
+    }
+
+    private boolean vencida(Entrada entrada) {
+        return System.nanoTime() - entrada.creada() > tiempoDeVida.toNanos();
+    }
+}
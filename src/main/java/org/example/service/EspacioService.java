@@ -1,19 +1,29 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.enums.Permisos;
 import org.example.exception.BadRequestException;
 import org.example.exception.NotFoundException;
 import org.example.model.*;
-import org.example.repository.AulaRepository;
-import org.example.repository.EspacioBaseRepository;
-import org.example.repository.LaboratorioRepository;
-import org.example.repository.ReservaRepository;
+import org.example.repository.*;
+import org.example.security.RequierePermiso;
+import org.example.utils.Utils;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 
 /**
@@ -23,10 +33,20 @@ import java.util.Set;
 @Service
 @RequiredArgsConstructor
 public class EspacioService {
+    // Primero los espacios más chicos que cumplen, así se desperdicia menos capacidad
+    private static final Sort ORDEN = Sort.by("capacidad", "numero");
+    private static final Sort POR_NUMERO = Sort.by("numero");
     private final EspacioBaseRepository<Espacio> espacioBaseRepository;
     private final AulaRepository aulaRepository;
     private final LaboratorioRepository laboratorioRepository;
     private final ReservaRepository reservaRepository;
+    private final IndiceOcupacion indiceOcupacion;
+    private final DisponibilidadCache disponibilidadCache;
+
+    /**
+     * Página de una búsqueda guardada en caché: solo los ID de los espacios y el total
+     */
+    private record PaginaIds(List<Integer> ids, long total) {}
 
     /**
      * Lista todas las aulas
@@ -36,17 +56,28 @@ public class EspacioService {
         return espacioBaseRepository.findAll();
     }
 
+    /**
+     * Lista una página de espacios, por defecto ordenados por número
+     * @param pagina número y tamaño de la página a traer
+     * @return Page<Espacio>
+     */
+    public Page<Espacio> listar(Pageable pagina) {
+        return espacioBaseRepository.findAll(Utils.ordenar(pagina, POR_NUMERO));
+    }
+
     /**
      * Guarda un espacio
      * @param espacio que queremos guarde
      * @throws BadRequestException sí existe un espacio con ese código
      */
+    @RequierePermiso(Permisos.CREAR_ESPACIO)
     public void guardar(Espacio espacio) throws BadRequestException {
         try {
             espacioBaseRepository.save(espacio);
         } catch (DataIntegrityViolationException e) {
             throw new BadRequestException(String.format("Ya existe un aula o laboratorio con el número %s", espacio.getNumero()));
         }
+        disponibilidadCache.invalidarTodo();
     }
 
     /**
@@ -55,15 +86,17 @@ public class EspacioService {
      * @throws NotFoundException si no se encuentra un espacio con ese número
      * @throws BadRequestException si el espacio tiene reservas no se puede eliminar
      */
+    @RequierePermiso(Permisos.ELIMINAR_ESPACIO)
     public void eliminar(Integer id) throws NotFoundException, BadRequestException {
         var espacio = espacioBaseRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("No existe el espacio"));
 
-        if (!reservaRepository.findReservaByEspacio(espacio).isEmpty()) {
+        if (reservaRepository.existsByEspacio(espacio)) {
             throw new BadRequestException("No se puede eliminar el espacio porque tiene reservas");
         }
 
         espacioBaseRepository.deleteById(id);
+        disponibilidadCache.invalidarTodo();
     }
 
     /**
@@ -83,6 +116,7 @@ public class EspacioService {
      * @param espacio modificada
      * @throws BadRequestException si ocurriera un error con la información
      */
+    @RequierePermiso(Permisos.MODIFICAR_ESPACIO)
     public void modificar(Espacio espacio) throws BadRequestException {
         if (!espacioBaseRepository.existsById(espacio.getId())) {
             throw new BadRequestException("No se encontró el espacio");
@@ -93,6 +127,7 @@ public class EspacioService {
         } catch (DataIntegrityViolationException e) {
             throw new BadRequestException("Ya existe un espacio con ese número");
         }
+        disponibilidadCache.invalidarTodo();
     }
 
 
@@ -107,6 +142,15 @@ public class EspacioService {
         return laboratorioRepository.findAll();
     }
 
+    /**
+     * Lista una página de laboratorios, por defecto ordenados por número
+     * @param pagina número y tamaño de la página a traer
+     * @return Page<Laboratorio>
+     */
+    public Page<Laboratorio> listarLaboratorios(Pageable pagina) {
+        return laboratorioRepository.findAll(Utils.ordenar(pagina, POR_NUMERO));
+    }
+
     /**
      * Filtra solo las Aulas estándar, excluyendo los Laboratorios.
      * @return List<Aula> paginación de aulas estándar (sin incluir laboratorios)
@@ -116,22 +160,12 @@ public class EspacioService {
     }
 
     /**
-     * Filtra para aplicar filtros en los espacios
-     * @param espacios la lista a filtrar
-     * @param capacidad mínima del espacio
-     * @param tieneProyector si tiene o no proyector
-     * @param tieneTV si tiene o no TV
-     * @param computadoras mínima del espacio (si aplica)
-     * @return <T extends Aula> List<T>  lista de espacios
-     * @param <T> si queremos utilizar Aula o Laboratorio
+     * Lista una página de aulas estándar, por defecto ordenadas por número
+     * @param pagina número y tamaño de la página a traer
+     * @return Page<Aula>
      */
-    private <T extends Espacio> List<T> filtrarEspacios(List<T> espacios, Integer capacidad, Boolean tieneProyector, Boolean tieneTV, Integer computadoras) {
-        return espacios.stream()
-                .filter(e -> capacidad == null || e.getCapacidad() >= capacidad)
-                .filter(e -> tieneProyector == null || e.isTieneProyector() == tieneProyector)
-                .filter(e -> tieneTV == null || e.isTieneTV() == tieneTV)
-                .filter(e -> computadoras == null || !(e instanceof Laboratorio) || ((Laboratorio) e).getComputadoras() >= computadoras)
-                .toList();
+    public Page<Aula> listarAulas(Pageable pagina) {
+        return aulaRepository.findAll(Utils.ordenar(pagina, POR_NUMERO));
     }
 
     /**
@@ -139,11 +173,11 @@ public class EspacioService {
      * @param fechaInicio del rango de fecha
      * @param fechaFin del rango de fecha
      * @param diasYBloques que queremos filtrar
-     * @return List<Integer> ids de las aulas ocupadas
+     * @return Set<Integer> ids de las aulas ocupadas
      */
-    private List<Integer> obtenerIdsEspaciosOcupados(LocalDate fechaInicio, LocalDate fechaFin,
-                                                     Set<DiaBloque> diasYBloques){
-        return reservaRepository.findEspaciosOcupadas(fechaInicio,fechaFin,diasYBloques);
+    private Set<Integer> obtenerIdsEspaciosOcupados(LocalDate fechaInicio, LocalDate fechaFin,
+                                                    Set<DiaBloque> diasYBloques){
+        return indiceOcupacion.obtenerEspaciosOcupados(fechaInicio,fechaFin,diasYBloques);
     }
     /**
      * Filtra Espacios por fecha, período y días/bloques de la semana.
@@ -214,9 +248,31 @@ public class EspacioService {
     public List<Aula> listarAulasDisponiblesConCondiciones(Integer capacidad, Boolean tieneProyector, Boolean tieneTV,
                                                            LocalDate fechaInicio, LocalDate fechaFin,
                                                            Set<DiaBloque> diasYBloques) {
-        var aulasDisponibles = listarAulasDisponibles(fechaInicio, fechaFin, diasYBloques);
+        var consulta = new DisponibilidadCache.Consulta("aula", null, capacidad, tieneProyector, tieneTV,
+                fechaInicio, fechaFin, diasYBloques, Pageable.unpaged());
+        return buscar(consulta, aulaRepository, () -> aulaRepository.findAll(
+                condiciones(null, capacidad, tieneProyector, tieneTV, fechaInicio, fechaFin, diasYBloques), ORDEN));
+    }
 
-        return filtrarEspacios(aulasDisponibles, capacidad, tieneProyector, tieneTV, null);
+    /**
+     * Filtra una página de aulas disponibles con los filtros
+     * @param capacidad minima que se necesita
+     * @param tieneProyector si tiene o no proyector
+     * @param tieneTV si tiene o no TV
+     * @param fechaInicio inicio del rango de fecha
+     * @param fechaFin fin del rango de fecha
+     * @param diasYBloques en las cuales que deben estar disponibles
+     * @param pagina número y tamaño de la página a traer
+     * @return Page<Aula> disponibles con esas condiciones en ese rango de fecha
+     */
+    public Page<Aula> listarAulasDisponiblesConCondiciones(Integer capacidad, Boolean tieneProyector, Boolean tieneTV,
+                                                           LocalDate fechaInicio, LocalDate fechaFin,
+                                                           Set<DiaBloque> diasYBloques, Pageable pagina) {
+        var consulta = new DisponibilidadCache.Consulta("aula", null, capacidad, tieneProyector, tieneTV,
+                fechaInicio, fechaFin, diasYBloques, Utils.ordenar(pagina, ORDEN));
+        return buscarPagina(consulta, aulaRepository, () -> aulaRepository.findAll(
+                condiciones(null, capacidad, tieneProyector, tieneTV, fechaInicio, fechaFin, diasYBloques),
+                consulta.pagina()));
     }
 
 
@@ -234,8 +290,98 @@ public class EspacioService {
                                                                          Boolean tieneProyector, Boolean tieneTV,
                                                                          LocalDate fechaInicio, LocalDate fechaFin,
                                                                          Set<DiaBloque> diasYBloques) {
-        var laboratoriosDisponibles = listarLaboratoriosDisponibles(fechaInicio, fechaFin, diasYBloques);
-        return filtrarEspacios(laboratoriosDisponibles, capacidad, tieneProyector, tieneTV, computadoras);
+        var consulta = new DisponibilidadCache.Consulta("laboratorio", computadoras, capacidad, tieneProyector,
+                tieneTV, fechaInicio, fechaFin, diasYBloques, Pageable.unpaged());
+        return buscar(consulta, laboratorioRepository, () -> laboratorioRepository.findAll(
+                condiciones(computadoras, capacidad, tieneProyector, tieneTV, fechaInicio, fechaFin, diasYBloques),
+                ORDEN));
     }
 
+    /**
+     * Filtra una página de laboratorios disponibles con los filtros
+     * @param capacidad minima que se necesita
+     * @param tieneProyector si tiene o no proyector
+     * @param tieneTV si tiene o no TV
+     * @param fechaInicio inicio del rango de fecha
+     * @param fechaFin fin del rango de fecha
+     * @param diasYBloques en las cuales que deben estar disponibles
+     * @param pagina número y tamaño de la página a traer
+     * @return Page<Laboratorio> disponibles con esas condiciones en ese rango de fecha
+     */
+    public Page<Laboratorio> listarLaboratoriosDisponiblesConCondiciones(Integer computadoras, Integer capacidad,
+                                                                         Boolean tieneProyector, Boolean tieneTV,
+                                                                         LocalDate fechaInicio, LocalDate fechaFin,
+                                                                         Set<DiaBloque> diasYBloques, Pageable pagina) {
+        var consulta = new DisponibilidadCache.Consulta("laboratorio", computadoras, capacidad, tieneProyector,
+                tieneTV, fechaInicio, fechaFin, diasYBloques, Utils.ordenar(pagina, ORDEN));
+        return buscarPagina(consulta, laboratorioRepository, () -> laboratorioRepository.findAll(
+                condiciones(computadoras, capacidad, tieneProyector, tieneTV, fechaInicio, fechaFin, diasYBloques),
+                consulta.pagina()));
+    }
+
+    /**
+     * Busca los espacios disponibles con filtros o reutiliza el resultado de una búsqueda igual
+     * La caché guarda solo los ID, cada llamada recibe sus propias entidades: las que devuelve una búsqueda
+     * se pueden modificar sin cambiar lo que ven las demás. Si la búsqueda no estaba en caché se devuelven
+     * los espacios que trajo, un acierto los carga por ID en vez de volver a resolver la disponibilidad
+     * @param consulta parámetros de la búsqueda
+     * @param repositorio del tipo de espacio, carga los espacios por ID
+     * @param buscar resuelve la búsqueda si no está en caché
+     * @return List<T> espacios disponibles en el orden de la búsqueda
+     */
+    private <T extends Espacio> List<T> buscar(DisponibilidadCache.Consulta consulta,
+                                               EspacioBaseRepository<T> repositorio, Supplier<List<T>> buscar) {
+        var encontrados = new AtomicReference<List<T>>();
+        List<Integer> ids = disponibilidadCache.obtener(consulta, () -> {
+            encontrados.set(buscar.get());
+            return encontrados.get().stream().map(Espacio::getId).toList();
+        });
+        return encontrados.get() != null ? encontrados.get() : cargar(repositorio, ids);
+    }
+
+    /**
+     * Igual que {@link #buscar}, para una página
+     */
+    private <T extends Espacio> Page<T> buscarPagina(DisponibilidadCache.Consulta consulta,
+                                                     EspacioBaseRepository<T> repositorio, Supplier<Page<T>> buscar) {
+        var encontrada = new AtomicReference<Page<T>>();
+        PaginaIds pagina = disponibilidadCache.obtener(consulta, () -> {
+            encontrada.set(buscar.get());
+            return new PaginaIds(encontrada.get().getContent().stream().map(Espacio::getId).toList(),
+                    encontrada.get().getTotalElements());
+        });
+        if (encontrada.get() != null) {
+            return encontrada.get();
+        }
+        return new PageImpl<>(cargar(repositorio, pagina.ids()), consulta.pagina(), pagina.total());
+    }
+
+    /**
+     * Carga los espacios por ID en una consulta, respetando el orden de los ID
+     */
+    private <T extends Espacio> List<T> cargar(EspacioBaseRepository<T> repositorio, List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        var porId = repositorio.findAllById(ids).stream()
+                .collect(Collectors.toMap(Espacio::getId, Function.identity()));
+        // Un espacio borrado después de la búsqueda ya no aparece
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Arma la consulta con la disponibilidad y los filtros opcionales
+     * @return Specification<T> que resuelve toda la búsqueda en una sola consulta
+     * @param <T> si queremos utilizar Aula o Laboratorio
+     */
+    private <T extends Espacio> Specification<T> condiciones(Integer computadoras, Integer capacidad,
+                                                           Boolean tieneProyector, Boolean tieneTV,
+                                                           LocalDate fechaInicio, LocalDate fechaFin,
+                                                           Set<DiaBloque> diasYBloques) {
+        return Specification.<T>where(EspacioSpecification.disponible(fechaInicio, fechaFin, diasYBloques))
+                .and(EspacioSpecification.conCapacidadMinima(capacidad))
+                .and(EspacioSpecification.conProyector(tieneProyector))
+                .and(EspacioSpecification.conTV(tieneTV))
+                .and(EspacioSpecification.conComputadorasMinimas(computadoras));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Métricas de la caché de segundo nivel de Hibernate por región
+ * Las regiones de entidades (espacios, asignaturas, profesores, roles, días y bloques) y las de consultas
+ * se configuran en application.conf; las estadísticas requieren hibernate.generate_statistics
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EstadisticasCacheHibernate {
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Aciertos, fallos y guardados acumulados de una región y cantidad de elementos en memoria
+     */
+    public record Region(String nombre, long aciertos, long fallos, long guardados, long elementos) {
+        public double tasaAciertos() {
+            var total = aciertos + fallos;
+            return total == 0 ? 0 : (double) aciertos / total;
+        }
+    }
+
+    /**
+     * Obtiene las métricas de cada región de la caché de segundo nivel
+     * @return List<Region> ordenada por nombre, vacía si las estadísticas están deshabilitadas
+     */
+    public List<Region> porRegion() {
+        var estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!estadisticas.isStatisticsEnabled()) {
+            return List.of();
+        }
+        return Arrays.stream(estadisticas.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(nombre -> {
+                    var region = estadisticas.getCacheRegionStatistics(nombre);
+                    return region == null ? null : new Region(nombre, region.getHitCount(), region.getMissCount(),
+                            region.getPutCount(), region.getElementCountInMemory());
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Deja en el log la tasa de aciertos de cada región al cerrar la aplicación
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void registrar() {
+        porRegion().forEach(r -> log.info("Caché de segundo nivel [{}]: {} aciertos, {} fallos, {} guardados, " +
+                        "{} elementos, tasa de aciertos {}", r.nombre(), r.aciertos(), r.fallos(), r.guardados(),
+                r.elementos(), String.format("%.2f", r.tasaAciertos())));
+    }
+}
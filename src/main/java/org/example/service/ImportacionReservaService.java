@@ -0,0 +1,373 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.enums.BloqueHorario;
+import org.example.enums.EstadoSolicitud;
+import org.example.enums.Permisos;
+import org.example.exception.BadRequestException;
+import org.example.exception.ConflictException;
+import org.example.exception.NotFoundException;
+import org.example.model.*;
+import org.example.model.dto.ReservaDTO;
+import org.example.repository.*;
+import org.example.security.RequierePermiso;
+import org.example.utils.Mapper;
+import org.example.utils.Utils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importa en bloque las reservas de un cuatrimestre desde un archivo CSV
+ * Cada línea tiene el formato: idInscripcion;idEspacio;fechaInicio;fechaFin;DIA:BLOQUE|DIA:BLOQUE...
+ * por ejemplo: 12;3;2025-03-10;2025-07-04;MONDAY:MANIANA_PRIMER_BLOQUE|WEDNESDAY:TARDE_PRIMER_BLOQUE
+ * Si el espacio queda vacío se asigna automáticamente con AsignadorEspacios, que también puede asignar
+ * de una vez todas las inscripciones de un cuatrimestre sin reserva
+ * Todo el lote se valida en memoria contra una sola foto de la ocupación y se guarda en una transacción,
+ * si una línea falla no se guarda ninguna
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportacionReservaService {
+    private static final String SEPARADOR = ";";
+    private static final int MAX_ERRORES = 20;
+    // Filas por flush, igual a hibernate.jdbc.batch_size: cada flush manda lotes completos y después se vacía
+    // el contexto de persistencia, así un archivo grande no deja todas sus reservas y ocurrencias en memoria
+    private static final int TAMANIO_LOTE = 100;
+
+    private final ReservaRepository reservaRepository;
+    private final ReservaOcurrenciaRepository ocurrenciaRepository;
+    private final InscripcionRepository inscripcionRepository;
+    private final EspacioBaseRepository<Espacio> espacioBaseRepository;
+    private final SolicitudCambioAulaRepository solicitudRepository;
+    private final DiaBloqueService diaBloqueService;
+    private final IndiceOcupacion indiceOcupacion;
+    private final BloqueoSlots bloqueoSlots;
+    private final AsignadorEspacios asignadorEspacios;
+    private final DisponibilidadCache disponibilidadCache;
+    private final EntityManager entityManager;
+
+    /**
+     * Reserva a importar: una línea del archivo ya interpretada o una inscripción del cuatrimestre
+     * @param referencia con la que se informan sus errores
+     */
+    private record Fila(String referencia, Integer idInscripcion, Integer idEspacio,
+                        LocalDate fechaInicio, LocalDate fechaFin, Set<DiaBloque> diasYBloques) {}
+
+    /**
+     * Importa las reservas de un archivo
+     * @param archivo CSV con una reserva por línea, las líneas vacías o que empiezan con # se ignoran
+     * @return int cantidad de reservas importadas
+     * @throws BadRequestException si no se puede leer el archivo o alguna línea no es válida
+     * @throws ConflictException si otro usuario está reservando los mismos slots
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @RequierePermiso(Permisos.CREAR_RESERVA)
+    public int importar(Path archivo) throws BadRequestException, ConflictException {
+        List<String> errores = new ArrayList<>();
+        var filas = leer(archivo, errores);
+        lanzarSiHayErrores(errores);
+        if (filas.isEmpty()) {
+            throw new BadRequestException("El archivo no tiene reservas para importar");
+        }
+
+        // Cargamos de una vez todo lo que necesitan las validaciones
+        var inscripciones = inscripcionRepository.findAllConAsignaturaYProfesor(
+                        filas.stream().map(Fila::idInscripcion).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Inscripcion::getId, Function.identity()));
+
+        var importadas = guardarLote(filas, inscripciones, errores);
+        log.info("Se importaron {} reservas desde {}", importadas, archivo.getFileName());
+        return importadas;
+    }
+
+    /**
+     * Asigna espacio a las inscripciones de un cuatrimestre que todavía no tienen reserva y guarda sus reservas
+     * @param year de las inscripciones
+     * @param cuatrimestre de las inscripciones
+     * @param fechaInicio del período de las reservas
+     * @param fechaFin del período de las reservas
+     * @param horarios días y bloques que necesita cada inscripción según su ID, las que no aparecen se omiten
+     * @return int cantidad de reservas guardadas
+     * @throws BadRequestException si el período no es válido o alguna inscripción se queda sin espacio
+     * @throws ConflictException si otro usuario está reservando los mismos slots
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @RequierePermiso(Permisos.CREAR_RESERVA)
+    public int asignarCuatrimestre(Integer year, Integer cuatrimestre, LocalDate fechaInicio, LocalDate fechaFin,
+                                   Map<Integer, Set<DiaBloque>> horarios)
+            throws BadRequestException, ConflictException {
+        if (fechaFin.isBefore(fechaInicio)) {
+            throw new BadRequestException("La fecha de fin es anterior a la de inicio");
+        }
+
+        var reservadas = reservaRepository.findIdsInscripcionConReserva(year, cuatrimestre);
+        Map<Integer, Inscripcion> inscripciones = new HashMap<>();
+        List<Fila> filas = new ArrayList<>();
+        for (var inscripcion : inscripcionRepository.findAllConAsignaturaYProfesor(year, cuatrimestre)) {
+            var diasYBloques = horarios.get(inscripcion.getId());
+            if (diasYBloques == null || diasYBloques.isEmpty() || reservadas.contains(inscripcion.getId())) {
+                continue;
+            }
+            inscripciones.put(inscripcion.getId(), inscripcion);
+            filas.add(new Fila("Inscripción " + inscripcion.getId(), inscripcion.getId(), null,
+                    fechaInicio, fechaFin, diasYBloques));
+        }
+        if (filas.isEmpty()) {
+            throw new BadRequestException("No hay inscripciones del cuatrimestre sin reserva para asignar");
+        }
+
+        var guardadas = guardarLote(filas, inscripciones, new ArrayList<>());
+        log.info("Se asignaron {} reservas del cuatrimestre {}/{}", guardadas, cuatrimestre, year);
+        return guardadas;
+    }
+
+    /**
+     * Completa el espacio de las filas que no lo tienen, valida todo el lote y lo guarda
+     * @param filas a guardar
+     * @param inscripciones de las filas, cargadas por ID con su asignatura y profesor
+     * @param errores donde se acumulan los errores de las filas
+     * @return int cantidad de reservas guardadas
+     * @throws BadRequestException si alguna fila no es válida
+     * @throws ConflictException si otro usuario está reservando los mismos slots
+     */
+    private int guardarLote(List<Fila> filas, Map<Integer, Inscripcion> inscripciones, List<String> errores)
+            throws BadRequestException, ConflictException {
+        // Completamos las filas sin espacio
+        filas = asignarEspacios(filas, inscripciones, errores);
+        lanzarSiHayErrores(errores);
+
+        // Bloqueamos todos los slots del lote hasta el commit
+        Map<Integer, Set<DiaBloque>> slotsPorEspacio = new HashMap<>();
+        filas.forEach(f -> slotsPorEspacio.computeIfAbsent(f.idEspacio(), id -> new HashSet<>()).addAll(f.diasYBloques()));
+        bloqueoSlots.bloquear(slotsPorEspacio);
+
+        var espacios = espacioBaseRepository.findAllById(slotsPorEspacio.keySet()).stream()
+                .collect(Collectors.toMap(Espacio::getId, Function.identity()));
+        var solicitudesPendientes = solicitudRepository.findByEstado(EstadoSolicitud.PENDIENTE).stream()
+                .collect(Collectors.groupingBy(s -> s.getNuevoEspacio().getId()));
+        // Ocupación de los espacios del lote según la base de datos, el índice en memoria no ve lo que guardan o
+        // borran otros equipos. Los slots ya están bloqueados, lo que otro equipo inserte después lo frena la clave
+        var ocupadas = new HashSet<>(ocurrenciaRepository.findIdsOcupados(slotsPorEspacio.keySet(),
+                filas.stream().map(Fila::fechaInicio).min(Comparator.naturalOrder()).orElseThrow(),
+                filas.stream().map(Fila::fechaFin).max(Comparator.naturalOrder()).orElseThrow()));
+
+        List<Reserva> reservas = new ArrayList<>(filas.size());
+        List<ReservaOcurrencia> ocurrencias = new ArrayList<>();
+        Set<ReservaOcurrenciaId> ocupadasEnLote = new HashSet<>();
+
+        for (var fila : filas) {
+            try {
+                var inscripcion = Optional.ofNullable(inscripciones.get(fila.idInscripcion()))
+                        .orElseThrow(() -> new NotFoundException("No existe la inscripción " + fila.idInscripcion()));
+                var espacio = Optional.ofNullable(espacios.get(fila.idEspacio()))
+                        .orElseThrow(() -> new NotFoundException("No existe el aula " + fila.idEspacio()));
+                var reserva = new Reserva(null, fila.fechaInicio(), fila.fechaFin(), espacio, inscripcion,
+                        fila.diasYBloques());
+
+                var nuevas = ReservaOcurrencia.desde(reserva);
+                if (nuevas.stream().anyMatch(o -> ocupadas.contains(o.getId()))) {
+                    throw new BadRequestException(String.format("El aula %d no está disponible.", espacio.getId()));
+                }
+                Utils.validarCapacidadEspacio(espacio, inscripcion);
+                Utils.validarRequiereLaboratorio(espacio, inscripcion.getAsignatura());
+                validarSolicitudesPendientes(reserva, solicitudesPendientes.getOrDefault(espacio.getId(), List.of()));
+
+                // Conflictos dentro del mismo archivo
+                var pisada = nuevas.stream().filter(o -> !ocupadasEnLote.add(o.getId())).findFirst();
+                if (pisada.isPresent()) {
+                    throw new BadRequestException(String.format("El aula %d ya está reservada en el archivo el %s",
+                            espacio.getId(), pisada.get().getId().getFecha()));
+                }
+
+                reservas.add(reserva);
+                ocurrencias.addAll(nuevas);
+            } catch (BadRequestException | NotFoundException | ConflictException e) {
+                errores.add(String.format("%s: %s", fila.referencia(), e.getMessage()));
+            }
+        }
+        lanzarSiHayErrores(errores);
+
+        // Guardamos todo el lote, las inserciones se agrupan según hibernate.jdbc.batch_size
+        try {
+            guardarPorLotes(reservaRepository, reservas);
+            guardarPorLotes(ocurrenciaRepository, ocurrencias);
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("Otra reserva ocupó alguno de los horarios del archivo, intente nuevamente.");
+        }
+        reservas.forEach(indiceOcupacion::registrar);
+        disponibilidadCache.invalidarTodo();
+        return reservas.size();
+    }
+
+    /**
+     * Guarda de a TAMANIO_LOTE entidades: flush y después clear, las ya guardadas quedan desasociadas
+     * @param repositorio de las entidades
+     * @param entidades a guardar
+     */
+    private <T> void guardarPorLotes(JpaRepository<T, ?> repositorio, List<T> entidades) {
+        for (int desde = 0; desde < entidades.size(); desde += TAMANIO_LOTE) {
+            repositorio.saveAll(entidades.subList(desde, Math.min(desde + TAMANIO_LOTE, entidades.size())));
+            repositorio.flush();
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * Asigna un espacio a las filas que no lo tienen, respetando las filas del lote que sí lo tienen
+     * @param filas del lote
+     * @param inscripciones cargadas por ID
+     * @param errores donde se agregan las filas que no se pudieron asignar
+     * @return List<Fila> filas con su espacio
+     */
+    private List<Fila> asignarEspacios(List<Fila> filas, Map<Integer, Inscripcion> inscripciones, List<String> errores) {
+        List<Fila> sinEspacio = new ArrayList<>();
+        for (var fila : filas) {
+            if (fila.idEspacio() != null) {
+                continue;
+            }
+            if (inscripciones.containsKey(fila.idInscripcion())) {
+                sinEspacio.add(fila);
+            } else {
+                errores.add(String.format("%s: No existe la inscripción %d", fila.referencia(), fila.idInscripcion()));
+            }
+        }
+        if (sinEspacio.isEmpty()) {
+            return filas;
+        }
+
+        var pedidos = sinEspacio.stream()
+                .map(f -> new AsignadorEspacios.Pedido(inscripciones.get(f.idInscripcion()),
+                        f.fechaInicio(), f.fechaFin(), f.diasYBloques()))
+                .toList();
+        var fijas = filas.stream()
+                .filter(f -> f.idEspacio() != null)
+                .map(f -> Mapper.toReserva(new ReservaDTO(null, f.fechaInicio(), f.fechaFin(), f.idEspacio(),
+                        f.idInscripcion(), f.diasYBloques())))
+                .toList();
+        var asignados = asignadorEspacios.asignar(pedidos, fijas);
+
+        Map<String, Integer> espacioPorFila = new HashMap<>();
+        for (int i = 0; i < sinEspacio.size(); i++) {
+            var fila = sinEspacio.get(i);
+            var espacio = asignados.get(i);
+            if (espacio == null) {
+                errores.add(String.format("%s: No hay un aula disponible para la inscripción %d",
+                        fila.referencia(), fila.idInscripcion()));
+            } else {
+                espacioPorFila.put(fila.referencia(), espacio.getId());
+            }
+        }
+
+        return filas.stream()
+                .map(f -> espacioPorFila.containsKey(f.referencia())
+                        ? new Fila(f.referencia(), f.idInscripcion(), espacioPorFila.get(f.referencia()),
+                                   f.fechaInicio(), f.fechaFin(), f.diasYBloques())
+                        : f)
+                .toList();
+    }
+
+    /**
+     * Lee e interpreta las líneas del archivo
+     * @param archivo a leer
+     * @param errores donde se agregan las líneas con formato inválido
+     * @return List<Fila> las líneas válidas
+     * @throws BadRequestException si no se puede leer el archivo
+     */
+    private List<Fila> leer(Path archivo, List<String> errores) throws BadRequestException {
+        List<String> lineas;
+        try {
+            lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new BadRequestException("No se pudo leer el archivo: " + e.getMessage());
+        }
+
+        List<Fila> filas = new ArrayList<>();
+        for (int i = 0; i < lineas.size(); i++) {
+            var linea = lineas.get(i).strip();
+            if (linea.isEmpty() || linea.startsWith("#")) {
+                continue;
+            }
+            try {
+                filas.add(interpretar(i + 1, linea));
+            } catch (BadRequestException | NotFoundException e) {
+                errores.add(String.format("Línea %d: %s", i + 1, e.getMessage()));
+            }
+        }
+        return filas;
+    }
+
+    private Fila interpretar(int numero, String linea) throws BadRequestException, NotFoundException {
+        var campos = linea.split(SEPARADOR);
+        if (campos.length != 5) {
+            throw new BadRequestException("Se esperaban 5 campos separados por " + SEPARADOR);
+        }
+
+        try {
+            var idInscripcion = Integer.valueOf(campos[0].strip());
+            var idEspacio = campos[1].isBlank() ? null : Integer.valueOf(campos[1].strip());
+            var fechaInicio = LocalDate.parse(campos[2].strip());
+            var fechaFin = LocalDate.parse(campos[3].strip());
+            if (fechaFin.isBefore(fechaInicio)) {
+                throw new BadRequestException("La fecha de fin es anterior a la de inicio");
+            }
+
+            Set<DiaBloque> diasYBloques = new HashSet<>();
+            for (var diaBloque : campos[4].split("\\|")) {
+                var partes = diaBloque.strip().split(":");
+                if (partes.length != 2) {
+                    throw new BadRequestException("Día y bloque inválido: " + diaBloque);
+                }
+                diasYBloques.add(diaBloqueService.buscarPorDiaYBloque(
+                        BloqueHorario.valueOf(partes[1].strip()), DayOfWeek.valueOf(partes[0].strip())));
+            }
+            return new Fila("Línea " + numero, idInscripcion, idEspacio, fechaInicio, fechaFin, diasYBloques);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new BadRequestException("Formato inválido: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Día o bloque horario inválido: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Valída que no haya solicitudes pendientes en el mismo espacio, período y horario
+     * Es la misma condición que usa ReservaService al guardar una reserva
+     */
+    private void validarSolicitudesPendientes(Reserva reserva, List<SolicitudCambioAula> pendientes)
+            throws ConflictException {
+        for (var solicitud : pendientes) {
+            if (solicitud.getFechaInicio().equals(reserva.getFechaInicio())
+                    && solicitud.getFechaFin().equals(reserva.getFechaFin())
+                    && (solicitud.getMascaraHorario() & reserva.getMascaraHorario()) != 0) {
+                throw new ConflictException(String.format("Hay solicitudes pendientes en el Aula %d (solicitud %d)",
+                        reserva.getEspacio().getNumero(), solicitud.getId()));
+            }
+        }
+    }
+
+    private void lanzarSiHayErrores(List<String> errores) throws BadRequestException {
+        if (errores.isEmpty()) {
+            return;
+        }
+        var mensaje = errores.stream().limit(MAX_ERRORES).collect(Collectors.joining("\n"));
+        if (errores.size() > MAX_ERRORES) {
+            mensaje += String.format("%n... y %d errores más", errores.size() - MAX_ERRORES);
+        }
+        throw new BadRequestException(mensaje);
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.model.Inscripcion;
+import org.example.repository.InscripcionRepository;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+ * Índice en memoria de las inscripciones, con su asignatura y profesor
+ * Cada inscripción ocupa una posición y cada clave (año, cuatrimestre, comisión, palabra de la asignatura
+ * o del profesor) guarda un bitmap con las posiciones que la tienen, así filtrar es intersecar bitmaps
+ * sin ir a la base de datos. El índice se reconstruye cada vez que se abre la selección de inscripciones,
+ * con una sola consulta: así ve las inscripciones que se agregaron, modificaron o borraron desde la anterior
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndiceInscripciones {
+    private final InscripcionRepository repositorio;
+
+    // Posición de cada inscripción en la lista y bitmaps de posiciones por clave
+    private final List<Inscripcion> inscripciones = new ArrayList<>();
+    private final Map<Integer, BitSet> porYear = new TreeMap<>();
+    private final Map<Integer, BitSet> porCuatrimestre = new TreeMap<>();
+    private final Map<Integer, BitSet> porComision = new HashMap<>();
+    private final NavigableMap<String, BitSet> porPalabra = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean construido;
+
+    /**
+     * Vacía el índice y lo vuelve a construir con todas las inscripciones
+     */
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            inscripciones.clear();
+            porYear.clear();
+            porCuatrimestre.clear();
+            porComision.clear();
+            porPalabra.clear();
+            repositorio.findAllConAsignaturaYProfesor().forEach(this::agregar);
+            construido = true;
+            log.debug("Índice de inscripciones construido con {} inscripciones", inscripciones.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca las inscripciones que cumplen todos los filtros, los que son null o vacíos no se aplican
+     * Cada palabra del texto tiene que ser el comienzo de una palabra de la asignatura o del profesor,
+     * o el número de comisión
+     * @param year de la carrera
+     * @param cuatrimestre de la inscripción
+     * @param texto a buscar
+     * @return List<Inscripcion> en el orden en que se cargaron
+     */
+    public List<Inscripcion> buscar(Integer year, Integer cuatrimestre, String texto) {
+        if (!construido) {
+            reconstruir();
+        }
+        lock.readLock().lock();
+        try {
+            var resultado = new BitSet();
+            resultado.set(0, inscripciones.size());
+            if (year != null) {
+                resultado.and(porYear.getOrDefault(year, new BitSet()));
+            }
+            if (cuatrimestre != null) {
+                resultado.and(porCuatrimestre.getOrDefault(cuatrimestre, new BitSet()));
+            }
+            for (var palabra : palabras(texto)) {
+                if (resultado.isEmpty()) {
+                    break;
+                }
+                resultado.and(conPrefijo(palabra));
+            }
+
+            List<Inscripcion> encontradas = new ArrayList<>(resultado.cardinality());
+            resultado.stream().forEach(posicion -> encontradas.add(inscripciones.get(posicion)));
+            return encontradas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return List<Integer> años de carrera con inscripciones, ordenados
+     */
+    public List<Integer> years() {
+        return claves(porYear);
+    }
+
+    /**
+     * @return List<Integer> cuatrimestres con inscripciones, ordenados
+     */
+    public List<Integer> cuatrimestres() {
+        return claves(porCuatrimestre);
+    }
+
+    private List<Integer> claves(Map<Integer, BitSet> indice) {
+        if (!construido) {
+            reconstruir();
+        }
+        lock.readLock().lock();
+        try {
+            return List.copyOf(indice.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void agregar(Inscripcion inscripcion) {
+        int posicion = inscripciones.size();
+        inscripciones.add(inscripcion);
+
+        marcar(porYear, inscripcion.getYear(), posicion);
+        marcar(porCuatrimestre, inscripcion.getCuatrimestre(), posicion);
+        marcar(porComision, inscripcion.getComision(), posicion);
+        var profesor = inscripcion.getProfesor();
+        palabras(inscripcion.getAsignatura().getNombre() + " " + profesor.getNombre() + " " + profesor.getApellido())
+                .forEach(palabra -> marcar(porPalabra, palabra, posicion));
+    }
+
+    private static <K> void marcar(Map<K, BitSet> indice, K clave, int posicion) {
+        indice.computeIfAbsent(clave, k -> new BitSet()).set(posicion);
+    }
+
+    /**
+     * Une los bitmaps de las palabras que empiezan con el prefijo, y el de la comisión si es un número
+     */
+    private BitSet conPrefijo(String prefijo) {
+        var union = new BitSet();
+        porPalabra.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false)
+                .values()
+                .forEach(union::or);
+        if (prefijo.length() < 10 && prefijo.chars().allMatch(Character::isDigit)) {
+            var comision = porComision.get(Integer.valueOf(prefijo));
+            if (comision != null) {
+                union.or(comision);
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Separa el texto en palabras en minúscula y sin acentos
+     */
+    private static List<String> palabras(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        var normalizado = Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(normalizado.split("[^\\p{Alnum}]+"))
+                .filter(palabra -> !palabra.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,285 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.enums.BloqueHorario;
+import org.example.model.DiaBloque;
+import org.example.model.Reserva;
+import org.example.repository.ReservaOcurrenciaRepository;
+import org.example.repository.ReservaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+ * Índice en memoria de la ocupación de los espacios
+ * Mantiene un bitmap por espacio sobre los slots (fecha × bloque horario) del ciclo lectivo activo,
+ * así las búsquedas de espacios disponibles se resuelven con operaciones de bits sin ir a la base de datos.
+ * Solo sirve para buscar: cada equipo tiene su propio índice y no ve lo que guardan o borran los demás, las altas
+ * y modificaciones validan la disponibilidad contra las ocurrencias en la base de datos
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndiceOcupacion {
+    private static final int BLOQUES = BloqueHorario.values().length;
+    private final ReservaRepository reservaRepository;
+    private final ReservaOcurrenciaRepository ocurrenciaRepository;
+
+    // Slots ocupados por cada reserva y la unión de esos slots por espacio
+    private final Map<Integer, Ocupacion> ocupacionesPorReserva = new HashMap<>();
+    private final Map<Integer, BitSet> ocupacionesPorEspacio = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Cambios que llegan mientras se construye el índice, se aplican al terminar de construirlo
+    private final List<Runnable> pendientes = new ArrayList<>();
+
+    private volatile boolean construido;
+    // Mientras se consultan las reservas los cambios quedan pendientes, también al reconstruir por cambio de año
+    private boolean construyendo;
+    private final AtomicBoolean renovando = new AtomicBoolean();
+    private volatile LocalDate inicioCiclo;
+    private volatile LocalDate finCiclo;
+
+    private record Ocupacion(Integer idEspacio, BitSet slots) {}
+
+    /**
+     * Lo que el índice necesita de una reserva, copiado al registrarla porque se aplica después del commit
+     */
+    private record ReservaIndexada(Integer id, Integer idEspacio, LocalDate fechaInicio, LocalDate fechaFin,
+                                   Set<DiaBloque> diasYBloques) {
+        static ReservaIndexada de(Reserva reserva) {
+            return new ReservaIndexada(reserva.getId(), reserva.getEspacio().getId(), reserva.getFechaInicio(),
+                    reserva.getFechaFin(), Set.copyOf(reserva.getDiasYBloques()));
+        }
+    }
+
+    /**
+     * Construye el índice a partir de las reservas del ciclo lectivo activo
+     * Se construye en segundo plano al arrancar ({@link CalentamientoDatos}): las reservas que se guardan
+     * o eliminan mientras tanto quedan pendientes y se aplican al final. Se vuelve a construir cuando cambia el año
+     * La consulta corre sin el lock, las búsquedas siguen usando el índice anterior (o la base de datos) hasta
+     * que se reemplaza
+     */
+    public void construir() {
+        var anio = LocalDate.now().getYear();
+        var inicio = LocalDate.of(anio, 1, 1);
+        var fin = LocalDate.of(anio, 12, 31);
+
+        lock.writeLock().lock();
+        try {
+            construyendo = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<ReservaIndexada> reservas;
+        try {
+            reservas = reservaRepository.findByRango(inicio, fin).stream()
+                    .map(ReservaIndexada::de)
+                    .toList();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                construyendo = false;
+                if (construido) {
+                    pendientes.forEach(Runnable::run);
+                    pendientes.clear();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            inicioCiclo = inicio;
+            finCiclo = fin;
+            ocupacionesPorReserva.clear();
+            ocupacionesPorEspacio.clear();
+            reservas.forEach(this::agregar);
+            pendientes.forEach(Runnable::run);
+            pendientes.clear();
+            construyendo = false;
+            construido = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de ocupación construido con {} reservas del ciclo {}", reservas.size(), anio);
+    }
+
+    /**
+     * Registra o actualiza la ocupación de una reserva
+     * Dentro de una transacción se aplica después del commit, si se deshace el índice no cambia
+     * @param reserva guardada, con su ID y espacio
+     */
+    public void registrar(Reserva reserva) {
+        var indexada = ReservaIndexada.de(reserva);
+        alConfirmar(() -> {
+            remover(indexada.id());
+            agregar(indexada);
+        });
+    }
+
+    /**
+     * Quita la ocupación de una reserva
+     * Dentro de una transacción se aplica después del commit, si se deshace el índice no cambia
+     * @param idReserva de la reserva eliminada
+     */
+    public void quitar(Integer idReserva) {
+        alConfirmar(() -> remover(idReserva));
+    }
+
+    /**
+     * Aplica un cambio al índice cuando la transacción actual confirma, o en el momento si no hay ninguna
+     * El commit corre antes de liberar los slots de {@link BloqueoSlots}, así quien espera esos slots ya ve el cambio
+     */
+    private void alConfirmar(Runnable cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(cambio);
+                }
+            });
+        } else {
+            aplicar(cambio);
+        }
+    }
+
+    private void aplicar(Runnable cambio) {
+        lock.writeLock().lock();
+        try {
+            if (construido && !construyendo) {
+                cambio.run();
+            } else {
+                pendientes.add(cambio);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene los ID de los espacios ocupados en ese rango de fecha con esos días y bloques
+     * Si el rango cae fuera del ciclo indexado se consultan las ocurrencias en la base de datos
+     * @param fechaInicio del rango de fecha
+     * @param fechaFin del rango de fecha
+     * @param diasYBloques que queremos filtrar
+     * @return Set<Integer> ids de los espacios ocupados
+     */
+    public Set<Integer> obtenerEspaciosOcupados(LocalDate fechaInicio, LocalDate fechaFin,
+                                                Set<DiaBloque> diasYBloques) {
+        renovarCiclo();
+        lock.readLock().lock();
+        try {
+            if (diasYBloques.isEmpty()) {
+                return new HashSet<>();
+            }
+            if (!cubre(fechaInicio, fechaFin)) {
+                return new HashSet<>(ocurrenciaRepository.findEspaciosOcupados(fechaInicio, fechaFin,
+                        DiaBloque.slotsSemanales(diasYBloques)));
+            }
+
+            var consulta = calcularSlots(fechaInicio, fechaFin, diasYBloques);
+            Set<Integer> ocupados = new HashSet<>();
+            ocupacionesPorEspacio.forEach((idEspacio, slots) -> {
+                if (slots.intersects(consulta)) {
+                    ocupados.add(idEspacio);
+                }
+            });
+            return ocupados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Al pasar de año el ciclo indexado queda atrás: la primera consulta del año nuevo lo vuelve a construir
+     * Las consultas que llegan mientras se construye esperan a que termine
+     */
+    private void renovarCiclo() {
+        if (!construido || !LocalDate.now().isAfter(finCiclo) || !renovando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            construir();
+        } finally {
+            renovando.set(false);
+        }
+    }
+
+    private boolean cubre(LocalDate fechaInicio, LocalDate fechaFin) {
+        return construido && !fechaInicio.isBefore(inicioCiclo) && !fechaFin.isAfter(finCiclo);
+    }
+
+    private void agregar(ReservaIndexada reserva) {
+        var slots = calcularSlots(reserva.fechaInicio(), reserva.fechaFin(), reserva.diasYBloques());
+        if (slots.isEmpty()) {
+            return;
+        }
+        var idEspacio = reserva.idEspacio();
+        ocupacionesPorReserva.put(reserva.id(), new Ocupacion(idEspacio, slots));
+        ocupacionesPorEspacio.computeIfAbsent(idEspacio, id -> new BitSet()).or(slots);
+    }
+
+    private void remover(Integer idReserva) {
+        var ocupacion = ocupacionesPorReserva.remove(idReserva);
+        if (ocupacion == null) {
+            return;
+        }
+
+        // Recalculamos la unión del espacio con las reservas que le quedan
+        var union = new BitSet();
+        ocupacionesPorReserva.values().stream()
+                .filter(o -> o.idEspacio().equals(ocupacion.idEspacio()))
+                .forEach(o -> union.or(o.slots()));
+
+        if (union.isEmpty()) {
+            ocupacionesPorEspacio.remove(ocupacion.idEspacio());
+        } else {
+            ocupacionesPorEspacio.put(ocupacion.idEspacio(), union);
+        }
+    }
+
+    /**
+     * Arma el bitmap de slots de un período dentro del ciclo indexado
+     * Cada fecha usa BLOQUES bits consecutivos, uno por bloque horario
+     */
+    private BitSet calcularSlots(LocalDate fechaInicio, LocalDate fechaFin, Set<DiaBloque> diasYBloques) {
+        var slots = new BitSet();
+        if (diasYBloques == null || diasYBloques.isEmpty()) {
+            return slots;
+        }
+
+        Map<DayOfWeek, List<BloqueHorario>> bloquesPorDia = new EnumMap<>(DayOfWeek.class);
+        diasYBloques.forEach(db -> bloquesPorDia
+                .computeIfAbsent(db.getDia(), d -> new ArrayList<>())
+                .add(db.getBloqueHorario()));
+
+        var desde = fechaInicio.isBefore(inicioCiclo) ? inicioCiclo : fechaInicio;
+        var hasta = fechaFin.isAfter(finCiclo) ? finCiclo : fechaFin;
+
+        for (var fecha = desde; !fecha.isAfter(hasta); fecha = fecha.plusDays(1)) {
+            var bloques = bloquesPorDia.get(fecha.getDayOfWeek());
+            if (bloques == null) {
+                continue;
+            }
+            int base = (int) ChronoUnit.DAYS.between(inicioCiclo, fecha) * BLOQUES;
+            for (var bloque : bloques) {
+                slots.set(base + bloque.ordinal());
+            }
+        }
+        return slots;
+    }
+}
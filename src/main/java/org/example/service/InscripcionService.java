@@ -1,6 +1,7 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.exception.NotFoundException;
 import org.example.model.Inscripcion;
 import org.example.repository.InscripcionRepository;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class InscripcionService{
     private final InscripcionRepository repositorio;
+    private final IndiceInscripciones indice;
 
     /**
      * Lista todas las inscripciones
@@ -25,4 +27,49 @@ public class InscripcionService{
     public List<Inscripcion> listar() {
         return repositorio.findAll();
     }
+
+    /**
+     * Reconstruye el índice en memoria con las inscripciones actuales, incluidas las modificadas o borradas
+     */
+    public void reconstruirIndice() {
+        indice.reconstruir();
+    }
+
+    /**
+     * Busca inscripciones en el índice en memoria, sin ir a la base de datos
+     * @param year de la carrera, null para no filtrar
+     * @param cuatrimestre null para no filtrar
+     * @param texto comienzo de palabras de la asignatura o del profesor, o número de comisión
+     * @return List<Inscripcion> con su asignatura y profesor
+     */
+    public List<Inscripcion> buscar(Integer year, Integer cuatrimestre, String texto) {
+        return indice.buscar(year, cuatrimestre, texto);
+    }
+
+    /**
+     * Lista los años de carrera que tienen inscripciones
+     * @return List<Integer> ordenada
+     */
+    public List<Integer> listarYears() {
+        return indice.years();
+    }
+
+    /**
+     * Lista los cuatrimestres que tienen inscripciones
+     * @return List<Integer> ordenada
+     */
+    public List<Integer> listarCuatrimestres() {
+        return indice.cuatrimestres();
+    }
+
+    /**
+     * Obtiene una inscripción por ID, con su asignatura y profesor
+     * @param id de la inscripción
+     * @return Inscripcion con ese ID
+     * @throws NotFoundException si no existe la inscripción con ese ID
+     */
+    public Inscripcion obtener(Integer id) throws NotFoundException {
+        return repositorio.findConAsignaturaYProfesor(id)
+                .orElseThrow(() -> new NotFoundException("No existe la inscripción"));
+    }
 }
@@ -0,0 +1,33 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspecto que marca cada llamada pública a un servicio como una acción de {@link MonitorSentencias}
+ * Va por fuera de la transacción, así el tiempo medido incluye el commit. Solo existe con sentencias.monitoreo=true,
+ * si no las llamadas a los servicios no pasan por el aspecto
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "sentencias.monitoreo", havingValue = "true")
+@Order(0)
+@RequiredArgsConstructor
+public class MedicionAcciones {
+    private final MonitorSentencias monitorSentencias;
+
+    @Around("execution(public * org.example.service.*Service.*(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        monitorSentencias.iniciar(joinPoint.getSignature().toShortString());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            monitorSentencias.finalizar();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cuenta y mide las sentencias SQL que ejecuta cada acción
+ * Envuelve el DataSource en un proxy que registra cada execute de las conexiones que entrega.
+ * Una acción es la llamada a servicio más externa del hilo ({@link MedicionAcciones}): lo que hace un click.
+ * Al terminar se deja en el log si superó el umbral de tiempo o si repitió una misma sentencia
+ * (un posible N+1), y se acumulan las métricas por acción
+ */
+@Slf4j
+@Component
+public class MonitorSentencias implements BeanPostProcessor {
+    private final boolean habilitado;
+    private final Duration umbralLento;
+    private final int umbralRepeticiones;
+
+    private final ThreadLocal<Accion> accionActual = new ThreadLocal<>();
+    private final Map<String, Estadisticas> porAccion = new ConcurrentHashMap<>();
+
+    /**
+     * Métricas acumuladas de una acción
+     * @param ejecuciones veces que se ejecutó la acción
+     * @param sentencias total de sentencias de todas las ejecuciones
+     * @param maximoSentencias mayor cantidad de sentencias en una ejecución
+     * @param maximoNanos mayor duración de una ejecución
+     */
+    public record Estadisticas(long ejecuciones, long sentencias, int maximoSentencias, long maximoNanos) {
+        private Estadisticas sumar(Estadisticas otra) {
+            return new Estadisticas(ejecuciones + otra.ejecuciones, sentencias + otra.sentencias,
+                    Math.max(maximoSentencias, otra.maximoSentencias), Math.max(maximoNanos, otra.maximoNanos));
+        }
+    }
+
+    private static final class Accion {
+        private final String nombre;
+        private final long inicio = System.nanoTime();
+        private final Map<String, Integer> repeticiones = new HashMap<>();
+        private int profundidad = 1;
+        private int sentencias;
+        private long nanosSql;
+
+        private Accion(String nombre) {
+            this.nombre = nombre;
+        }
+    }
+
+    public MonitorSentencias(@Value("${sentencias.monitoreo:false}") boolean habilitado,
+                             @Value("${sentencias.accion-lenta:PT0.5S}") Duration umbralLento,
+                             @Value("${sentencias.repeticiones-sospechosas:10}") int umbralRepeticiones) {
+        this.habilitado = habilitado;
+        this.umbralLento = umbralLento;
+        this.umbralRepeticiones = umbralRepeticiones;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!habilitado || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        log.info("Monitoreo de sentencias SQL sobre el DataSource {}", beanName);
+        // Se conserva Closeable para que el pool se siga cerrando con el contexto
+        var interfaces = bean instanceof Closeable
+                ? new Class<?>[]{DataSource.class, Closeable.class}
+                : new Class<?>[]{DataSource.class};
+        return envolver(dataSource, interfaces, (destino, metodo, args) -> {
+            var resultado = invocar(destino, metodo, args);
+            return resultado instanceof Connection conexion ? envolverConexion(conexion) : resultado;
+        });
+    }
+
+    /**
+     * Empieza una acción en el hilo actual, si ya hay una la llamada queda dentro de ella
+     * @param nombre de la acción
+     */
+    public void iniciar(String nombre) {
+        var accion = accionActual.get();
+        if (accion != null) {
+            accion.profundidad++;
+        } else {
+            accionActual.set(new Accion(nombre));
+        }
+    }
+
+    /**
+     * Termina la acción del hilo actual; al cerrar la más externa acumula sus métricas y las deja en el log
+     */
+    public void finalizar() {
+        var accion = accionActual.get();
+        if (accion == null || --accion.profundidad > 0) {
+            return;
+        }
+        accionActual.remove();
+
+        var nanos = System.nanoTime() - accion.inicio;
+        porAccion.merge(accion.nombre, new Estadisticas(1, accion.sentencias, accion.sentencias, nanos),
+                Estadisticas::sumar);
+        if (nanos > umbralLento.toNanos()) {
+            log.warn("Acción lenta {}: {} ms, {} sentencias SQL ({} ms en la base de datos)", accion.nombre,
+                    nanos / 1_000_000, accion.sentencias, accion.nanosSql / 1_000_000);
+        } else {
+            log.debug("{}: {} ms, {} sentencias SQL", accion.nombre, nanos / 1_000_000, accion.sentencias);
+        }
+    }
+
+    /**
+     * Obtiene las métricas acumuladas por acción
+     * @return Map<String, Estadisticas> según el nombre de la acción (Servicio.metodo(..))
+     */
+    public Map<String, Estadisticas> estadisticas() {
+        return Map.copyOf(porAccion);
+    }
+
+    /**
+     * Descarta las métricas acumuladas
+     */
+    public void reiniciar() {
+        porAccion.clear();
+    }
+
+    /**
+     * Deja en el log las acciones con más sentencias al cerrar la aplicación
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void registrar() {
+        porAccion.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(
+                        Comparator.comparingInt(Estadisticas::maximoSentencias).reversed()))
+                .forEach(e -> log.info("{}: {} ejecuciones, {} sentencias SQL en total, máximo {} por ejecución",
+                        e.getKey(), e.getValue().ejecuciones(), e.getValue().sentencias(),
+                        e.getValue().maximoSentencias()));
+    }
+
+    private void registrarSentencia(String sql, long nanos) {
+        var accion = accionActual.get();
+        if (accion == null) {
+            return;
+        }
+        accion.sentencias++;
+        accion.nanosSql += nanos;
+        if (sql != null && accion.repeticiones.merge(sql, 1, Integer::sum) == umbralRepeticiones) {
+            log.warn("Posible N+1 en {}: la misma sentencia se ejecutó {} veces: {}",
+                    accion.nombre, umbralRepeticiones, sql);
+        }
+    }
+
+    private Connection envolverConexion(Connection conexion) {
+        return envolver(conexion, new Class<?>[]{Connection.class}, (destino, metodo, args) -> {
+            var resultado = invocar(destino, metodo, args);
+            if (resultado instanceof Statement sentencia) {
+                var sql = metodo.getName().startsWith("prepare") ? (String) args[0] : null;
+                return envolverSentencia(sentencia, sql);
+            }
+            return resultado;
+        });
+    }
+
+    private Statement envolverSentencia(Statement sentencia, String sqlPreparado) {
+        Class<?> tipo = sentencia instanceof CallableStatement ? CallableStatement.class
+                : sentencia instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return envolver(sentencia, new Class<?>[]{tipo}, (destino, metodo, args) -> {
+            if (!metodo.getName().startsWith("execute")) {
+                return invocar(destino, metodo, args);
+            }
+            var sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sqlPreparado;
+            var inicio = System.nanoTime();
+            try {
+                return invocar(destino, metodo, args);
+            } finally {
+                registrarSentencia(sql, System.nanoTime() - inicio);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object invocar(Object destino, Method metodo, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T envolver(T destino, Class<?>[] interfaces, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, metodo, args) -> interceptor.invocar(destino, metodo, args);
+        return (T) Proxy.newProxyInstance(MonitorSentencias.class.getClassLoader(), interfaces, handler);
+    }
+
+    private static Object invocar(Object destino, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -1,20 +1,31 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.example.enums.BloqueHorario;
 import org.example.enums.EstadoSolicitud;
+import org.example.enums.Permisos;
+import org.example.enums.TipoSolicitud;
 import org.example.exception.BadRequestException;
 import org.example.exception.ConflictException;
 import org.example.exception.NotFoundException;
 import org.example.model.*;
+import org.example.model.dto.OcupacionTurno;
 import org.example.model.dto.ReservaDTO;
+import org.example.model.dto.ReservaResumen;
 import org.example.repository.*;
+import org.example.security.RequierePermiso;
 import org.example.utils.Mapper;
 import org.example.utils.Utils;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,17 +36,21 @@ import java.util.stream.Collectors;
  * Clase que se encarga de comunicarse con el repositorio
  * y aplicar la lógica de negocio para manipular inscripciones
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReservaService{
-    private final EspacioService espacioService;
+    private static final Sort ORDEN = Sort.by("fechaInicio", "id");
     private final ReservaRepository repositorio;
     private final EspacioBaseRepository<Espacio> espacioBaseRepository;
     private final InscripcionRepository inscripcionRepository;
     private final ProfesorRepository profesorRepository;
-    private final AsignaturaRepository asignaturaRepository;
     private final SolicitudCambioAulaRepository solicitudRepository;
-    private final ReservaRepository reservaRepository;
+    private final ReservaOcurrenciaRepository ocurrenciaRepository;
+    private final ReservaOcurrenciaPendienteRepository pendienteRepository;
+    private final IndiceOcupacion indiceOcupacion;
+    private final BloqueoSlots bloqueoSlots;
+    private final DisponibilidadCache disponibilidadCache;
 
 
     /**
@@ -46,38 +61,44 @@ public class ReservaService{
        return repositorio.findAll();
     }
 
+    /**
+     * Lista una página de reservas, por defecto ordenadas por fecha de inicio
+     * Trae solo las columnas de la tabla, la reserva completa se obtiene al abrirla
+     * @param pagina número y tamaño de la página a traer
+     * @return Page<ReservaResumen>
+     */
+    public Page<ReservaResumen> listar(Pageable pagina) {
+        return repositorio.findResumenes(Utils.ordenar(pagina, ORDEN));
+    }
+
     /**
      * Guarda una reserva
      *
      * @param dto que queremos guardar
      * @throws BadRequestException sí existe un problema con los datos de reserva
      */
+    @Transactional(rollbackFor = Exception.class)
+    @RequierePermiso(Permisos.CREAR_RESERVA)
     public void guardar(ReservaDTO dto) throws BadRequestException, ConflictException, NotFoundException {
-        var idAula = dto.idEspacio();
-        var idInscripcion = dto.idInscripcion();
-
-        //Validamos y obtenemos la inscripción de la reserva
-        var inscripcion = validarInscripcionExistente(idInscripcion);
-
-        //Validamos y obtenemos el aula de la reserva
-        var aula = validarAulaExistenteById(idAula);
-
-        var reserva = Mapper.toReserva(dto);
-
-        // Validamos si el aula está disponible en el rango y bloque horario especificado
-        validarDisponibilidadAula(reserva);
-
-        // Validamos la capacidad del aula y la cantidad de alumnos en la inscripción
-        Utils.validarCapacidadEspacio(aula,inscripcion);
-
-        // Validación de que el aula sea un laboratorio si la asignatura lo requiere
-        validarRequiereLaboratorio(aula,inscripcion.getAsignatura().getId());
-
-        // Validamos si existen solicitudes de cambio pendientes que generen conflicto con la reserva
-        validarSolicitudesPendientes(reserva);
+        guardarSinPermiso(dto);
+    }
 
-        // Guardamos la reserva si pasa todas las validaciones
-        repositorio.save(reserva);
+    /**
+     * Guarda una reserva sin verificar el permiso de la sesión
+     * Lo usan los servicios que ya verificaron el suyo, como aprobar una solicitud de cambio
+     * @param dto que queremos guardar
+     * @throws BadRequestException sí existe un problema con los datos de reserva
+     */
+    @Transactional(rollbackFor = Exception.class)
+    void guardarSinPermiso(ReservaDTO dto) throws BadRequestException, ConflictException, NotFoundException {
+        // Bloqueamos los slots del aula hasta el commit, así la validación y el guardado no se cruzan con otro usuario
+        bloqueoSlots.bloquear(dto.idEspacio(), dto.diasYBloques());
+
+        // Validamos la reserva con todo lo que necesita ya cargado y la guardamos si pasa todas las validaciones
+        var contexto = prepararContexto(dto);
+        validar(contexto);
+        indiceOcupacion.registrar(guardarConOcurrencias(contexto.reserva()));
+        invalidarBusquedas(contexto.reserva());
     }
 
 
@@ -86,22 +107,35 @@ public class ReservaService{
      * @param id de la reserva que queremos eliminar
      * @throws NotFoundException si no se encuentra una reserva con ese ID
      */
+    @Transactional(rollbackFor = Exception.class)
+    @RequierePermiso(Permisos.ELIMINAR_RESERVA)
     public void eliminar(Integer id) throws NotFoundException {
-        try{
-            repositorio.deleteById(id);
-        }catch (EmptyResultDataAccessException e){
-            throw new NotFoundException("No existe la reserva");
-        }
+        var reserva = obtener(id);
+        ocurrenciaRepository.deleteByReservaId(id);
+        repositorio.delete(reserva);
+        indiceOcupacion.quitar(id);
+        invalidarBusquedas(reserva);
     }
 
     /**
-     * Obtiene una reserva por ID
+     * Obtiene una reserva por ID, con su espacio, inscripción y días y bloques
      * @param id de la reserva
      * @return Reserva con ese ID
      * @throws NotFoundException Si no se encuentra la reserva con ese ID
      */
     public Reserva obtener(Integer id) throws NotFoundException {
-        return repositorio.findById(id)
+        return repositorio.findDetalleById(id)
+                .orElseThrow(()-> new NotFoundException("No existe la reserva"));
+    }
+
+    /**
+     * Obtiene el resumen de una reserva por ID, con las columnas que muestran las tablas
+     * @param id de la reserva
+     * @return ReservaResumen con ese ID
+     * @throws NotFoundException Si no se encuentra la reserva con ese ID
+     */
+    public ReservaResumen obtenerResumen(Integer id) throws NotFoundException {
+        return repositorio.findResumen(id)
                 .orElseThrow(()-> new NotFoundException("No existe la reserva"));
     }
 
@@ -110,32 +144,158 @@ public class ReservaService{
      * @param dto que se va a modificar
      * @throws NotFoundException Si no encuentra reserva o aula o inscripción
      */
+    @Transactional(rollbackFor = Exception.class)
+    @RequierePermiso(Permisos.MODIFICAR_RESERVA)
     public void modificar(ReservaDTO dto) throws NotFoundException, BadRequestException, ConflictException {
-        if (!reservaRepository.existsById(dto.id())) {
-            throw new BadRequestException("No se encontró la reserva");
-        }
-        //Validamos y obtenemos la inscripción de la reserva
-        var inscripcion = validarInscripcionExistente(dto.idInscripcion());
+        modificarSinPermiso(dto);
+    }
+
+    /**
+     * Modifica una reserva sin verificar el permiso de la sesión
+     * Lo usan los servicios que ya verificaron el suyo, como aprobar una solicitud de cambio
+     * @param dto que se va a modificar
+     * @throws NotFoundException Si no encuentra reserva o aula o inscripción
+     */
+    @Transactional(rollbackFor = Exception.class)
+    void modificarSinPermiso(ReservaDTO dto) throws NotFoundException, BadRequestException, ConflictException {
+        // Cargamos la reserva en la transacción, así el guardado la reutiliza en lugar de volver a buscarla
+        var original = repositorio.findById(dto.id())
+                .orElseThrow(() -> new BadRequestException("No se encontró la reserva"));
+        var fechaInicioOriginal = original.getFechaInicio();
+        var fechaFinOriginal = original.getFechaFin();
+        var mascaraOriginal = original.getMascaraHorario();
+
+        // Bloqueamos los slots del aula hasta el commit, así la validación y el guardado no se cruzan con otro usuario
+        bloqueoSlots.bloquear(dto.idEspacio(), dto.diasYBloques());
+
+        // Validamos la reserva y la modificamos si pasa todas las validaciones, reemplazando sus ocurrencias
+        var contexto = prepararContexto(dto);
+        validar(contexto);
+        ocurrenciaRepository.deleteByReservaId(dto.id());
+        indiceOcupacion.registrar(guardarConOcurrencias(contexto.reserva()));
+        disponibilidadCache.invalidar(fechaInicioOriginal, fechaFinOriginal, mascaraOriginal);
+        invalidarBusquedas(contexto.reserva());
+    }
 
-        //Validamos y obtenemos el aula de la reserva
-        var aula = validarAulaExistenteById(dto.idEspacio());
+    /**
+     * Invalida las búsquedas de disponibilidad que se superponen con la reserva
+     * @param reserva creada, modificada o eliminada
+     */
+    private void invalidarBusquedas(Reserva reserva) {
+        disponibilidadCache.invalidar(reserva.getFechaInicio(), reserva.getFechaFin(), reserva.getMascaraHorario());
+    }
+
+    /**
+     * Datos que necesitan las validaciones de una reserva, cargados una sola vez
+     * @param reserva armada a partir del DTO con su espacio e inscripción
+     * @param espacio de la reserva
+     * @param inscripcion de la reserva con su asignatura y profesor
+     */
+    private record ContextoReserva(Reserva reserva, Espacio espacio, Inscripcion inscripcion) {}
+
+    /**
+     * Carga la inscripción (con su asignatura y profesor) y el espacio de la reserva
+     * @param dto de la reserva
+     * @return ContextoReserva con la reserva lista para guardar
+     * @throws NotFoundException si no existe la inscripción o el espacio
+     */
+    private ContextoReserva prepararContexto(ReservaDTO dto) throws NotFoundException {
+        var inscripcion = validarInscripcionExistente(dto.idInscripcion());
+        var espacio = validarAulaExistenteById(dto.idEspacio());
 
         var reserva = Mapper.toReserva(dto);
+        reserva.setEspacio(espacio);
+        reserva.setInscripcion(inscripcion);
+        return new ContextoReserva(reserva, espacio, inscripcion);
+    }
 
+    /**
+     * Corre todas las validaciones de una reserva sobre su contexto, sin volver a la base de datos
+     * salvo para las solicitudes pendientes
+     * @param contexto de la reserva
+     * @throws BadRequestException si el aula no está disponible, no tiene capacidad o no es un laboratorio requerido
+     * @throws ConflictException si hay solicitudes pendientes en conflicto
+     */
+    private void validar(ContextoReserva contexto) throws BadRequestException, ConflictException {
         // Validamos si el aula está disponible en el rango y bloque horario especificado
-        validarDisponibilidadAula(reserva);
+        validarDisponibilidadAula(contexto.reserva());
 
         // Validamos la capacidad del aula y la cantidad de alumnos en la inscripción
-        Utils.validarCapacidadEspacio(aula,inscripcion);
+        Utils.validarCapacidadEspacio(contexto.espacio(), contexto.inscripcion());
 
         // Validación de que el aula sea un laboratorio si la asignatura lo requiere
-        validarRequiereLaboratorio(aula,inscripcion.getAsignatura().getId());
+        Utils.validarRequiereLaboratorio(contexto.espacio(), contexto.inscripcion().getAsignatura());
 
         // Validamos si existen solicitudes de cambio pendientes que generen conflicto con la reserva
-        validarSolicitudesPendientes(reserva);
+        validarSolicitudesPendientes(contexto.reserva());
+    }
+
+    /**
+     * Guarda la reserva junto con sus ocurrencias concretas
+     * La clave primaria de reserva_ocurrencia rechaza un slot ya ocupado aunque dos guardados se crucen
+     * @param reserva validada que se quiere guardar
+     * @return Reserva guardada
+     * @throws BadRequestException si otra reserva ocupó alguno de sus slots
+     */
+    private Reserva guardarConOcurrencias(Reserva reserva) throws BadRequestException {
+        try {
+            var guardada = repositorio.save(reserva);
+            ocurrenciaRepository.saveAllAndFlush(ReservaOcurrencia.desde(guardada));
+            return guardada;
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException(String.format("El aula %d no está disponible.", reserva.getEspacio().getId()));
+        }
+    }
+
+    /**
+     * Genera las ocurrencias de las reservas anotadas como pendientes (datos previos a la tabla)
+     * Si dos reservas viejas ya se pisaban, se conserva la primera ocurrencia y se deja aviso en el log.
+     * Las pendientes se borran al terminar, también las que no generaron ninguna ocurrencia
+     */
+    @Transactional
+    public void completarOcurrencias() {
+        var pendientes = repositorio.findPendientesDeOcurrencias();
+        if (pendientes.isEmpty()) {
+            return;
+        }
 
-        // Modificamos la reserva si pasa todas las validaciones
-        repositorio.save(reserva);
+        // Slots ya ocupados, una consulta por espacio sobre el rango de fechas de sus reservas pendientes
+        Set<ReservaOcurrenciaId> ocupadas = new HashSet<>();
+        pendientes.stream()
+                .collect(Collectors.groupingBy(r -> r.getEspacio().getId()))
+                .forEach((idEspacio, reservas) -> ocupadas.addAll(ocurrenciaRepository.findIdsOcupados(
+                        List.of(idEspacio),
+                        reservas.stream().map(Reserva::getFechaInicio).min(Comparator.naturalOrder()).orElseThrow(),
+                        reservas.stream().map(Reserva::getFechaFin).max(Comparator.naturalOrder()).orElseThrow())));
+
+        for (var reserva : pendientes) {
+            var ocurrencias = ReservaOcurrencia.desde(reserva).stream()
+                    .filter(o -> {
+                        if (!ocupadas.add(o.getId())) {
+                            log.warn("La reserva {} pisa un slot ya ocupado: {}", reserva.getId(), o.getId());
+                            return false;
+                        }
+                        return true;
+                    })
+                    .toList();
+            ocurrenciaRepository.saveAll(ocurrencias);
+        }
+        pendienteRepository.deleteAllInBatch();
+        log.info("Se generaron las ocurrencias de {} reservas", pendientes.size());
+    }
+
+    /**
+     * Calcula la máscara horaria de las reservas guardadas antes de que existiera la columna
+     */
+    @Transactional
+    public void completarMascarasHorarias() {
+        var pendientes = repositorio.findByMascaraHorario(0L).stream()
+                .filter(r -> !r.getDiasYBloques().isEmpty())
+                .toList();
+        pendientes.forEach(Reserva::actualizarMascaraHorario);
+        if (!pendientes.isEmpty()) {
+            log.info("Se calculó la máscara horaria de {} reservas", pendientes.size());
+        }
     }
 
     // Validaciones
@@ -150,17 +310,6 @@ public class ReservaService{
                 .orElseThrow(() -> new NotFoundException("No existe el aula"));
     }
 
-    /**
-     * Valída la existencia de una Asignatura por ID
-     * @param idAsignatura de la asignatura que se quiere verificar
-     * @return Asignatura si existe
-     * @throws NotFoundException Si no se encuentra la asignatura con ese ID*/
-    private Asignatura validarAsignaturaExistente(Integer idAsignatura) throws NotFoundException {
-        return asignaturaRepository.findById(idAsignatura)
-                .orElseThrow(()-> new NotFoundException("No existe la asignatura"));
-    }
-
-
     /**
      * Valida la existencia de una inscripción
      * @param idInscripcion de la inscripción que se quiere verificar
@@ -168,7 +317,7 @@ public class ReservaService{
      * @throws NotFoundException Si no se encuentra la inscripción con ese ID
      */
     private Inscripcion validarInscripcionExistente(Integer idInscripcion) throws NotFoundException {
-        return inscripcionRepository.findById(idInscripcion)
+        return inscripcionRepository.findConAsignaturaYProfesor(idInscripcion)
                 .orElseThrow(()-> new NotFoundException("No existe la inscripción"));
     }
 
@@ -179,9 +328,14 @@ public class ReservaService{
      * @throws BadRequestException si no está disponible el aula en ese período
      */
     private void validarDisponibilidadAula(Reserva reserva) throws BadRequestException {
-        var aulasDisponibles = espacioService.listarEspaciosDisponibles(reserva.getFechaInicio(), reserva.getFechaFin()
-                , reserva.getDiasYBloques());
-        if (!aulasDisponibles.contains(reserva.getEspacio())) {
+        if (reserva.getDiasYBloques().isEmpty()) {
+            return;
+        }
+        // Contra la base de datos y no contra el índice en memoria, que no ve lo que guardan o borran otros equipos.
+        // La reserva que se modifica no entra en conflicto consigo misma
+        var ocupado = ocurrenciaRepository.existsOcupacion(reserva.getEspacio().getId(), reserva.getFechaInicio(),
+                reserva.getFechaFin(), DiaBloque.slotsSemanales(reserva.getDiasYBloques()), reserva.getId());
+        if (ocupado) {
             throw new BadRequestException(String.format("El aula %d no está disponible.", reserva.getEspacio().getId()));
         }
     }
@@ -194,22 +348,12 @@ public class ReservaService{
     private void validarSolicitudesPendientes(Reserva reserva) throws ConflictException {
         var set = reserva.getDiasYBloques();
 
-        var listDia = set.stream()
-                .map(DiaBloque::getDia)
-                .map(DayOfWeek::toString)
-                .toList();
-        var listBloque = set.stream()
-                .map(DiaBloque::getBloqueHorario)
-                .map(BloqueHorario::toString)
-                .toList();
-
         var solicitudesPendientes = solicitudRepository.find(
                 reserva.getEspacio().getId(),
                 reserva.getFechaInicio(),
                 reserva.getFechaFin(),
                 EstadoSolicitud.PENDIENTE,
-                listDia,
-                listBloque);
+                reserva.getMascaraHorario());
 
         if (!solicitudesPendientes.isEmpty()) {
             // Creamos un StringBuilder para armar el mensaje de conflicto
@@ -243,13 +387,6 @@ public class ReservaService{
         }
     }
 
-    private void validarRequiereLaboratorio(Espacio espacio,Integer idAsignatura) throws NotFoundException, BadRequestException {
-        var asignatura = validarAsignaturaExistente(idAsignatura);
-        if (asignatura.isRequiereLaboratorio() && !(espacio instanceof Laboratorio)){
-            throw new BadRequestException(String.format("El aula %d no es un laboratorio, no sirve para %s", espacio.getNumero(), asignatura.getNombre()));
-        }
-    }
-
     //filtros
 
     /**
@@ -265,4 +402,89 @@ public class ReservaService{
 
         return repositorio.findByIdProfesor(idProfe);
     }
+
+    /**
+     * Lista una página de las reservas de un profesor, por defecto ordenadas por fecha de inicio
+     * No valida el profesor en cada página: se usa con el profesor de la sesión
+     * @param idProfe del profesor
+     * @param pagina número y tamaño de la página a traer
+     * @return Page<ReservaResumen> vacía si el profesor no tiene reservas
+     */
+    public Page<ReservaResumen> listarReservasPorProfesor(int idProfe, Pageable pagina) {
+        return repositorio.findResumenesPorProfesor(idProfe, Utils.ordenar(pagina, ORDEN));
+    }
+
+    /**
+     * Lista el historial de reservas paginado por clave, ordenado por fecha de inicio
+     * @param posicion desde la que se sigue, ScrollPosition.keyset() para la primera página
+     * @param tamanio cantidad de reservas por página
+     * @return Window<ReservaResumen> con las reservas que siguen a esa posición
+     */
+    public Window<ReservaResumen> listarHistorial(ScrollPosition posicion, int tamanio) {
+        return listarHistorial(null, posicion, tamanio);
+    }
+
+    /**
+     * Lista el historial de reservas de un profesor paginado por clave, ordenado por fecha de inicio
+     * @param idProfe del profesor
+     * @param posicion desde la que se sigue, ScrollPosition.keyset() para la primera página
+     * @param tamanio cantidad de reservas por página
+     * @return Window<ReservaResumen> con las reservas del profesor que siguen a esa posición
+     */
+    public Window<ReservaResumen> listarHistorialPorProfesor(int idProfe, ScrollPosition posicion, int tamanio) {
+        return listarHistorial(idProfe, posicion, tamanio);
+    }
+
+    /**
+     * Lista los turnos ocupados de un espacio en un rango de fechas, pensado para una semana del calendario
+     * @param idEspacio del espacio
+     * @param desde primera fecha del rango
+     * @param hasta última fecha del rango
+     * @return List<OcupacionTurno> una por fecha y bloque ocupado
+     */
+    public List<OcupacionTurno> listarOcupacionEspacio(Integer idEspacio, LocalDate desde, LocalDate hasta) {
+        return ocurrenciaRepository.findOcupacionEspacio(idEspacio, desde, hasta,
+                EstadoSolicitud.APROBADA, TipoSolicitud.TEMPORAL);
+    }
+
+    /**
+     * Lista los turnos que dicta un profesor en un rango de fechas, en cualquier espacio
+     * @param idProfe del profesor
+     * @param desde primera fecha del rango
+     * @param hasta última fecha del rango
+     * @return List<OcupacionTurno> una por fecha y bloque ocupado
+     */
+    public List<OcupacionTurno> listarOcupacionProfesor(int idProfe, LocalDate desde, LocalDate hasta) {
+        return ocurrenciaRepository.findOcupacionProfesor(idProfe, desde, hasta,
+                EstadoSolicitud.APROBADA, TipoSolicitud.TEMPORAL);
+    }
+
+    /**
+     * Las proyecciones con @Query no se pueden recorrer con ScrollPosition, así que la clave
+     * (fechaInicio, id) se compara en la consulta y la ventana se arma acá
+     */
+    private Window<ReservaResumen> listarHistorial(Integer idProfe, ScrollPosition posicion, int tamanio) {
+        var keyset = (KeysetScrollPosition) posicion;
+        var fechaInicio = (LocalDate) keyset.getKeys().get("fechaInicio");
+        var id = (Integer) keyset.getKeys().get("id");
+        // Una fila de más para saber si hay otra página
+        var limite = Limit.of(tamanio + 1);
+
+        List<ReservaResumen> filas;
+        if (!keyset.scrollsForward()) {
+            filas = idProfe == null
+                    ? repositorio.findResumenesAnteriores(fechaInicio, id, limite)
+                    : repositorio.findResumenesAnterioresPorProfesor(idProfe, fechaInicio, id, limite);
+        } else if (id == null) {
+            filas = idProfe == null
+                    ? repositorio.findResumenesPrimeros(limite)
+                    : repositorio.findResumenesPrimerosPorProfesor(idProfe, limite);
+        } else {
+            filas = idProfe == null
+                    ? repositorio.findResumenesSiguientes(fechaInicio, id, limite)
+                    : repositorio.findResumenesSiguientesPorProfesor(idProfe, fechaInicio, id, limite);
+        }
+        return Utils.ventana(filas, tamanio, keyset.scrollsForward(),
+                r -> Map.of("fechaInicio", r.fechaInicio(), "id", r.id()));
+    }
 }
@@ -1,26 +1,34 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
-import org.example.enums.BloqueHorario;
+import lombok.extern.slf4j.Slf4j;
 import org.example.enums.EstadoSolicitud;
+import org.example.enums.Permisos;
 import org.example.enums.TipoSolicitud;
 import org.example.exception.BadRequestException;
 import org.example.exception.ConflictException;
 import org.example.exception.NotFoundException;
 import org.example.model.*;
 import org.example.model.dto.SolicitudCambioAulaDTO;
+import org.example.model.dto.SolicitudResumen;
 import org.example.repository.*;
+import org.example.security.RequierePermiso;
 import org.example.utils.Mapper;
 import org.example.utils.Utils;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SolicitudCambioAulaService{
+    private static final Sort ORDEN = Sort.by("fechaHoraSolicitud", "id");
     private final SolicitudCambioAulaRepository repositorio;
     private final EspacioBaseRepository<Espacio> espacioBaseRepository;
     private final EspacioService espacioService;
@@ -43,30 +51,21 @@ public class SolicitudCambioAulaService{
      * @param dto que queremos guardar
      * @throws BadRequestException  si existe una solicitud, o no se encuentra las clases que contiene
      */
+    @RequierePermiso(Permisos.SOLICITAR_CAMBIO)
     public void guardar(SolicitudCambioAulaDTO dto) throws NotFoundException, BadRequestException {
         var idAula = dto.idEspacio();
         var idProfesor = dto.idProfesor();
         var idReserva = dto.idReserva();
-        var set = dto.diasYBloques();
-
-        var listDia = set.stream()
-                .map(DiaBloque::getDia)
-                .map(DayOfWeek::toString)
-                .toList();
-        var listBloque = set.stream()
-                .map(DiaBloque::getBloqueHorario)
-                .map(BloqueHorario::toString)
-                .toList();
 
         // Validamos que no exista una solicitud con esas características
         var solicitudExistente = repositorio.findByCriteria(idProfesor, idAula, idReserva, dto.fechaInicio(),
-                dto.fechaFin(), listDia,listBloque);
+                dto.fechaFin(), DiaBloque.mascara(dto.diasYBloques()));
 
         if (solicitudExistente.isEmpty()) {
             var aula =validarAulaExistente(idAula);
             validarDisponibilidadEspacio(dto);
 
-            var reserva = reservaRepository.findById(idReserva)
+            var reserva = reservaRepository.findDetalleById(idReserva)
                     .orElseThrow(()-> new NotFoundException("Reserva no encontrada"));
 
             Utils.validarCapacidadEspacio(aula,reserva.getInscripcion());
@@ -86,6 +85,7 @@ public class SolicitudCambioAulaService{
      * @param id de la solicitud que queremos eliminar
      * @throws NotFoundException si no se encuentra una solicitud con ese ID
      */
+    @RequierePermiso(Permisos.SOLICITAR_CAMBIO)
     public void eliminar(Integer id) throws NotFoundException {
        try {
            repositorio.deleteById(id);
@@ -114,6 +114,8 @@ public class SolicitudCambioAulaService{
      * @throws BadRequestException si la solicitud no esta pendiente
      * @throws ConflictException si ocurre un problema de conflictos al guardar la nueva reserva
      */
+    @Transactional(rollbackFor = Exception.class)
+    @RequierePermiso(Permisos.GESTIONAR_CAMBIOS)
     public void aprobarSolicitud(Integer id,String comentario) throws NotFoundException, BadRequestException, ConflictException {
         // Validamos que existe una solicitud con ese ID
         var solicitud = validarSolicitudExistente(id);
@@ -136,8 +138,9 @@ public class SolicitudCambioAulaService{
         repositorio.save(solicitudCambioAula);
 
         // Si la solicitud es temporal creamos una nueva reserva
+        // El permiso para aprobar ya alcanza, la reserva se guarda sin pedir los permisos de reservas
         if (solicitud.getTipoSolicitud().equals(TipoSolicitud.TEMPORAL)){
-            reservaService.guardar(Mapper.reservaToDTO(
+            reservaService.guardarSinPermiso(Mapper.reservaToDTO(
                     new Reserva(null,solicitud.getFechaInicio(),solicitud.getFechaFin(),aula,
                             reserva.getInscripcion(),
                             reserva.getDiasYBloques()
@@ -146,7 +149,7 @@ public class SolicitudCambioAulaService{
 
             //Si no la reserva es Permanente y modificamos la original
         }else if(solicitud.getTipoSolicitud().equals(TipoSolicitud.PERMANENTE)){
-            reservaService.modificar(Mapper.reservaToDTO(
+            reservaService.modificarSinPermiso(Mapper.reservaToDTO(
                     new Reserva(reserva.getId(),solicitud.getFechaInicio(),
                             solicitud.getFechaFin(),aula, reserva.getInscripcion(), reserva.getDiasYBloques()
                     )
@@ -160,6 +163,7 @@ public class SolicitudCambioAulaService{
      * @throws NotFoundException si no encuentra la solicitud o reserva
      * @throws BadRequestException si la solicitud no esta pendiente
      */
+    @RequierePermiso(Permisos.GESTIONAR_CAMBIOS)
     public void rechazarSolicitud(Integer id,String comentario) throws NotFoundException, BadRequestException {
         // Validamos que existe una solicitud con ese ID
         var solicitud = validarSolicitudExistente(id);
@@ -190,7 +194,7 @@ public class SolicitudCambioAulaService{
      * @throws NotFoundException Si no se encuentra la solicitud con ese ID
      */
     private SolicitudCambioAula validarSolicitudExistente(Integer id) throws NotFoundException {
-        return repositorio.findById(id)
+        return repositorio.findDetalleById(id)
                 .orElseThrow(() -> new NotFoundException("No existe la solicitud"));
     }
 
@@ -224,7 +228,9 @@ public class SolicitudCambioAulaService{
      * @throws NotFoundException Si no se encuentra la reserva con ese ID
      */
     private void validarReservaExistente(Integer idReserva) throws NotFoundException{
-        reservaService.obtener(idReserva);
+        if (!reservaRepository.existsById(idReserva)) {
+            throw new NotFoundException("No existe la reserva");
+        }
     }
 
     /**
@@ -258,6 +264,16 @@ public class SolicitudCambioAulaService{
         return repositorio.findByEstado(estado);
     }
 
+    /**
+     * Listar una página de solicitudes por estado, por defecto de la más vieja a la más nueva
+     * @param estado de las solicitudes a listar
+     * @param pagina número y tamaño de la página a traer
+     * @return Page<SolicitudResumen> con ese estado, la solicitud completa se obtiene al abrirla
+     */
+    public Page<SolicitudResumen> listarSolicitudesPorEstado(EstadoSolicitud estado, Pageable pagina) {
+        return repositorio.findResumenesPorEstado(estado, Utils.ordenar(pagina, ORDEN));
+    }
+
 
     /**
      * Listar solicitudes por estado y profesor
@@ -274,4 +290,86 @@ public class SolicitudCambioAulaService{
 
         return repositorio.findByEstadoAndProfesor_Id(estado,idProfesor);
     }
+
+    /**
+     * Listar una página de solicitudes por estado y profesor, por defecto de la más vieja a la más nueva
+     * No valida el profesor en cada página: se usa con el profesor de la sesión
+     * @param estado de las solicitudes a listar
+     * @param idProfesor del profesor a filtrar
+     * @param pagina número y tamaño de la página a traer
+     * @return Page<SolicitudResumen> de ese profesor y con ese estado, la solicitud completa se obtiene al abrirla
+     */
+    public Page<SolicitudResumen> listarSolicitudesPorEstadoYProfesor(EstadoSolicitud estado, Integer idProfesor,
+                                                                       Pageable pagina) {
+        return repositorio.findResumenesPorEstadoYProfesor(estado, idProfesor, Utils.ordenar(pagina, ORDEN));
+    }
+
+    /**
+     * Listar el historial de solicitudes por estado paginado por clave, de la más vieja a la más nueva
+     * @param estado de las solicitudes a listar
+     * @param posicion desde la que se sigue, ScrollPosition.keyset() para la primera página
+     * @param tamanio cantidad de solicitudes por página
+     * @return Window<SolicitudResumen> con las solicitudes que siguen a esa posición
+     */
+    public Window<SolicitudResumen> listarHistorialPorEstado(EstadoSolicitud estado, ScrollPosition posicion,
+                                                             int tamanio) {
+        return listarHistorial(estado, null, posicion, tamanio);
+    }
+
+    /**
+     * Listar el historial de solicitudes por estado y profesor paginado por clave, de la más vieja a la más nueva
+     * @param estado de las solicitudes a listar
+     * @param idProfesor del profesor a filtrar
+     * @param posicion desde la que se sigue, ScrollPosition.keyset() para la primera página
+     * @param tamanio cantidad de solicitudes por página
+     * @return Window<SolicitudResumen> con las solicitudes que siguen a esa posición
+     */
+    public Window<SolicitudResumen> listarHistorialPorEstadoYProfesor(EstadoSolicitud estado, Integer idProfesor,
+                                                                      ScrollPosition posicion, int tamanio) {
+        return listarHistorial(estado, idProfesor, posicion, tamanio);
+    }
+
+    /**
+     * Las proyecciones con @Query no se pueden recorrer con ScrollPosition, así que la clave
+     * (fechaHoraSolicitud, id) se compara en la consulta y la ventana se arma acá
+     */
+    private Window<SolicitudResumen> listarHistorial(EstadoSolicitud estado, Integer idProfesor,
+                                                     ScrollPosition posicion, int tamanio) {
+        var keyset = (KeysetScrollPosition) posicion;
+        var fechaHora = (LocalDateTime) keyset.getKeys().get("fechaHoraSolicitud");
+        var id = (Integer) keyset.getKeys().get("id");
+        // Una fila de más para saber si hay otra página
+        var limite = Limit.of(tamanio + 1);
+
+        List<SolicitudResumen> filas;
+        if (!keyset.scrollsForward()) {
+            filas = idProfesor == null
+                    ? repositorio.findResumenesAnterioresPorEstado(estado, fechaHora, id, limite)
+                    : repositorio.findResumenesAnterioresPorEstadoYProfesor(estado, idProfesor, fechaHora, id, limite);
+        } else if (id == null) {
+            filas = idProfesor == null
+                    ? repositorio.findResumenesPrimerosPorEstado(estado, limite)
+                    : repositorio.findResumenesPrimerosPorEstadoYProfesor(estado, idProfesor, limite);
+        } else {
+            filas = idProfesor == null
+                    ? repositorio.findResumenesSiguientesPorEstado(estado, fechaHora, id, limite)
+                    : repositorio.findResumenesSiguientesPorEstadoYProfesor(estado, idProfesor, fechaHora, id, limite);
+        }
+        return Utils.ventana(filas, tamanio, keyset.scrollsForward(),
+                s -> Map.of("fechaHoraSolicitud", s.fechaHoraSolicitud(), "id", s.id()));
+    }
+
+    /**
+     * Calcula la máscara horaria de las solicitudes guardadas antes de que existiera la columna
+     */
+    @Transactional
+    public void completarMascarasHorarias() {
+        var pendientes = repositorio.findByMascaraHorario(0L).stream()
+                .filter(s -> !s.getDiasYBloques().isEmpty())
+                .toList();
+        pendientes.forEach(SolicitudCambioAula::actualizarMascaraHorario);
+        if (!pendientes.isEmpty()) {
+            log.info("Se calculó la máscara horaria de {} solicitudes", pendientes.size());
+        }
+    }
 }
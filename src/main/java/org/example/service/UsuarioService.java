@@ -2,17 +2,27 @@ package org.example.service;
 
 
 import lombok.RequiredArgsConstructor;
+import org.example.enums.Permisos;
 import org.example.exception.BadRequestException;
 import org.example.exception.NotFoundException;
 import org.example.model.Usuario;
 import org.example.model.dto.UsuarioDTO;
 import org.example.repository.UsuarioRepository;
+import org.example.security.RequierePermiso;
+import org.example.security.SesionActual;
 import org.example.utils.Mapper;
+import org.example.utils.Utils;
+import org.mindrot.jbcrypt.BCrypt;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 
 /**
@@ -22,7 +32,9 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class UsuarioService{
+    private static final Sort ORDEN = Sort.by("username");
     private final UsuarioRepository repositorioUsuario;
+    private final SesionActual sesionActual;
     /**
      * Lista todos los usuarios
      * @return List<UsuarioDTO>
@@ -31,12 +43,31 @@ public class UsuarioService{
         return repositorioUsuario.findAll();
     }
 
+    /**
+     * Lista una página de usuarios, por defecto ordenados por username
+     * @param pagina número y tamaño de la página a traer
+     * @return Page<Usuario>
+     */
+    public Page<Usuario> listar(Pageable pagina) {
+        return repositorioUsuario.findAll(Utils.ordenar(pagina, ORDEN));
+    }
+
+    /**
+     * Busca un usuario por username con su rol, permisos y profesor
+     * @param username del usuario
+     * @return Optional<Usuario> vacío si no existe
+     */
+    public Optional<Usuario> buscarPorUsername(String username) {
+        return repositorioUsuario.findConRolByUsername(username);
+    }
+
     /**
      * Guarda un usuario
      *
      * @param dto que queremos save
      * @throws BadRequestException si existe un usuario con ese username
      */
+    @RequierePermiso(Permisos.CREAR_USUARIO)
     public void guardar(UsuarioDTO dto) throws NotFoundException, BadRequestException {
         try {
             repositorioUsuario.save(Mapper.toUsuario(dto));
@@ -61,6 +92,7 @@ public class UsuarioService{
      * @param id del usuario que queremos eliminar
      * @throws NotFoundException si no se encuentra un usuario con ese id
      */
+    @RequierePermiso(Permisos.ELIMINAR_USUARIO)
     public void eliminar(Integer id) throws NotFoundException {
         try{
             repositorioUsuario.deleteById(id);
@@ -86,6 +118,7 @@ public class UsuarioService{
      * @param dto que se quiere modificar
      * @throws NotFoundException si no encuentra el usuario que se quiere modificar
      */
+    @RequierePermiso(Permisos.MODIFICAR_USUARIO)
     public void modificar(UsuarioDTO dto) throws NotFoundException {
         // Validamos que el usuario exista
         if (!repositorioUsuario.existsById(dto.id())) {
@@ -98,4 +131,17 @@ public class UsuarioService{
             throw new NotFoundException("Uno de los valores referenciados (Rol o Profesor) no existe.");
         }
     }
+
+    /**
+     * Cambia la contraseña del usuario de la sesión, sin tocar su rol ni su profesor
+     * @param password nueva contraseña, sin encriptar
+     * @throws NotFoundException si el usuario de la sesión ya no existe
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @RequierePermiso(Permisos.CAMBIAR_PASSWORD)
+    public void cambiarPassword(String password) throws NotFoundException {
+        var usuario = repositorioUsuario.findById(sesionActual.getUsuario().getId())
+                .orElseThrow(() -> new NotFoundException("El usuario no existe"));
+        usuario.setPassword(BCrypt.hashpw(password, BCrypt.gensalt()));
+    }
 }
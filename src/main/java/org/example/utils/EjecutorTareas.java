@@ -0,0 +1,228 @@
+package org.example.utils;
+
+import javafx.application.Platform;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.exception.GlobalExceptionHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Ejecuta las llamadas a servicios de las vistas fuera del hilo de JavaFX, en hilos virtuales
+ * El resultado vuelve al hilo de JavaFX con Platform.runLater y los errores (también los Error) van al
+ * GlobalExceptionHandler.
+ * Una tarea con clave reemplaza a la que sigue en curso con la misma clave (por ejemplo, volver a buscar
+ * o cambiar de página antes de que termine la anterior): su resultado se descarta. La anterior no se interrumpe,
+ * interrumpir un hilo bloqueado en el socket de JDBC cierra la conexión del pool mientras la consulta sigue en el
+ * servidor
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EjecutorTareas implements DisposableBean {
+    private final GlobalExceptionHandler globalExceptionHandler;
+    private final ExecutorService ejecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("tarea-", 0).factory());
+    private final Map<Object, Tarea<?>> enCurso = new ConcurrentHashMap<>();
+
+    /**
+     * Llamada a un servicio, puede lanzar las excepciones de negocio
+     */
+    @FunctionalInterface
+    public interface Llamada<T> {
+        T llamar() throws Exception;
+    }
+
+    /**
+     * Llamada a un servicio sin resultado, por ejemplo una modificación
+     */
+    @FunctionalInterface
+    public interface Accion {
+        void ejecutar() throws Exception;
+    }
+
+    /**
+     * Prepara una tarea, no se ejecuta hasta llamar a {@link Tarea#iniciar()}
+     * @param llamada que se ejecuta fuera del hilo de JavaFX
+     * @return Tarea para configurar
+     */
+    public <T> Tarea<T> tarea(Llamada<T> llamada) {
+        return new Tarea<>(llamada);
+    }
+
+    /**
+     * Prepara una tarea sin resultado, no se ejecuta hasta llamar a {@link Tarea#iniciar()}
+     * @param accion que se ejecuta fuera del hilo de JavaFX
+     * @return Tarea para configurar
+     */
+    public Tarea<Void> accion(Accion accion) {
+        return new Tarea<>(() -> {
+            accion.ejecutar();
+            return null;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Tarea de una vista: se configura y se inicia desde el hilo de JavaFX
+     */
+    public final class Tarea<T> {
+        private final Llamada<T> llamada;
+        private final List<Node> bloqueados = new ArrayList<>();
+        private Object clave;
+        private Node indicador;
+        private Consumer<? super T> alTerminar = resultado -> {};
+        private Consumer<Exception> alFallar = globalExceptionHandler::manejar;
+        private volatile boolean cancelada;
+        private Future<?> futuro;
+
+        private Tarea(Llamada<T> llamada) {
+            this.llamada = llamada;
+        }
+
+        /**
+         * La tarea reemplaza a la que sigue en curso con la misma clave
+         * @param clave de la acción, por ejemplo el control que la dispara
+         * @return Tarea
+         */
+        public Tarea<T> reemplazando(Object clave) {
+            this.clave = clave;
+            return this;
+        }
+
+        /**
+         * Deshabilita los controles mientras la tarea está en curso (los que tienen disable enlazado no se tocan)
+         * @param nodos a deshabilitar
+         * @return Tarea
+         */
+        public Tarea<T> bloqueando(Node... nodos) {
+            bloqueados.addAll(List.of(nodos));
+            return this;
+        }
+
+        /**
+         * Indica que hay una tarea en curso: un ProgressIndicator se muestra, en otro nodo se pone el cursor de espera
+         * @param indicador de progreso
+         * @return Tarea
+         */
+        public Tarea<T> indicando(Node indicador) {
+            this.indicador = indicador;
+            return this;
+        }
+
+        /**
+         * @param alTerminar recibe el resultado en el hilo de JavaFX
+         * @return Tarea
+         */
+        public Tarea<T> alTerminar(Consumer<? super T> alTerminar) {
+            this.alTerminar = alTerminar;
+            return this;
+        }
+
+        /**
+         * Reemplaza el manejo de errores por defecto (GlobalExceptionHandler)
+         * @param alFallar recibe el error en el hilo de JavaFX
+         * @return Tarea
+         */
+        public Tarea<T> alFallar(Consumer<Exception> alFallar) {
+            this.alFallar = alFallar;
+            return this;
+        }
+
+        /**
+         * Inicia la tarea, descartando la anterior con la misma clave
+         * @return Tarea en curso
+         */
+        public Tarea<T> iniciar() {
+            if (clave != null) {
+                var anterior = enCurso.put(clave, this);
+                if (anterior != null) {
+                    // La anterior ya no va a finalizar: se liberan sus controles antes de bloquear los de esta
+                    anterior.descartar();
+                    anterior.mostrarOcupado(false);
+                }
+            }
+            mostrarOcupado(true);
+            futuro = ejecutor.submit(this::correr);
+            return this;
+        }
+
+        /**
+         * Descarta el resultado de la tarea, si todavía no empezó ya no se ejecuta
+         */
+        private void descartar() {
+            cancelada = true;
+            if (futuro != null) {
+                futuro.cancel(false);
+            }
+        }
+
+        private void correr() {
+            try {
+                var resultado = llamada.llamar();
+                Platform.runLater(() -> {
+                    if (finalizar()) {
+                        alTerminar.accept(resultado);
+                    }
+                });
+            } catch (Throwable e) {
+                if (cancelada) {
+                    log.debug("Tarea cancelada: {}", e.toString());
+                    return;
+                }
+                // Un Error no llega a alFallar, que recibe excepciones de negocio: va directo al manejador global
+                Platform.runLater(() -> {
+                    if (finalizar()) {
+                        if (e instanceof Exception excepcion) {
+                            alFallar.accept(excepcion);
+                        } else {
+                            globalExceptionHandler.manejar(e);
+                        }
+                    }
+                });
+            }
+        }
+
+        /**
+         * Cierra la tarea en el hilo de JavaFX
+         * @return boolean false si fue cancelada o reemplazada y su resultado se descarta
+         */
+        private boolean finalizar() {
+            if (cancelada) {
+                return false;
+            }
+            if (clave != null) {
+                enCurso.remove(clave, this);
+            }
+            mostrarOcupado(false);
+            return true;
+        }
+
+        private void mostrarOcupado(boolean ocupado) {
+            bloqueados.stream()
+                    .filter(nodo -> !nodo.disableProperty().isBound())
+                    .forEach(nodo -> nodo.setDisable(ocupado));
+            if (indicador instanceof ProgressIndicator progreso) {
+                progreso.setVisible(ocupado);
+            } else if (indicador != null) {
+                indicador.setCursor(ocupado ? Cursor.WAIT : null);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.utils;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Navegación anterior/siguiente sobre una consulta paginada por clave (keyset)
+ * Cada página se pide a partir de la clave de la primera o la última fila de la página actual,
+ * así la página N cuesta lo mismo que la primera: la base no tiene que saltear filas con OFFSET
+ * @param <T> tipo de las filas
+ */
+public class PaginacionKeyset<T> {
+    private final BiFunction<ScrollPosition, Integer, Window<T>> consulta;
+    private final int tamanio;
+    private Window<T> actual;
+    private int numeroPagina;
+    private boolean haySiguiente;
+
+    /**
+     * @param consulta trae la ventana de filas que sigue a una posición, en orden ascendente
+     * @param tamanio cantidad de filas por página
+     */
+    public PaginacionKeyset(BiFunction<ScrollPosition, Integer, Window<T>> consulta, int tamanio) {
+        this.consulta = consulta;
+        this.tamanio = tamanio;
+    }
+
+    /**
+     * Vuelve a la primera página
+     * @return List<T> filas de la primera página
+     */
+    public List<T> primera() {
+        actual = consulta.apply(ScrollPosition.keyset(), tamanio);
+        numeroPagina = 0;
+        haySiguiente = actual.hasNext();
+        return actual.getContent();
+    }
+
+    /**
+     * Avanza una página desde la última fila de la página actual
+     * @return List<T> filas de la página siguiente, o las de la actual si no hay más
+     */
+    public List<T> siguiente() {
+        if (!tieneSiguiente()) {
+            return actual.getContent();
+        }
+        var desde = (KeysetScrollPosition) actual.positionAt(actual.size() - 1);
+        actual = consulta.apply(desde.forward(), tamanio);
+        numeroPagina++;
+        haySiguiente = actual.hasNext();
+        return actual.getContent();
+    }
+
+    /**
+     * Retrocede una página desde la primera fila de la página actual
+     * @return List<T> filas de la página anterior, o las de la actual si es la primera
+     */
+    public List<T> anterior() {
+        if (!tieneAnterior()) {
+            return actual.getContent();
+        }
+        var hasta = (KeysetScrollPosition) actual.positionAt(0);
+        actual = consulta.apply(hasta.backward(), tamanio);
+        numeroPagina--;
+        // Venimos de la página siguiente, así que seguro existe
+        haySiguiente = true;
+        // Si se borraron filas mientras tanto la página anterior puede quedar corta, se vuelve a empezar
+        return actual.isEmpty() || numeroPagina == 0 ? primera() : actual.getContent();
+    }
+
+    public boolean tieneSiguiente() {
+        return actual != null && !actual.isEmpty() && haySiguiente;
+    }
+
+    public boolean tieneAnterior() {
+        return actual != null && !actual.isEmpty() && numeroPagina > 0;
+    }
+
+    /**
+     * @return int número de la página actual, empezando en 1
+     */
+    public int getNumeroPagina() {
+        return numeroPagina + 1;
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.utils;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Deja en el log la línea de tiempo del arranque de Spring: cada fase, las etapas que más tardaron
+ * y los beans más lentos de crear (su tiempo incluye el de sus dependencias)
+ */
+@Slf4j
+@UtilityClass
+public class ReporteArranque {
+    private static final String CREAR_BEAN = "spring.beans.instantiate";
+    private static final int CANTIDAD_ETAPAS = 10;
+    private static final int CANTIDAD_BEANS = 15;
+
+    /**
+     * @param lineaTiempo del arranque, tomada de BufferingApplicationStartup
+     */
+    public void registrar(StartupTimeline lineaTiempo) {
+        var eventos = lineaTiempo.getEvents();
+        log.info("Arranque de Spring: {} pasos registrados", eventos.size());
+
+        // Las fases son los pasos sin padre, en el orden en que ocurrieron
+        eventos.stream()
+                .filter(e -> e.getStartupStep().getParentId() == null)
+                .forEach(e -> log.info("  fase {}: {} ms", e.getStartupStep().getName(), e.getDuration().toMillis()));
+
+        Map<String, Duration> porEtapa = eventos.stream()
+                .filter(e -> e.getStartupStep().getParentId() != null)
+                .filter(e -> !e.getStartupStep().getName().equals(CREAR_BEAN))
+                .collect(Collectors.groupingBy(e -> e.getStartupStep().getName(),
+                        Collectors.reducing(Duration.ZERO, StartupTimeline.TimelineEvent::getDuration, Duration::plus)));
+        porEtapa.entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+                .limit(CANTIDAD_ETAPAS)
+                .forEach(e -> log.info("  etapa {}: {} ms", e.getKey(), e.getValue().toMillis()));
+
+        eventos.stream()
+                .filter(e -> e.getStartupStep().getName().equals(CREAR_BEAN))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(CANTIDAD_BEANS)
+                .forEach(e -> log.info("  bean {}: {} ms", nombreBean(e.getStartupStep()), e.getDuration().toMillis()));
+    }
+
+    private String nombreBean(StartupStep paso) {
+        return StreamSupport.stream(paso.getTags().spliterator(), false)
+                .filter(tag -> tag.getKey().equals("beanName"))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse("?");
+    }
+}
@@ -7,6 +7,8 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.cell.PropertyValueFactory;
 import lombok.experimental.UtilityClass;
 import org.example.model.*;
+import org.example.model.dto.ReservaResumen;
+import org.example.model.dto.SolicitudResumen;
 
 import java.time.LocalDate;
 import java.util.Set;
@@ -97,36 +99,37 @@ public class TableUtils {
         colTieneTV.setCellFactory(TableUtils::columnTic);
     }
 
-    public void inicializarTablaSolicitudes(TableColumn<SolicitudCambioAula,String> colReserva,
-                                            TableColumn<SolicitudCambioAula,String> colAula,
-                                            TableColumn<SolicitudCambioAula, String> colEstado,
-                                            TableColumn<SolicitudCambioAula, String> colTipo,
-                                            TableColumn<SolicitudCambioAula, LocalDate> colInicio,
-                                            TableColumn<SolicitudCambioAula, LocalDate> colFin,
-                                            TableColumn<SolicitudCambioAula,String> colComenProfe,
-                                            TableColumn<SolicitudCambioAula,String> colComenAdmin,
-                                            TableColumn<SolicitudCambioAula, Set<DiaBloque>> colDiaHorario){
-        colReserva.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getReservaOriginal().toString()));
-        colAula.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getNuevoEspacio().toString()));
-        colEstado.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getEstado().toString()));
-        colTipo.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getTipoSolicitud().toString()));
-        colInicio.setCellValueFactory(new PropertyValueFactory<>("fechaInicio"));
-        colFin.setCellValueFactory(new PropertyValueFactory<>("fechaFin"));
-        colComenProfe.setCellValueFactory(new PropertyValueFactory<>("comentarioProfesor"));
-        colComenAdmin.setCellValueFactory(new PropertyValueFactory<>("comentarioEstado"));
-        colDiaHorario.setCellValueFactory(new PropertyValueFactory<>("diasYBloques"));
+    // Los records no tienen getters, así que las columnas de los resúmenes no usan PropertyValueFactory
+    public void inicializarTablaSolicitudes(TableColumn<SolicitudResumen,String> colReserva,
+                                            TableColumn<SolicitudResumen,String> colAula,
+                                            TableColumn<SolicitudResumen, String> colEstado,
+                                            TableColumn<SolicitudResumen, String> colTipo,
+                                            TableColumn<SolicitudResumen, LocalDate> colInicio,
+                                            TableColumn<SolicitudResumen, LocalDate> colFin,
+                                            TableColumn<SolicitudResumen,String> colComenProfe,
+                                            TableColumn<SolicitudResumen,String> colComenAdmin,
+                                            TableColumn<SolicitudResumen, Set<DiaBloque>> colDiaHorario){
+        colReserva.setCellValueFactory(cellData -> new SimpleStringProperty(String.valueOf(cellData.getValue().idReservaOriginal())));
+        colAula.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().nuevoEspacio()));
+        colEstado.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().estado().toString()));
+        colTipo.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().tipoSolicitud().toString()));
+        colInicio.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().fechaInicio()));
+        colFin.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().fechaFin()));
+        colComenProfe.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().comentarioProfesor()));
+        colComenAdmin.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().comentarioEstado()));
+        colDiaHorario.setCellValueFactory(cellData -> new SimpleObjectProperty<>(DiaBloque.desdeMascara(cellData.getValue().mascaraHorario())));
     }
 
-    public void inicializarTablaReserva(TableColumn<Reserva, LocalDate> colFechaInicio,
-                                        TableColumn<Reserva,LocalDate> colFechaFin,
-                                        TableColumn<Reserva,String> colAula,
-                                        TableColumn<Reserva,String> colInscripcion,
-                                        TableColumn<Reserva, Set<DiaBloque>> colDiaHorario){
-        colFechaInicio.setCellValueFactory(new PropertyValueFactory<>("fechaInicio"));
-        colFechaFin.setCellValueFactory(new PropertyValueFactory<>("fechaFin"));
-        colAula.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getEspacio().toString()));
-        colInscripcion.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getInscripcion().toString()));
-        colDiaHorario.setCellValueFactory(new PropertyValueFactory<>("diasYBloques"));
+    public void inicializarTablaReserva(TableColumn<ReservaResumen, LocalDate> colFechaInicio,
+                                        TableColumn<ReservaResumen,LocalDate> colFechaFin,
+                                        TableColumn<ReservaResumen,String> colAula,
+                                        TableColumn<ReservaResumen,String> colInscripcion,
+                                        TableColumn<ReservaResumen, Set<DiaBloque>> colDiaHorario){
+        colFechaInicio.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().fechaInicio()));
+        colFechaFin.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().fechaFin()));
+        colAula.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().espacio()));
+        colInscripcion.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().inscripcion()));
+        colDiaHorario.setCellValueFactory(cellData -> new SimpleObjectProperty<>(DiaBloque.desdeMascara(cellData.getValue().mascaraHorario())));
     }
 
     public void inicializarTablaInscripcion(TableColumn<Inscripcion, Integer> colAlumnos,
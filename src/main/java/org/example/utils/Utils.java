@@ -12,14 +12,18 @@ import lombok.experimental.UtilityClass;
 import org.controlsfx.control.CheckComboBox;
 import org.example.enums.BloqueHorario;
 import org.example.exception.BadRequestException;
+import org.example.model.Asignatura;
 import org.example.model.DiaBloque;
 import org.example.model.Espacio;
 import org.example.model.Inscripcion;
+import org.example.model.Laboratorio;
+import org.springframework.data.domain.*;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @UtilityClass
@@ -49,6 +53,16 @@ public class Utils {
         };
     }
 
+    /**
+     * Calcula los lugares que necesita una inscripción, el margen solo cuenta mientras siga abierta
+     * @param inscripcion de la que se calculan los alumnos
+     * @return int cantidad de alumnos requeridos
+     */
+    public int alumnosRequeridos(Inscripcion inscripcion) {
+        return inscripcion.getCantidadAlumnos() +
+                (inscripcion.getFechaFinInscripcion().isAfter(LocalDate.now()) ? inscripcion.getMargenAlumnos() : 0);
+    }
+
     /**
      * Valída la capacidad de un espacio con respecto a la cantidad de alumnos de una Inscripción
      * @param espacio que se quiere validar
@@ -56,13 +70,24 @@ public class Utils {
      * @throws BadRequestException si no alcanza la capacidad del aula para la cantidad de alumnos de la inscripción
      */
     public void validarCapacidadEspacio(Espacio espacio, Inscripcion inscripcion) throws BadRequestException {
-        int alumnosRequeridos = inscripcion.getCantidadAlumnos() +
-                (inscripcion.getFechaFinInscripcion().isAfter(LocalDate.now()) ? inscripcion.getMargenAlumnos() : 0);
+        int alumnosRequeridos = alumnosRequeridos(inscripcion);
         if (espacio.getCapacidad() < alumnosRequeridos) {
             throw new BadRequestException(String.format("El aula %d tiene capacidad para %d alumnos, pero se requieren %d.", espacio.getId(), espacio.getCapacidad(), alumnosRequeridos));
         }
     }
 
+    /**
+     * Valída que el espacio sea un laboratorio si la asignatura lo requiere
+     * @param espacio que se quiere validar
+     * @param asignatura que se dicta en el espacio
+     * @throws BadRequestException si la asignatura requiere laboratorio y el espacio no lo es
+     */
+    public void validarRequiereLaboratorio(Espacio espacio, Asignatura asignatura) throws BadRequestException {
+        if (asignatura.isRequiereLaboratorio() && !(espacio instanceof Laboratorio)){
+            throw new BadRequestException(String.format("El aula %d no es un laboratorio, no sirve para %s", espacio.getNumero(), asignatura.getNombre()));
+        }
+    }
+
     public void agregarDiaBloque( Set<DiaBloque> diasYBloques,CheckBox checkBox, CheckComboBox<BloqueHorario> checkComboBox, DayOfWeek dayOfWeek) {
         if (checkBox.isSelected()) {
             for (BloqueHorario bloque : checkComboBox.getCheckModel().getCheckedItems()) {
@@ -276,5 +301,40 @@ public class Utils {
 
         }
     }
-}
 
+    /**
+     * Aplica el orden por defecto a una página que no pide ninguno, así las páginas son estables entre consultas
+     * @param pagina número y tamaño de la página
+     * @param orden por defecto
+     * @return Pageable con el orden pedido o con el orden por defecto
+     */
+    public Pageable ordenar(Pageable pagina, Sort orden) {
+        if (pagina.getSort().isSorted()) {
+            return pagina;
+        }
+        return pagina.isPaged() ? PageRequest.of(pagina.getPageNumber(), pagina.getPageSize(), orden)
+                : Pageable.unpaged(orden);
+    }
+
+    /**
+     * Arma la ventana de una consulta paginada por clave hecha a mano
+     * La consulta trae una fila de más para saber si hay otra página; hacia atrás viene en orden descendente
+     * y se da vuelta para que la ventana quede siempre en orden ascendente
+     * @param filas traídas por la consulta, a lo sumo tamanio + 1
+     * @param tamanio de la página
+     * @param haciaAdelante si la consulta siguió desde la clave o retrocedió
+     * @param clave valores de la clave de una fila, por nombre de propiedad
+     * @return Window<T> con las filas de la página y la posición de cada una
+     */
+    public <T> Window<T> ventana(List<T> filas, int tamanio, boolean haciaAdelante,
+                                 Function<T, Map<String, ?>> clave) {
+        var hayMas = filas.size() > tamanio;
+        List<T> contenido = new ArrayList<>(hayMas ? filas.subList(0, tamanio) : filas);
+        if (!haciaAdelante) {
+            Collections.reverse(contenido);
+        }
+        // Hacia atrás siempre hay una página siguiente: es desde la que se retrocedió
+        return Window.from(contenido, i -> ScrollPosition.forward(clave.apply(contenido.get(i))),
+                !haciaAdelante || hayMas);
+    }
+}
@@ -12,13 +12,24 @@ import org.example.controller.model.InscripcionVistaController;
 import org.example.controller.model.reserva.ReservaVistaController;
 import org.example.controller.model.espacio.EspacioVistaController;
 import org.example.model.*;
+import org.example.model.dto.OcupacionTurno;
+import org.example.model.dto.ReservaResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
 @Slf4j
@@ -26,7 +37,72 @@ import java.util.function.Consumer;
 public class VistaUtils {
 
     private static final String TITLE = "UTN - Sistema de Gestión de Aulas";
+    private static final long UMBRAL_CARGA_LENTA_MS = 200;
+
+    private static final String VISTA_INSCRIPCION = "/org/example/view/model/inscripcion-view.fxml";
+    private static final String VISTA_CALENDARIO = "/org/example/view/model/calendario-view.fxml";
+    private static final String VISTA_RESERVA = "/org/example/view/model/reserva/reserva-view.fxml";
+    private static final String VISTA_ESPACIO = "/org/example/view/model/espacio/espacio-view.fxml";
+
+    // Reserva, espacio y calendario se abren como listado y como detalle: la clave de la caché incluye el uso,
+    // así un detalle nunca reemplaza a un listado abierto. Sus controladores son prototype, uno por ventana
+    private static final String SEPARADOR_USO = "#";
+    private static final String DETALLE_HORARIOS = VISTA_CALENDARIO + SEPARADOR_USO + "horarios";
+    private static final String DETALLE_OCUPACION = VISTA_CALENDARIO + SEPARADOR_USO + "ocupacion";
+    private static final String DETALLE_RESERVA = VISTA_RESERVA + SEPARADOR_USO + "detalle";
+    private static final String DETALLE_ESPACIO = VISTA_ESPACIO + SEPARADOR_USO + "detalle";
+
+    /**
+     * Vistas que se precargan después de iniciar sesión como administrador, las más usadas primero
+     */
+    public static final List<String> PRECARGA_ADMINISTRADOR = List.of(
+            "/org/example/view/menus/menu-reservas-view.fxml",
+            "/org/example/view/menus/menu-espacios-view.fxml",
+            "/org/example/view/menus/menu-solicitudes-admin-view.fxml",
+            "/org/example/view/menus/menu-usuarios-view.fxml",
+            "/org/example/view/menus/menu-listar-espacios-view.fxml",
+            VISTA_INSCRIPCION,
+            DETALLE_RESERVA,
+            DETALLE_ESPACIO,
+            DETALLE_HORARIOS,
+            DETALLE_OCUPACION);
+
+    /**
+     * Vistas que se precargan después de iniciar sesión como profesor, las más usadas primero
+     */
+    public static final List<String> PRECARGA_PROFESOR = List.of(
+            "/org/example/view/menus/menu-solicitudes-profesor-view.fxml",
+            "/org/example/view/menus/menu-listar-espacios-view.fxml",
+            VISTA_INSCRIPCION,
+            DETALLE_OCUPACION,
+            DETALLE_RESERVA,
+            DETALLE_ESPACIO,
+            DETALLE_HORARIOS);
+
+    /**
+     * Vistas sin estado propio más allá de lo que carga su configurador, se reutilizan al volver a abrirlas.
+     * Los listados de reservas y espacios no están: cada uno se abre en su propia ventana
+     */
+    private static final Set<String> VISTAS_REUTILIZABLES = Set.of(
+            "/org/example/view/menus/menu-administrador-view.fxml",
+            "/org/example/view/menus/menu-profesor-view.fxml",
+            "/org/example/view/menus/menu-espacios-view.fxml",
+            "/org/example/view/menus/menu-listar-espacios-view.fxml",
+            "/org/example/view/menus/menu-reservas-view.fxml",
+            "/org/example/view/menus/menu-solicitudes-admin-view.fxml",
+            "/org/example/view/menus/menu-solicitudes-profesor-view.fxml",
+            "/org/example/view/menus/menu-usuarios-view.fxml",
+            VISTA_INSCRIPCION,
+            DETALLE_HORARIOS,
+            DETALLE_OCUPACION,
+            DETALLE_RESERVA,
+            DETALLE_ESPACIO);
+
     private final ApplicationContext springContext;
+    // Solo se usa desde el hilo de JavaFX
+    private final Map<String, VistaCargada> vistas = new HashMap<>();
+
+    private record VistaCargada(Stage stage, Object controlador) {}
 
     @Autowired
     public VistaUtils(ApplicationContext springContext) {
@@ -37,39 +113,95 @@ public class VistaUtils {
      * Carga una vista y la muestra en una nueva ventana.
      */
     public void cargarVista(String url) throws IOException {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(url));
-            loader.setControllerFactory(springContext::getBean);
-            Parent root = loader.load();
-
-            Stage stage = new Stage();
-            stage.setScene(new Scene(root));
-            stage.setTitle(TITLE);
-            stage.show();
+        cargarVista(url, null);
     }
 
     /**
      * Carga una vista y la muestra en una nueva ventana, opcionalmente pasando datos al controlador.
+     * Los menús y los detalles se cargan una sola vez y se reutiliza su ventana, el configurador
+     * vuelve a cargar sus datos cada vez que se abren
      *
      * @param url la ruta del archivo FXML dentro del classpath
      * @param configurador un Consumer que permite configurar el controlador después de cargar la vista
      * @throws IOException si ocurre un error al cargar la vista
      */
     public <T> void cargarVista(String url, Consumer<T> configurador) throws IOException {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(url));
-            loader.setControllerFactory(springContext::getBean);
-            Parent root = loader.load();
+        mostrarVista(url, configurador);
+    }
+
+    /**
+     * @param clave la ruta del archivo FXML, seguida del uso si la vista tiene más de uno
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void mostrarVista(String clave, Consumer<T> configurador) throws IOException {
+            VistaCargada vista = obtenerVista(clave);
 
             // Configurar el controlador si se pasa un configurador
-            T controller = loader.getController();
             if (configurador != null) {
-                configurador.accept(controller);
+                configurador.accept((T) vista.controlador());
             }
 
             // Mostrar la vista
-            Stage stage = new Stage();
-            stage.setScene(new Scene(root));
-            stage.setTitle(TITLE);
-            stage.show();
+            vista.stage().show();
+            vista.stage().toFront();
+    }
+
+    /**
+     * Precarga las vistas reutilizables de a una por vez en el hilo de JavaFX, así la ventana actual
+     * sigue respondiendo entre carga y carga
+     *
+     * @param claves las vistas de {@link #PRECARGA_ADMINISTRADOR} o {@link #PRECARGA_PROFESOR}, en el orden en que se precargan
+     */
+    public void precargarVistas(List<String> claves) {
+        precargarSiguiente(new ArrayDeque<>(claves));
+    }
+
+    private void precargarSiguiente(Deque<String> pendientes) {
+        String clave = pendientes.poll();
+        if (clave == null) {
+            return;
+        }
+        Platform.runLater(() -> {
+            try {
+                obtenerVista(clave);
+            } catch (IOException | RuntimeException e) {
+                log.warn("No se pudo precargar la vista {}", clave, e);
+            }
+            precargarSiguiente(pendientes);
+        });
+    }
+
+    private VistaCargada obtenerVista(String clave) throws IOException {
+        VistaCargada cacheada = vistas.get(clave);
+        if (cacheada != null) {
+            return cacheada;
+        }
+        int separador = clave.indexOf(SEPARADOR_USO);
+        VistaCargada vista = crearVista(separador < 0 ? clave : clave.substring(0, separador));
+        if (VISTAS_REUTILIZABLES.contains(clave)) {
+            vistas.put(clave, vista);
+        }
+        return vista;
+    }
+
+    private VistaCargada crearVista(String url) throws IOException {
+        long inicio = System.nanoTime();
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(url));
+        loader.setControllerFactory(springContext::getBean);
+        Parent root = loader.load();
+
+        // La ventana se crea junto con la vista: los menús buscan su ventana en initialize con Platform.runLater
+        Stage stage = new Stage();
+        stage.setScene(new Scene(root));
+        stage.setTitle(TITLE);
+
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+        if (milisegundos > UMBRAL_CARGA_LENTA_MS) {
+            log.warn("Vista {} cargada en {} ms", url, milisegundos);
+        } else {
+            log.debug("Vista {} cargada en {} ms", url, milisegundos);
+        }
+        return new VistaCargada(stage, loader.getController());
     }
 
     /**
@@ -95,7 +227,7 @@ public class VistaUtils {
      * @throws IOException si ocurre un error al cargar la vista
      */
     public void mostrarVistaInscripcion(Inscripcion inscripcion) throws IOException {
-        cargarVista("/org/example/view/model/inscripcion-view.fxml",
+        cargarVista(VISTA_INSCRIPCION,
                 (InscripcionVistaController controller) -> controller.setInscripciones(List.of(inscripcion)));
     }
 
@@ -106,19 +238,35 @@ public class VistaUtils {
      * @throws IOException si ocurre un error al cargar la vista
      */
     public void mostrarVistaHorarios(Set<DiaBloque> horarios) throws IOException {
-        cargarVista("/org/example/view/model/calendario-view.fxml",
+        mostrarVista(DETALLE_HORARIOS,
                 (CalendarioVistaController controller) -> controller.cargarHorarios(horarios));
     }
 
+    /**
+     * Muestra la ocupación de un período en el calendario, semana por semana.
+     *
+     * @param titulo el título del calendario
+     * @param desde la primera fecha del período
+     * @param hasta la última fecha del período
+     * @param consulta trae los turnos ocupados entre dos fechas
+     * @throws IOException si ocurre un error al cargar la vista
+     */
+    public void mostrarCalendarioOcupacion(String titulo, LocalDate desde, LocalDate hasta,
+                                           BiFunction<LocalDate, LocalDate, List<OcupacionTurno>> consulta) throws IOException {
+        mostrarVista(DETALLE_OCUPACION,
+                (CalendarioVistaController controller) -> controller.mostrarOcupacion(titulo, desde, hasta, consulta));
+    }
+
     /**
      * Muestra la vista de reserva en una nueva ventana.
      *
-     * @param reserva la reserva a mostrar en la vista
+     * @param reserva el resumen de la reserva a mostrar en la vista
      * @throws IOException si ocurre un error al cargar la vista
      */
-    public void mostrarVistaReserva(Reserva reserva) throws IOException {
-        cargarVista("/org/example/view/model/reserva/reserva-view.fxml",
-                (ReservaVistaController controller) -> controller.setReservas(List.of(reserva)));
+    public void mostrarVistaReserva(ReservaResumen reserva) throws IOException {
+        mostrarVista(DETALLE_RESERVA,
+                (ReservaVistaController controller) -> controller.setReservas(
+                        (posicion, tamanio) -> Window.from(List.of(reserva), ScrollPosition::offset)));
     }
 
     /**
@@ -128,8 +276,8 @@ public class VistaUtils {
      * @throws IOException si ocurre un error al cargar la vista
      */
     public void mostrarVistaEspacio(Espacio espacio) throws IOException {
-        cargarVista("/org/example/view/model/espacio/espacio-view.fxml",
-                (EspacioVistaController controller) -> controller.setEspacios(List.of(espacio)));
+        mostrarVista(DETALLE_ESPACIO,
+                (EspacioVistaController controller) -> controller.setEspacios(pagina -> new PageImpl<>(List.of(espacio))));
     }
 
     /**
@@ -0,0 +1,129 @@
+-- Esquema inicial, igual al que generaba spring.jpa.hibernate.ddl-auto=update antes de las migraciones
+-- Las bases creadas antes de las migraciones toman esta versión como línea base y no la ejecutan: no puede
+-- tener nada que esas bases no tengan, los cambios posteriores van en las versiones siguientes
+
+CREATE TABLE roles (
+    id     INTEGER      NOT NULL AUTO_INCREMENT,
+    nombre VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_roles_nombre UNIQUE (nombre)
+) ENGINE = InnoDB;
+
+CREATE TABLE rol_permisos (
+    rol_id  INTEGER NOT NULL,
+    permiso ENUM ('CREAR_ESPACIO','ELIMINAR_ESPACIO','MODIFICAR_ESPACIO','VER_ESPACIOS','CREAR_RESERVA',
+        'MODIFICAR_RESERVA','ELIMINAR_RESERVA','VER_RESERVAS','SOLICITAR_CAMBIO','VER_SOLICITUDES_CAMBIO',
+        'GESTIONAR_CAMBIOS','CREAR_USUARIO','MODIFICAR_USUARIO','VER_USUARIOS','ELIMINAR_USUARIO','CAMBIAR_PASSWORD'),
+    CONSTRAINT fk_rol_permisos_rol FOREIGN KEY (rol_id) REFERENCES roles (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE profesores (
+    id        INTEGER     NOT NULL AUTO_INCREMENT,
+    nombre    VARCHAR(50) NOT NULL,
+    apellido  VARCHAR(50) NOT NULL,
+    matricula VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_profesores_matricula UNIQUE (matricula)
+) ENGINE = InnoDB;
+
+CREATE TABLE usuarios (
+    id          INTEGER      NOT NULL AUTO_INCREMENT,
+    username    VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    rol_id      INTEGER      NOT NULL,
+    profesor_id INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_username UNIQUE (username),
+    CONSTRAINT uk_usuarios_profesor UNIQUE (profesor_id),
+    CONSTRAINT fk_usuarios_rol FOREIGN KEY (rol_id) REFERENCES roles (id),
+    CONSTRAINT fk_usuarios_profesor FOREIGN KEY (profesor_id) REFERENCES profesores (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE asignaturas (
+    id                   INTEGER      NOT NULL AUTO_INCREMENT,
+    nombre               VARCHAR(100) NOT NULL,
+    codigo               INTEGER      NOT NULL,
+    requiere_laboratorio BIT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_asignaturas_codigo UNIQUE (codigo)
+) ENGINE = InnoDB;
+
+CREATE TABLE inscripciones (
+    id                    INTEGER NOT NULL AUTO_INCREMENT,
+    cantidad_alumnos      INTEGER NOT NULL,
+    margen_alumnos        INTEGER NOT NULL,
+    fecha_fin_inscripcion DATE    NOT NULL,
+    asignatura_id         INTEGER NOT NULL,
+    comision              INTEGER NOT NULL,
+    year                  INTEGER NOT NULL,
+    cuatrimestre          INTEGER NOT NULL,
+    profesor_id           INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_inscripciones_asignatura FOREIGN KEY (asignatura_id) REFERENCES asignaturas (id),
+    CONSTRAINT fk_inscripciones_profesor FOREIGN KEY (profesor_id) REFERENCES profesores (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE espacios (
+    id              INTEGER     NOT NULL AUTO_INCREMENT,
+    espacio_type    VARCHAR(31) NOT NULL,
+    numero          INTEGER     NOT NULL,
+    capacidad       INTEGER     NOT NULL,
+    tiene_proyector BIT         NOT NULL,
+    tiene_tv        BIT         NOT NULL,
+    computadoras    INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_espacios_numero UNIQUE (numero)
+) ENGINE = InnoDB;
+
+CREATE TABLE dia_bloque (
+    id             INTEGER NOT NULL AUTO_INCREMENT,
+    dia            ENUM ('MONDAY','TUESDAY','WEDNESDAY','THURSDAY','FRIDAY','SATURDAY','SUNDAY') NOT NULL,
+    bloque_horario ENUM ('MANIANA_PRIMER_BLOQUE','MANIANA_SEGUNDO_BLOQUE','TARDE_PRIMER_BLOQUE',
+        'TARDE_SEGUNDO_BLOQUE','NOCHE_PRIMER_BLOQUE','NOCHE_SEGUNDO_BLOQUE') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE reservas (
+    id             INTEGER NOT NULL AUTO_INCREMENT,
+    fecha_inicio   DATE    NOT NULL,
+    fecha_fin      DATE    NOT NULL,
+    espacio_id     INTEGER NOT NULL,
+    inscripcion_id INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reservas_espacio FOREIGN KEY (espacio_id) REFERENCES espacios (id),
+    CONSTRAINT fk_reservas_inscripcion FOREIGN KEY (inscripcion_id) REFERENCES inscripciones (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE reserva_dia_bloque (
+    reserva_id    INTEGER NOT NULL,
+    dia_bloque_id INTEGER NOT NULL,
+    PRIMARY KEY (reserva_id, dia_bloque_id),
+    CONSTRAINT fk_reserva_dia_bloque_reserva FOREIGN KEY (reserva_id) REFERENCES reservas (id),
+    CONSTRAINT fk_reserva_dia_bloque_dia_bloque FOREIGN KEY (dia_bloque_id) REFERENCES dia_bloque (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE solicitudes (
+    id                   INTEGER      NOT NULL AUTO_INCREMENT,
+    profesor_id          INTEGER      NOT NULL,
+    reserva_original_id  INTEGER      NOT NULL,
+    nuevo_espacio_id     INTEGER      NOT NULL,
+    estado               ENUM ('PENDIENTE','APROBADA','RECHAZADA') NOT NULL,
+    tipo_solicitud       ENUM ('TEMPORAL','PERMANENTE')            NOT NULL,
+    fecha_inicio         DATE         NOT NULL,
+    fecha_fin            DATE         NOT NULL,
+    comentario_estado    VARCHAR(255),
+    comentario_profesor  VARCHAR(255),
+    fecha_hora_solicitud DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_solicitudes_profesor FOREIGN KEY (profesor_id) REFERENCES profesores (id),
+    CONSTRAINT fk_solicitudes_reserva_original FOREIGN KEY (reserva_original_id) REFERENCES reservas (id),
+    CONSTRAINT fk_solicitudes_nuevo_espacio FOREIGN KEY (nuevo_espacio_id) REFERENCES espacios (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE solicitud_dia_bloque (
+    solicitud_id  INTEGER NOT NULL,
+    dia_bloque_id INTEGER NOT NULL,
+    PRIMARY KEY (solicitud_id, dia_bloque_id),
+    CONSTRAINT fk_solicitud_dia_bloque_solicitud FOREIGN KEY (solicitud_id) REFERENCES solicitudes (id),
+    CONSTRAINT fk_solicitud_dia_bloque_dia_bloque FOREIGN KEY (dia_bloque_id) REFERENCES dia_bloque (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,54 @@
+-- Máscara horaria de reservas y solicitudes, ocurrencias de reservas e índices para las consultas frecuentes de
+-- ReservaRepository, SolicitudCambioAulaRepository y ReservaOcurrenciaRepository
+-- Corre también sobre las bases que tomaron V1 como línea base: las filas que ya existen quedan con máscara 0
+-- y sin ocurrencias (anotadas como pendientes), CalentamientoDatos las completa al arrancar
+
+ALTER TABLE reservas ADD COLUMN mascara_horario BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE solicitudes ADD COLUMN mascara_horario BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE reserva_ocurrencia (
+    espacio_id     INTEGER NOT NULL,
+    fecha          DATE    NOT NULL,
+    bloque_horario ENUM ('MANIANA_PRIMER_BLOQUE','MANIANA_SEGUNDO_BLOQUE','TARDE_PRIMER_BLOQUE',
+        'TARDE_SEGUNDO_BLOQUE','NOCHE_PRIMER_BLOQUE','NOCHE_SEGUNDO_BLOQUE') NOT NULL,
+    reserva_id     INTEGER NOT NULL,
+    slot_semanal   INTEGER NOT NULL,
+    PRIMARY KEY (bloque_horario, espacio_id, fecha),
+    CONSTRAINT fk_reserva_ocurrencia_reserva FOREIGN KEY (reserva_id) REFERENCES reservas (id)
+) ENGINE = InnoDB;
+
+-- Las reservas que ya existen esperan sus ocurrencias, ReservaService.completarOcurrencias las genera y las quita
+CREATE TABLE reserva_ocurrencia_pendiente (
+    reserva_id INTEGER NOT NULL,
+    PRIMARY KEY (reserva_id)
+) ENGINE = InnoDB;
+
+INSERT INTO reserva_ocurrencia_pendiente (reserva_id) SELECT id FROM reservas;
+
+CREATE INDEX idx_ocurrencia_fecha_slot ON reserva_ocurrencia (fecha, slot_semanal, espacio_id);
+CREATE INDEX idx_ocurrencia_reserva ON reserva_ocurrencia (reserva_id);
+
+-- ReservaOcurrenciaRepository.existsOcupacion: un espacio en un rango de fechas, cubriendo slot y reserva
+CREATE INDEX idx_ocurrencia_espacio_fecha_slot ON reserva_ocurrencia (espacio_id, fecha, slot_semanal, reserva_id);
+
+-- Búsqueda de espacios por tipo y capacidad
+CREATE INDEX idx_espacios_tipo_capacidad ON espacios (espacio_type, capacidad);
+
+-- Historial de reservas paginado por fecha de inicio (keyset)
+CREATE INDEX idx_reservas_fecha_inicio_id ON reservas (fecha_inicio, id);
+
+-- Reservas de un espacio en un rango de fechas (existsByEspacio y el control de superposición por espacio)
+CREATE INDEX idx_reservas_espacio_fechas ON reservas (espacio_id, fecha_inicio, fecha_fin);
+
+-- Historial de solicitudes paginado por estado y fecha, de todos los profesores o de uno (keyset)
+CREATE INDEX idx_solicitudes_estado_fecha_id ON solicitudes (estado, fecha_hora_solicitud, id);
+CREATE INDEX idx_solicitudes_profesor_estado_fecha_id ON solicitudes (profesor_id, estado, fecha_hora_solicitud, id);
+
+-- SolicitudCambioAulaRepository.find y findByCriteria: igualdad en espacio, fechas y estado.
+-- La máscara horaria va al final para filtrar la superposición dentro del índice
+CREATE INDEX idx_solicitudes_espacio_fechas_estado
+    ON solicitudes (nuevo_espacio_id, fecha_inicio, fecha_fin, estado, mascara_horario);
+
+-- Tablas intermedias recorridas desde el día y bloque; MySQL descarta el índice implícito de la clave foránea
+CREATE INDEX idx_reserva_dia_bloque_inverso ON reserva_dia_bloque (dia_bloque_id, reserva_id);
+CREATE INDEX idx_solicitud_dia_bloque_inverso ON solicitud_dia_bloque (dia_bloque_id, solicitud_id);
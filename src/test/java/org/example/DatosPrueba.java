@@ -0,0 +1,159 @@
+package org.example;
+
+import lombok.RequiredArgsConstructor;
+import org.example.enums.BloqueHorario;
+import org.example.enums.Permisos;
+import org.example.enums.TipoSolicitud;
+import org.example.exception.NotFoundException;
+import org.example.model.*;
+import org.example.repository.*;
+import org.example.security.CacheRoles;
+import org.example.security.SesionActual;
+import org.example.service.DiaBloqueService;
+import org.example.service.DisponibilidadCache;
+import org.example.service.IndiceOcupacion;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Arma los datos de cada prueba de integración
+ * Los números de espacio, códigos y matrículas salen de una secuencia, así no chocan con los únicos.
+ * Las reservas se guardan directo en los repositorios con sus ocurrencias, sin pasar por las validaciones
+ */
+@Component
+@RequiredArgsConstructor
+public class DatosPrueba {
+    // Un cuatrimestre del año actual, dentro del ciclo que cubre el índice de ocupación
+    public static final LocalDate INICIO = LocalDate.of(LocalDate.now().getYear(), 3, 9);
+    public static final LocalDate FIN = LocalDate.of(LocalDate.now().getYear(), 7, 3);
+
+    private final ProfesorRepository profesorRepository;
+    private final AsignaturaRepository asignaturaRepository;
+    private final InscripcionRepository inscripcionRepository;
+    private final AulaRepository aulaRepository;
+    private final LaboratorioRepository laboratorioRepository;
+    private final ReservaRepository reservaRepository;
+    private final ReservaOcurrenciaRepository ocurrenciaRepository;
+    private final SolicitudCambioAulaRepository solicitudRepository;
+    private final RolRepository rolRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final DiaBloqueService diaBloqueService;
+    private final IndiceOcupacion indiceOcupacion;
+    private final DisponibilidadCache disponibilidadCache;
+    private final CacheRoles cacheRoles;
+    private final SesionActual sesionActual;
+
+    private final AtomicInteger secuencia = new AtomicInteger();
+
+    /**
+     * Borra todo salvo el catálogo de días y bloques y deja las cachés en blanco
+     */
+    public void limpiar() {
+        sesionActual.setUsuario(null);
+        ocurrenciaRepository.deleteAllInBatch();
+        solicitudRepository.deleteAll();
+        reservaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        rolRepository.deleteAll();
+        inscripcionRepository.deleteAllInBatch();
+        aulaRepository.deleteAllInBatch();
+        laboratorioRepository.deleteAllInBatch();
+        asignaturaRepository.deleteAllInBatch();
+        profesorRepository.deleteAllInBatch();
+        listo();
+    }
+
+    /**
+     * Reconstruye el índice de ocupación y vacía las búsquedas guardadas, después de cargar los datos
+     */
+    public void listo() {
+        indiceOcupacion.construir();
+        disponibilidadCache.invalidarTodo();
+        cacheRoles.refrescar();
+    }
+
+    public Profesor profesor() {
+        var numero = secuencia.incrementAndGet();
+        var profesor = new Profesor();
+        profesor.setNombre("Profesor");
+        profesor.setApellido("Prueba " + numero);
+        profesor.setMatricula("P-" + numero);
+        return profesorRepository.save(profesor);
+    }
+
+    public Asignatura asignatura(boolean requiereLaboratorio) {
+        var numero = secuencia.incrementAndGet();
+        return asignaturaRepository.save(new Asignatura(null, "Asignatura " + numero, numero, requiereLaboratorio));
+    }
+
+    public Inscripcion inscripcion(int alumnos) {
+        return inscripcion(asignatura(false), profesor(), alumnos);
+    }
+
+    public Inscripcion inscripcion(Asignatura asignatura, Profesor profesor, int alumnos) {
+        return inscripcionRepository.save(new Inscripcion(null, alumnos, 0, INICIO, asignatura,
+                secuencia.incrementAndGet(), 1, 1, profesor));
+    }
+
+    public Aula aula(int capacidad) {
+        return aulaRepository.save(new Aula(null, secuencia.incrementAndGet(), capacidad, true, false));
+    }
+
+    public Laboratorio laboratorio(int capacidad) {
+        return laboratorioRepository.save(new Laboratorio(null, secuencia.incrementAndGet(), capacidad, true,
+                false, capacidad));
+    }
+
+    /**
+     * Guarda una reserva con sus ocurrencias, sin validarla
+     */
+    public Reserva reserva(Espacio espacio, Inscripcion inscripcion, Set<DiaBloque> diasYBloques) {
+        var reserva = reservaRepository.save(new Reserva(null, INICIO, FIN, espacio, inscripcion,
+                new HashSet<>(diasYBloques)));
+        ocurrenciaRepository.saveAll(ReservaOcurrencia.desde(reserva));
+        return reserva;
+    }
+
+    /**
+     * Guarda una solicitud pendiente para mover una reserva a otro espacio en la misma franja
+     */
+    public SolicitudCambioAula solicitud(Reserva reserva, Espacio destino) {
+        return solicitudRepository.save(new SolicitudCambioAula(null, reserva.getInscripcion().getProfesor(), reserva,
+                destino, TipoSolicitud.TEMPORAL, reserva.getFechaInicio(), reserva.getFechaFin(),
+                reserva.getDiasYBloques(), "Solicitud de prueba"));
+    }
+
+    /**
+     * Inicia la sesión de un usuario nuevo con un rol que tiene solo esos permisos
+     * @param profesor del usuario, puede ser null
+     * @param permisos del rol
+     * @return Usuario de la sesión
+     */
+    public Usuario iniciarSesion(Profesor profesor, Permisos... permisos) {
+        var numero = secuencia.incrementAndGet();
+        var rol = rolRepository.save(new Rol(null, "ROL-" + numero, new ArrayList<>(List.of(permisos))));
+        var usuario = usuarioRepository.save(new Usuario(null, "usuario-" + numero, "-", rol, profesor));
+        cacheRoles.refrescar();
+        sesionActual.setUsuario(usuario);
+        return usuario;
+    }
+
+    public Usuario iniciarSesion(Permisos... permisos) {
+        return iniciarSesion(null, permisos);
+    }
+
+    /**
+     * Obtiene el día y bloque persistido del catálogo
+     */
+    public DiaBloque franja(DayOfWeek dia, BloqueHorario bloque) {
+        try {
+            return diaBloqueService.buscarPorDiaYBloque(bloque, dia);
+        } catch (NotFoundException e) {
+            throw new IllegalStateException("El catálogo de días y bloques no está cargado", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.example;
+
+import org.example.service.MonitorSentencias;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Base de las pruebas de integración
+ * Levanta solo servicios, seguridad y repositorios (sin vistas) sobre H2, igual que los benchmarks.
+ * El contexto se comparte entre las clases de prueba, cada prueba empieza con la base vacía
+ */
+@SpringBootTest(classes = PruebaIntegracion.Configuracion.class)
+@ActiveProfiles("test")
+public abstract class PruebaIntegracion {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableJpaRepositories("org.example.repository")
+    @EntityScan("org.example.model")
+    @ComponentScan({"org.example.service", "org.example.security"})
+    @Import(DatosPrueba.class)
+    static class Configuracion {}
+
+    private static final String ACCION = "prueba";
+
+    @Autowired
+    protected DatosPrueba datos;
+    @Autowired
+    private MonitorSentencias monitorSentencias;
+
+    @BeforeEach
+    void vaciarBase() {
+        datos.limpiar();
+    }
+
+    @FunctionalInterface
+    protected interface Ejecucion {
+        void ejecutar() throws Exception;
+    }
+
+    /**
+     * Cuenta las sentencias SQL que ejecuta un bloque, con las llamadas a servicios que haga dentro
+     * @param ejecucion lo que se quiere medir
+     * @return int cantidad de sentencias
+     */
+    protected int contarSentencias(Ejecucion ejecucion) throws Exception {
+        monitorSentencias.reiniciar();
+        monitorSentencias.iniciar(ACCION);
+        try {
+            ejecucion.ejecutar();
+        } finally {
+            monitorSentencias.finalizar();
+        }
+        return monitorSentencias.estadisticas().get(ACCION).maximoSentencias();
+    }
+}
@@ -0,0 +1,307 @@
+package org.example.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Planes de MySQL de las consultas que cubren los índices de V2__ocurrencias_mascaras_e_indices.sql
+ * Migra una base MySQL real con Flyway, la llena con datos sintéticos y falla si EXPLAIN recorre una tabla entera
+ * o si una página del historial por clave no sale en el orden de su índice.
+ * Las consultas son el SQL de los métodos de los repositorios con los parámetros ya reemplazados.
+ * Necesita Docker, sin Docker la clase se saltea
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class IndicesMysqlTest {
+    // Con pocas filas MySQL prefiere recorrer la tabla, hacen falta volúmenes parecidos a un año de uso
+    private static final int OCURRENCIAS = 30_000;
+    private static final int RESERVAS = 3_000;
+    private static final int SOLICITUDES = 3_000;
+    private static final int ESPACIOS = 50;
+    private static final int PROFESORES = 100;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static Connection conexion;
+
+    @BeforeAll
+    static void migrarYCargar() throws SQLException {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .load()
+                .migrate();
+        conexion = DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+        cargarDatos();
+    }
+
+    @AfterAll
+    static void cerrar() throws SQLException {
+        if (conexion != null) {
+            conexion.close();
+        }
+    }
+
+    // ReservaOcurrenciaRepository.existsOcupacion, el control de superposición al guardar
+    @Test
+    void existsOcupacionNoRecorreLasOcurrencias() throws SQLException {
+        assertSinRecorrido("reserva_ocurrencia", """
+                SELECT COUNT(*) > 0 FROM reserva_ocurrencia
+                WHERE espacio_id = 7 AND fecha BETWEEN '2025-03-10' AND '2025-07-04'
+                AND slot_semanal IN (1, 8, 15) AND reserva_id <> 15
+                """);
+    }
+
+    // SolicitudCambioAulaRepository.find, las solicitudes pendientes que bloquean una reserva
+    @Test
+    void solicitudesPendientesDeUnEspacioNoRecorrenLasSolicitudes() throws SQLException {
+        assertSinRecorrido("solicitudes", """
+                SELECT id FROM solicitudes
+                WHERE nuevo_espacio_id = 7 AND fecha_inicio = '2025-03-10' AND fecha_fin = '2025-07-04'
+                AND estado = 'PENDIENTE' AND (mascara_horario & 6) <> 0
+                """);
+    }
+
+    // SolicitudCambioAulaRepository.findByCriteria, la solicitud repetida al guardar una nueva
+    @Test
+    void solicitudRepetidaNoRecorreLasSolicitudes() throws SQLException {
+        assertSinRecorrido("solicitudes", """
+                SELECT id FROM solicitudes
+                WHERE profesor_id = 3 AND nuevo_espacio_id = 7 AND reserva_original_id = 15
+                AND fecha_inicio = '2025-03-10' AND fecha_fin = '2025-07-04' AND (mascara_horario & 6) <> 0
+                """);
+    }
+
+    // Reservas de un espacio en un rango de fechas (existsByEspacio y la superposición por espacio)
+    @Test
+    void reservasDeUnEspacioNoRecorrenLasReservas() throws SQLException {
+        assertSinRecorrido("reservas", """
+                SELECT id FROM reservas
+                WHERE espacio_id = 7 AND fecha_inicio <= '2025-07-04' AND fecha_fin >= '2025-03-10'
+                """);
+    }
+
+    // Tablas intermedias recorridas desde el día y bloque
+    @Test
+    void diasYBloquesNoRecorrenLasTablasIntermedias() throws SQLException {
+        assertSinRecorrido("reserva_dia_bloque",
+                "SELECT reserva_id FROM reserva_dia_bloque WHERE dia_bloque_id IN (2, 3)");
+        assertSinRecorrido("solicitud_dia_bloque",
+                "SELECT solicitud_id FROM solicitud_dia_bloque WHERE dia_bloque_id IN (2, 3)");
+    }
+
+    // Historial de reservas paginado por clave (ReservaRepository.findResumenesPrimeros, Siguientes y Anteriores)
+    @Test
+    void historialDeReservasSigueElIndiceDeLaClave() throws SQLException {
+        assertOrdenPorIndice("reservas", "idx_reservas_fecha_inicio_id",
+                "SELECT id FROM reservas ORDER BY fecha_inicio, id LIMIT 11");
+        assertOrdenPorIndice("reservas", "idx_reservas_fecha_inicio_id", """
+                SELECT id FROM reservas
+                WHERE fecha_inicio > '2025-06-01' OR (fecha_inicio = '2025-06-01' AND id > 1500)
+                ORDER BY fecha_inicio, id LIMIT 11
+                """);
+        assertOrdenPorIndice("reservas", "idx_reservas_fecha_inicio_id", """
+                SELECT id FROM reservas
+                WHERE fecha_inicio < '2025-06-01' OR (fecha_inicio = '2025-06-01' AND id < 1500)
+                ORDER BY fecha_inicio DESC, id DESC LIMIT 11
+                """);
+    }
+
+    // Historial de reservas de un profesor (ReservaRepository.findResumenes*PorProfesor): las reservas se
+    // buscan desde las inscripciones del profesor
+    @Test
+    void historialDeReservasDeUnProfesorNoRecorreLasReservas() throws SQLException {
+        assertSinRecorrido("reservas", """
+                SELECT reservas.id FROM reservas JOIN inscripciones ON inscripciones.id = reservas.inscripcion_id
+                WHERE inscripciones.profesor_id = 3
+                ORDER BY reservas.fecha_inicio, reservas.id LIMIT 11
+                """);
+        assertSinRecorrido("reservas", """
+                SELECT reservas.id FROM reservas JOIN inscripciones ON inscripciones.id = reservas.inscripcion_id
+                WHERE inscripciones.profesor_id = 3
+                AND (reservas.fecha_inicio > '2025-06-01'
+                     OR (reservas.fecha_inicio = '2025-06-01' AND reservas.id > 1500))
+                ORDER BY reservas.fecha_inicio, reservas.id LIMIT 11
+                """);
+    }
+
+    // Historial de solicitudes paginado por clave (SolicitudCambioAulaRepository.findResumenes*PorEstado)
+    @Test
+    void historialDeSolicitudesSigueElIndiceDeLaClave() throws SQLException {
+        assertOrdenPorIndice("solicitudes", "idx_solicitudes_estado_fecha_id", """
+                SELECT id FROM solicitudes WHERE estado = 'APROBADA'
+                ORDER BY fecha_hora_solicitud, id LIMIT 11
+                """);
+        assertOrdenPorIndice("solicitudes", "idx_solicitudes_estado_fecha_id", """
+                SELECT id FROM solicitudes WHERE estado = 'APROBADA'
+                AND (fecha_hora_solicitud > '2024-01-02 08:00:00'
+                     OR (fecha_hora_solicitud = '2024-01-02 08:00:00' AND id > 1441))
+                ORDER BY fecha_hora_solicitud, id LIMIT 11
+                """);
+        assertOrdenPorIndice("solicitudes", "idx_solicitudes_estado_fecha_id", """
+                SELECT id FROM solicitudes WHERE estado = 'APROBADA'
+                AND (fecha_hora_solicitud < '2024-01-02 08:00:00'
+                     OR (fecha_hora_solicitud = '2024-01-02 08:00:00' AND id < 1441))
+                ORDER BY fecha_hora_solicitud DESC, id DESC LIMIT 11
+                """);
+    }
+
+    // Historial de solicitudes de un profesor (SolicitudCambioAulaRepository.findResumenes*PorEstadoYProfesor)
+    @Test
+    void historialDeSolicitudesDeUnProfesorSigueElIndiceDeLaClave() throws SQLException {
+        assertOrdenPorIndice("solicitudes", "idx_solicitudes_profesor_estado_fecha_id", """
+                SELECT id FROM solicitudes WHERE estado = 'APROBADA' AND profesor_id = 3
+                ORDER BY fecha_hora_solicitud, id LIMIT 11
+                """);
+        assertOrdenPorIndice("solicitudes", "idx_solicitudes_profesor_estado_fecha_id", """
+                SELECT id FROM solicitudes WHERE estado = 'APROBADA' AND profesor_id = 3
+                AND (fecha_hora_solicitud > '2024-01-02 08:00:00'
+                     OR (fecha_hora_solicitud = '2024-01-02 08:00:00' AND id > 1441))
+                ORDER BY fecha_hora_solicitud, id LIMIT 11
+                """);
+        assertOrdenPorIndice("solicitudes", "idx_solicitudes_profesor_estado_fecha_id", """
+                SELECT id FROM solicitudes WHERE estado = 'APROBADA' AND profesor_id = 3
+                AND (fecha_hora_solicitud < '2024-01-02 08:00:00'
+                     OR (fecha_hora_solicitud = '2024-01-02 08:00:00' AND id < 1441))
+                ORDER BY fecha_hora_solicitud DESC, id DESC LIMIT 11
+                """);
+    }
+
+    private record FilaPlan(String tabla, String tipo, String indice, String filas, String extra) {
+        @Override
+        public String toString() {
+            return String.format("%s: type=%s key=%s rows=%s extra=%s", tabla, tipo, indice, filas, extra);
+        }
+    }
+
+    /**
+     * Falla si el plan de la consulta lee la tabla completa (type ALL) o su índice completo (type index)
+     * @param tabla que tiene que resolverse con un índice
+     * @param sql consulta a explicar
+     */
+    private static void assertSinRecorrido(String tabla, String sql) throws SQLException {
+        var plan = explicar(sql);
+        var fila = filaDe(tabla, plan);
+        assertFalse("ALL".equals(fila.tipo()) || "index".equals(fila.tipo()) || fila.indice() == null,
+                () -> "Recorrido completo de " + tabla + ":\n" + texto(plan));
+    }
+
+    /**
+     * Falla si la tabla no se lee en el orden del índice de la clave: con filesort MySQL ordena todas las filas
+     * que cumplen antes de quedarse con la página. Sin WHERE el plan es type index, pero el LIMIT corta la lectura
+     * @param tabla paginada
+     * @param indice que tiene que recorrer
+     * @param sql consulta a explicar
+     */
+    private static void assertOrdenPorIndice(String tabla, String indice, String sql) throws SQLException {
+        var plan = explicar(sql);
+        var fila = filaDe(tabla, plan);
+        assertTrue(indice.equals(fila.indice()) && !"ALL".equals(fila.tipo()),
+                () -> tabla + " no usa " + indice + ":\n" + texto(plan));
+        assertFalse(fila.extra() != null && fila.extra().contains("filesort"),
+                () -> tabla + " se ordena aparte:\n" + texto(plan));
+    }
+
+    private static List<FilaPlan> explicar(String sql) throws SQLException {
+        List<FilaPlan> plan = new ArrayList<>();
+        try (var sentencia = conexion.createStatement(); var filas = sentencia.executeQuery("EXPLAIN " + sql)) {
+            while (filas.next()) {
+                plan.add(new FilaPlan(filas.getString("table"), filas.getString("type"), filas.getString("key"),
+                        filas.getString("rows"), filas.getString("Extra")));
+            }
+        }
+        return plan;
+    }
+
+    private static FilaPlan filaDe(String tabla, List<FilaPlan> plan) {
+        var fila = plan.stream()
+                .filter(f -> tabla.equals(f.tabla()))
+                .findFirst();
+        assertTrue(fila.isPresent(), () -> "El plan no incluye " + tabla + ":\n" + texto(plan));
+        return fila.get();
+    }
+
+    private static String texto(List<FilaPlan> plan) {
+        return String.join("\n", plan.stream().map(FilaPlan::toString).toList());
+    }
+
+    /**
+     * Llena las tablas de la superposición y de los historiales con datos sintéticos, sin las claves foráneas
+     * Las filas se reparten entre los espacios, las fechas y los días y bloques como en un uso real
+     */
+    private static void cargarDatos() throws SQLException {
+        try (var sentencia = conexion.createStatement()) {
+            sentencia.execute("SET SESSION FOREIGN_KEY_CHECKS = 0");
+            sentencia.execute("SET SESSION cte_max_recursion_depth = " + OCURRENCIAS);
+
+            // Cada número es un espacio, un bloque y un día distintos: no se repite la clave primaria
+            sentencia.execute(String.format("""
+                    INSERT INTO reserva_ocurrencia (espacio_id, fecha, bloque_horario, reserva_id, slot_semanal)
+                    WITH RECURSIVE n (i) AS (SELECT 0 UNION ALL SELECT i + 1 FROM n WHERE i < %d)
+                    SELECT i %% %d + 1, DATE_ADD('2025-03-01', INTERVAL i DIV (%d * 6) DAY),
+                           ELT((i DIV %d) %% 6 + 1, 'MANIANA_PRIMER_BLOQUE', 'MANIANA_SEGUNDO_BLOQUE',
+                               'TARDE_PRIMER_BLOQUE', 'TARDE_SEGUNDO_BLOQUE', 'NOCHE_PRIMER_BLOQUE',
+                               'NOCHE_SEGUNDO_BLOQUE'),
+                           i DIV 10 + 1, (i DIV %d) %% 42
+                    FROM n
+                    """, OCURRENCIAS - 1, ESPACIOS, ESPACIOS, ESPACIOS, ESPACIOS));
+
+            sentencia.execute(String.format("""
+                    INSERT INTO reservas (fecha_inicio, fecha_fin, espacio_id, inscripcion_id, mascara_horario)
+                    WITH RECURSIVE n (i) AS (SELECT 0 UNION ALL SELECT i + 1 FROM n WHERE i < %d)
+                    SELECT DATE_ADD('2024-01-01', INTERVAL i %% 700 DAY),
+                           DATE_ADD('2024-01-01', INTERVAL i %% 700 + 120 DAY),
+                           i %% %d + 1, i + 1, 1 << (i %% 42)
+                    FROM n
+                    """, RESERVAS - 1, ESPACIOS));
+
+            // Una inscripción por reserva, repartidas entre los profesores
+            sentencia.execute(String.format("""
+                    INSERT INTO inscripciones (cantidad_alumnos, margen_alumnos, fecha_fin_inscripcion, asignatura_id,
+                                               comision, year, cuatrimestre, profesor_id)
+                    WITH RECURSIVE n (i) AS (SELECT 0 UNION ALL SELECT i + 1 FROM n WHERE i < %d)
+                    SELECT 30, 5, '2025-03-01', i %% 40 + 1, i %% 5 + 1, 2024 + i DIV 1500, i %% 2 + 1, i %% %d + 1
+                    FROM n
+                    """, RESERVAS - 1, PROFESORES));
+
+            sentencia.execute(String.format("""
+                    INSERT INTO solicitudes (profesor_id, reserva_original_id, nuevo_espacio_id, estado, tipo_solicitud,
+                                             fecha_inicio, fecha_fin, mascara_horario, fecha_hora_solicitud)
+                    WITH RECURSIVE n (i) AS (SELECT 0 UNION ALL SELECT i + 1 FROM n WHERE i < %d)
+                    SELECT i %% %d + 1, i + 1, i %% %d + 1, ELT(i %% 3 + 1, 'PENDIENTE', 'APROBADA', 'RECHAZADA'),
+                           ELT(i %% 2 + 1, 'TEMPORAL', 'PERMANENTE'),
+                           DATE_ADD('2024-01-01', INTERVAL i %% 700 DAY),
+                           DATE_ADD('2024-01-01', INTERVAL i %% 700 + 120 DAY),
+                           1 << (i %% 42), TIMESTAMPADD(MINUTE, i, '2024-01-01 08:00:00')
+                    FROM n
+                    """, SOLICITUDES - 1, PROFESORES, ESPACIOS));
+
+            // Dos días y bloques por reserva y por solicitud
+            sentencia.execute("""
+                    INSERT INTO reserva_dia_bloque (reserva_id, dia_bloque_id)
+                    SELECT id, id % 42 + 1 FROM reservas UNION ALL SELECT id, (id + 21) % 42 + 1 FROM reservas
+                    """);
+            sentencia.execute("""
+                    INSERT INTO solicitud_dia_bloque (solicitud_id, dia_bloque_id)
+                    SELECT id, id % 42 + 1 FROM solicitudes UNION ALL SELECT id, (id + 21) % 42 + 1 FROM solicitudes
+                    """);
+
+            sentencia.execute("SET SESSION FOREIGN_KEY_CHECKS = 1");
+            sentencia.execute("ANALYZE TABLE reserva_ocurrencia, reservas, inscripciones, solicitudes, " +
+                    "reserva_dia_bloque, solicitud_dia_bloque");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Migra una base MySQL creada antes de las migraciones (db/esquema-previo.sql, con datos) tal como lo hace la
+ * aplicación: toma V1 como línea base y aplica las versiones siguientes.
+ * Si V1 tuviera algo que esas bases no tienen, las versiones siguientes fallan o quedan columnas sin crear.
+ * Necesita Docker, sin Docker la clase se saltea
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MigracionesMysqlTest {
+    private static final List<String> INDICES = List.of(
+            "idx_ocurrencia_fecha_slot", "idx_ocurrencia_reserva", "idx_ocurrencia_espacio_fecha_slot",
+            "idx_espacios_tipo_capacidad", "idx_reservas_fecha_inicio_id", "idx_reservas_espacio_fechas",
+            "idx_solicitudes_estado_fecha_id", "idx_solicitudes_profesor_estado_fecha_id",
+            "idx_solicitudes_espacio_fechas_estado", "idx_reserva_dia_bloque_inverso",
+            "idx_solicitud_dia_bloque_inverso");
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withInitScript("db/esquema-previo.sql");
+
+    private static Connection conexion;
+
+    @BeforeAll
+    static void migrar() throws SQLException {
+        // La misma configuración que application.properties
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+        conexion = DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+    }
+
+    @AfterAll
+    static void cerrar() throws SQLException {
+        if (conexion != null) {
+            conexion.close();
+        }
+    }
+
+    @Test
+    void aplicaLasVersionesPosterioresALaLineaBase() throws SQLException {
+        assertEquals(List.of("1", "2"), consultarTextos("""
+                SELECT version FROM flyway_schema_history WHERE success = 1 AND version IS NOT NULL
+                ORDER BY installed_rank
+                """));
+    }
+
+    @Test
+    void lasFilasExistentesQuedanConMascaraCero() throws SQLException {
+        assertEquals(List.of("0"), consultarTextos("SELECT mascara_horario FROM reservas"));
+        assertEquals(List.of("0"), consultarTextos("SELECT mascara_horario FROM solicitudes"));
+    }
+
+    @Test
+    void lasReservasExistentesQuedanPendientesDeOcurrencias() throws SQLException {
+        assertEquals(List.of("0"), consultarTextos("SELECT COUNT(*) FROM reserva_ocurrencia"));
+        assertEquals(List.of("1"), consultarTextos("SELECT reserva_id FROM reserva_ocurrencia_pendiente"));
+    }
+
+    @Test
+    void creaLosIndices() throws SQLException {
+        Set<String> existentes = new HashSet<>(consultarTextos(
+                "SELECT DISTINCT index_name FROM information_schema.statistics WHERE table_schema = DATABASE()"));
+        INDICES.forEach(indice -> assertTrue(existentes.contains(indice), () -> "Falta el índice " + indice));
+    }
+
+    private static List<String> consultarTextos(String sql) throws SQLException {
+        List<String> valores = new ArrayList<>();
+        try (var sentencia = conexion.createStatement(); var filas = sentencia.executeQuery(sql)) {
+            while (filas.next()) {
+                valores.add(filas.getString(1));
+            }
+        }
+        return valores;
+    }
+}
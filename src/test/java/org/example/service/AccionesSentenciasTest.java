@@ -0,0 +1,83 @@
+package org.example.service;
+
+import org.example.PruebaIntegracion;
+import org.example.enums.BloqueHorario;
+import org.example.enums.Permisos;
+import org.example.model.DiaBloque;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.util.Set;
+
+import static org.example.DatosPrueba.FIN;
+import static org.example.DatosPrueba.INICIO;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Máximo de sentencias SQL de las acciones más usadas, según las métricas que junta MonitorSentencias
+ * Cada acción es la llamada al servicio tal como la hace una vista; si una consulta nueva o un N+1 la hace pasar
+ * del máximo hay que revisar el cambio antes de subir el número
+ */
+class AccionesSentenciasTest extends PruebaIntegracion {
+    // Los espacios y, si el índice de ocupación en memoria no cubre el rango, los ocupados
+    private static final int MAXIMO_DISPONIBLES = 2;
+    // Solicitud y reserva original, espacio destino, actualizar la solicitud y guardar la nueva reserva
+    // (inscripción, espacio, ocupación, solicitudes pendientes, reserva, días y bloques, ocurrencias)
+    private static final int MAXIMO_APROBAR = 16;
+
+    @Autowired
+    private MonitorSentencias monitorSentencias;
+    @Autowired
+    private EspacioService espacioService;
+    @Autowired
+    private SolicitudCambioAulaService solicitudService;
+
+    private Set<DiaBloque> lunes;
+
+    @BeforeEach
+    void prepararFranja() {
+        lunes = Set.of(datos.franja(DayOfWeek.MONDAY, BloqueHorario.MANIANA_PRIMER_BLOQUE));
+    }
+
+    @Test
+    void listarEspaciosDisponibles() {
+        for (int i = 0; i < 5; i++) {
+            datos.aula(40);
+        }
+        datos.listo();
+        monitorSentencias.reiniciar();
+
+        espacioService.listarEspaciosDisponibles(INICIO, FIN, lunes);
+
+        assertMaximo("EspacioService.listarEspaciosDisponibles(..)", MAXIMO_DISPONIBLES);
+    }
+
+    @Test
+    void aprobarSolicitud() throws Exception {
+        var reserva = datos.reserva(datos.aula(40), datos.inscripcion(20), lunes);
+        var solicitud = datos.solicitud(reserva, datos.aula(40));
+        datos.iniciarSesion(Permisos.GESTIONAR_CAMBIOS);
+        datos.listo();
+        monitorSentencias.reiniciar();
+
+        solicitudService.aprobarSolicitud(solicitud.getId(), "");
+
+        assertMaximo("SolicitudCambioAulaService.aprobarSolicitud(..)", MAXIMO_APROBAR);
+    }
+
+    /**
+     * Verifica que la acción se midió y que ninguna de sus ejecuciones pasó del máximo de sentencias
+     * @param accion nombre de la acción (Servicio.metodo(..))
+     * @param maximo de sentencias por ejecución
+     */
+    private void assertMaximo(String accion, int maximo) {
+        var estadisticas = monitorSentencias.estadisticas().get(accion);
+        assertNotNull(estadisticas, () -> "No se midió " + accion + ": " + monitorSentencias.estadisticas().keySet());
+        assertTrue(estadisticas.ejecuciones() > 0);
+        assertTrue(estadisticas.maximoSentencias() <= maximo,
+                () -> accion + " ejecutó " + estadisticas.maximoSentencias() + " sentencias, el máximo es " + maximo);
+    }
+}
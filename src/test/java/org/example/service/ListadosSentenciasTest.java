@@ -0,0 +1,132 @@
+package org.example.service;
+
+import org.example.PruebaIntegracion;
+import org.example.enums.BloqueHorario;
+import org.example.enums.EstadoSolicitud;
+import org.example.model.Profesor;
+import org.example.model.Reserva;
+import org.example.model.SolicitudCambioAula;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sentencias SQL de los listados completos de reservas y solicitudes
+ * Cada listado trae con su grafo lo que muestran las tablas: la cantidad de sentencias no puede crecer con las filas
+ * (N+1) y lo que se usa fuera de la transacción tiene que estar cargado (LazyInitializationException)
+ */
+class ListadosSentenciasTest extends PruebaIntegracion {
+    // La consulta del listado y, en los de un profesor, la validación de que existe
+    private static final int MAXIMO_LISTADO = 2;
+    private static final int POCAS = 1;
+    private static final int MUCHAS = 5;
+
+    @Autowired
+    private ReservaService reservaService;
+    @Autowired
+    private SolicitudCambioAulaService solicitudService;
+
+    private Profesor profesor;
+    private int creadas;
+
+    @BeforeEach
+    void prepararProfesor() {
+        profesor = datos.profesor();
+    }
+
+    @Test
+    void listarReservasNoCreceConLasFilas() throws Exception {
+        var pocas = contarListado(POCAS, () -> usarReservas(reservaService.listar()));
+        var muchas = contarListado(MUCHAS, () -> usarReservas(reservaService.listar()));
+
+        assertTrue(pocas <= MAXIMO_LISTADO, () -> "listar ejecutó " + pocas + " sentencias");
+        assertEquals(pocas, muchas, "listar no debe ejecutar una sentencia por reserva");
+    }
+
+    @Test
+    void listarReservasPorProfesorNoCreceConLasFilas() throws Exception {
+        var idProfesor = profesor.getId();
+        var pocas = contarListado(POCAS, () -> usarReservas(reservaService.listarReservasPorProfesor(idProfesor)));
+        var muchas = contarListado(MUCHAS, () -> usarReservas(reservaService.listarReservasPorProfesor(idProfesor)));
+
+        assertTrue(pocas <= MAXIMO_LISTADO, () -> "listarReservasPorProfesor ejecutó " + pocas + " sentencias");
+        assertEquals(pocas, muchas, "listarReservasPorProfesor no debe ejecutar una sentencia por reserva");
+    }
+
+    @Test
+    void listarSolicitudesNoCreceConLasFilas() throws Exception {
+        var pocas = contarListado(POCAS, () -> usarSolicitudes(solicitudService.listar()));
+        var muchas = contarListado(MUCHAS, () -> usarSolicitudes(solicitudService.listar()));
+
+        assertTrue(pocas <= MAXIMO_LISTADO, () -> "listar ejecutó " + pocas + " sentencias");
+        assertEquals(pocas, muchas, "listar no debe ejecutar una sentencia por solicitud");
+    }
+
+    @Test
+    void listarSolicitudesPorEstadoNoCreceConLasFilas() throws Exception {
+        var pocas = contarListado(POCAS, () -> usarSolicitudes(
+                solicitudService.listarSolicitudesPorEstado(EstadoSolicitud.PENDIENTE)));
+        var muchas = contarListado(MUCHAS, () -> usarSolicitudes(
+                solicitudService.listarSolicitudesPorEstado(EstadoSolicitud.PENDIENTE)));
+
+        assertTrue(pocas <= MAXIMO_LISTADO, () -> "listarSolicitudesPorEstado ejecutó " + pocas + " sentencias");
+        assertEquals(pocas, muchas, "listarSolicitudesPorEstado no debe ejecutar una sentencia por solicitud");
+    }
+
+    @Test
+    void listarSolicitudesPorEstadoYProfesorNoCreceConLasFilas() throws Exception {
+        var idProfesor = profesor.getId();
+        var pocas = contarListado(POCAS, () -> usarSolicitudes(
+                solicitudService.listarSolicitudesPorEstadoYProfesor(EstadoSolicitud.PENDIENTE, idProfesor)));
+        var muchas = contarListado(MUCHAS, () -> usarSolicitudes(
+                solicitudService.listarSolicitudesPorEstadoYProfesor(EstadoSolicitud.PENDIENTE, idProfesor)));
+
+        assertTrue(pocas <= MAXIMO_LISTADO,
+                () -> "listarSolicitudesPorEstadoYProfesor ejecutó " + pocas + " sentencias");
+        assertEquals(pocas, muchas,
+                "listarSolicitudesPorEstadoYProfesor no debe ejecutar una sentencia por solicitud");
+    }
+
+    /**
+     * Completa hasta la cantidad de filas indicada (reservas del profesor, cada una con una solicitud pendiente)
+     * y cuenta las sentencias del listado
+     */
+    private int contarListado(int filas, Ejecucion listado) throws Exception {
+        for (; creadas < filas; creadas++) {
+            var reserva = datos.reserva(datos.aula(40), datos.inscripcion(datos.asignatura(false), profesor, 20),
+                    Set.of(datos.franja(DayOfWeek.MONDAY, BloqueHorario.MANIANA_PRIMER_BLOQUE)));
+            datos.solicitud(reserva, datos.aula(40));
+        }
+        return contarSentencias(listado);
+    }
+
+    /**
+     * Usa lo que muestra la tabla de reservas, fuera de la transacción del servicio
+     */
+    private void usarReservas(List<Reserva> reservas) {
+        assertTrue(!reservas.isEmpty(), "El listado no trajo reservas");
+        reservas.forEach(r -> {
+            r.getEspacio().getNumero();
+            r.getInscripcion().getAsignatura().getNombre();
+        });
+    }
+
+    /**
+     * Usa lo que muestra la tabla de solicitudes, fuera de la transacción del servicio
+     */
+    private void usarSolicitudes(List<SolicitudCambioAula> solicitudes) {
+        assertTrue(!solicitudes.isEmpty(), "El listado no trajo solicitudes");
+        solicitudes.forEach(s -> {
+            s.getProfesor().getApellido();
+            s.getReservaOriginal().getFechaInicio();
+            s.getNuevoEspacio().getNumero();
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.service;
+
+import org.example.PruebaIntegracion;
+import org.example.enums.BloqueHorario;
+import org.example.enums.Permisos;
+import org.example.exception.BadRequestException;
+import org.example.exception.ConflictException;
+import org.example.model.DiaBloque;
+import org.example.model.Inscripcion;
+import org.example.model.dto.ReservaDTO;
+import org.example.repository.ReservaOcurrenciaRepository;
+import org.example.repository.ReservaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.example.DatosPrueba.FIN;
+import static org.example.DatosPrueba.INICIO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Muchos usuarios guardando a la vez sobre el mismo espacio: nunca puede quedar un slot reservado dos veces
+ */
+class ReservaServiceConcurrenciaTest extends PruebaIntegracion {
+    private static final int HILOS = 16;
+
+    @Autowired
+    private ReservaService reservaService;
+    @Autowired
+    private ReservaRepository reservaRepository;
+    @Autowired
+    private ReservaOcurrenciaRepository ocurrenciaRepository;
+
+    @Test
+    void soloUnaReservaGanaElMismoSlot() throws Exception {
+        var aula = datos.aula(40);
+        var lunes = Set.of(datos.franja(DayOfWeek.MONDAY, BloqueHorario.MANIANA_PRIMER_BLOQUE));
+        var inscripciones = inscripciones(HILOS);
+        datos.iniciarSesion(Permisos.CREAR_RESERVA);
+        datos.listo();
+
+        var resultado = guardarALaVez(inscripciones, i -> lunes, aula.getId());
+
+        assertEquals(1, resultado.guardadas().get(), "Solo una reserva puede quedarse con el slot");
+        assertEquals(HILOS - 1, resultado.rechazadas().get(), "Las demás se rechazan como conflicto");
+        assertTrue(resultado.inesperados().isEmpty(), () -> "Errores inesperados: " + resultado.inesperados());
+        assertEquals(1, reservaRepository.count());
+        // Una ocurrencia por cada lunes del período, todas de la misma reserva
+        var lunesDelPeriodo = INICIO.datesUntil(FIN.plusDays(1))
+                .filter(fecha -> fecha.getDayOfWeek() == DayOfWeek.MONDAY)
+                .count();
+        assertEquals(lunesDelPeriodo, ocurrenciaRepository.count());
+    }
+
+    @Test
+    void lasReservasDeSlotsDistintosNoSeBloqueanEntreSi() throws Exception {
+        var aula = datos.aula(40);
+        var bloques = BloqueHorario.values();
+        var inscripciones = inscripciones(HILOS);
+        datos.iniciarSesion(Permisos.CREAR_RESERVA);
+        datos.listo();
+
+        // Cada hilo pide un día y bloque distinto del mismo espacio
+        var resultado = guardarALaVez(inscripciones, i -> Set.of(datos.franja(
+                DayOfWeek.of(1 + i / bloques.length), bloques[i % bloques.length])), aula.getId());
+
+        assertEquals(HILOS, resultado.guardadas().get());
+        assertTrue(resultado.inesperados().isEmpty(), () -> "Errores inesperados: " + resultado.inesperados());
+        assertEquals(HILOS, reservaRepository.count());
+    }
+
+    @Test
+    void unaFranjaSuperpuestaSeRechazaAunqueNoSeaIgual() throws Exception {
+        var aula = datos.aula(40);
+        var lunes = datos.franja(DayOfWeek.MONDAY, BloqueHorario.MANIANA_PRIMER_BLOQUE);
+        var martes = datos.franja(DayOfWeek.TUESDAY, BloqueHorario.MANIANA_PRIMER_BLOQUE);
+        var inscripciones = inscripciones(HILOS);
+        datos.iniciarSesion(Permisos.CREAR_RESERVA);
+        datos.listo();
+
+        // La mitad pide lunes y martes, la otra mitad solo martes: todas comparten el martes
+        var resultado = guardarALaVez(inscripciones, i -> i % 2 == 0 ? Set.of(lunes, martes) : Set.of(martes),
+                aula.getId());
+
+        assertEquals(1, resultado.guardadas().get());
+        assertTrue(resultado.inesperados().isEmpty(), () -> "Errores inesperados: " + resultado.inesperados());
+        assertEquals(1, reservaRepository.count());
+    }
+
+    private record Resultado(AtomicInteger guardadas, AtomicInteger rechazadas, List<Throwable> inesperados) {}
+
+    private List<Inscripcion> inscripciones(int cantidad) {
+        List<Inscripcion> inscripciones = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            inscripciones.add(datos.inscripcion(20));
+        }
+        return inscripciones;
+    }
+
+    /**
+     * Lanza un guardar por inscripción, todos liberados en el mismo instante
+     */
+    private Resultado guardarALaVez(List<Inscripcion> inscripciones, IntFunction<Set<DiaBloque>> franjas,
+                                    int idEspacio) throws InterruptedException {
+        var resultado = new Resultado(new AtomicInteger(), new AtomicInteger(), new CopyOnWriteArrayList<>());
+        var largada = new CountDownLatch(1);
+        var ejecutor = Executors.newFixedThreadPool(inscripciones.size());
+        try {
+            for (int i = 0; i < inscripciones.size(); i++) {
+                var dto = new ReservaDTO(null, INICIO, FIN, idEspacio, inscripciones.get(i).getId(), franjas.apply(i));
+                ejecutor.submit(() -> {
+                    try {
+                        largada.await();
+                        reservaService.guardar(dto);
+                        resultado.guardadas().incrementAndGet();
+                    } catch (BadRequestException | ConflictException e) {
+                        resultado.rechazadas().incrementAndGet();
+                    } catch (Throwable e) {
+                        resultado.inesperados().add(e);
+                    }
+                    return null;
+                });
+            }
+            largada.countDown();
+        } finally {
+            ejecutor.shutdown();
+            assertTrue(ejecutor.awaitTermination(1, TimeUnit.MINUTES), "Los guardados no terminaron");
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.service;
+
+import org.example.PruebaIntegracion;
+import org.example.enums.BloqueHorario;
+import org.example.enums.Permisos;
+import org.example.model.DiaBloque;
+import org.example.model.dto.ReservaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.util.Set;
+
+import static org.example.DatosPrueba.FIN;
+import static org.example.DatosPrueba.INICIO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cantidad de sentencias SQL de guardar y modificar una reserva
+ * No tiene que crecer con los días y bloques: las filas de la tabla intermedia y las ocurrencias van en lote
+ * (mientras entren en un lote, hibernate.jdbc.batch_size)
+ */
+class ReservaServiceSentenciasTest extends PruebaIntegracion {
+    // Inscripción, espacio, ocupación, solicitudes pendientes, reserva, días y bloques, ocurrencias
+    private static final int MAXIMO_GUARDAR = 8;
+    // Lo de guardar más la reserva original, sus días y bloques, el borrado de ocurrencias y el update
+    private static final int MAXIMO_MODIFICAR = 12;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    private Set<DiaBloque> unaFranja;
+    private Set<DiaBloque> tresFranjas;
+
+    @BeforeEach
+    void prepararFranjas() {
+        unaFranja = Set.of(datos.franja(DayOfWeek.MONDAY, BloqueHorario.MANIANA_PRIMER_BLOQUE));
+        tresFranjas = Set.of(
+                datos.franja(DayOfWeek.TUESDAY, BloqueHorario.MANIANA_PRIMER_BLOQUE),
+                datos.franja(DayOfWeek.WEDNESDAY, BloqueHorario.TARDE_PRIMER_BLOQUE),
+                datos.franja(DayOfWeek.THURSDAY, BloqueHorario.NOCHE_SEGUNDO_BLOQUE));
+        datos.iniciarSesion(Permisos.CREAR_RESERVA, Permisos.MODIFICAR_RESERVA);
+    }
+
+    @Test
+    void guardarNoCreceConLosDiasYBloques() throws Exception {
+        var chica = guardar(unaFranja);
+        var grande = guardar(tresFranjas);
+
+        assertTrue(chica <= MAXIMO_GUARDAR, () -> "guardar ejecutó " + chica + " sentencias");
+        assertEquals(chica, grande, "guardar con más días y bloques no debe ejecutar más sentencias");
+    }
+
+    @Test
+    void modificarNoCreceConLosDiasYBloques() throws Exception {
+        var chica = modificar(unaFranja);
+        var grande = modificar(tresFranjas);
+
+        assertTrue(chica <= MAXIMO_MODIFICAR, () -> "modificar ejecutó " + chica + " sentencias");
+        assertEquals(chica, grande, "modificar con más días y bloques no debe ejecutar más sentencias");
+    }
+
+    /**
+     * Guarda una reserva nueva en un aula nueva y cuenta sus sentencias, así ninguna medición arranca con caché
+     */
+    private int guardar(Set<DiaBloque> franjas) throws Exception {
+        var aula = datos.aula(40);
+        var inscripcion = datos.inscripcion(20);
+        datos.listo();
+        var dto = new ReservaDTO(null, INICIO, FIN, aula.getId(), inscripcion.getId(), franjas);
+        return contarSentencias(() -> reservaService.guardar(dto));
+    }
+
+    /**
+     * Mueve una reserva existente a otras franjas del mismo espacio y cuenta sus sentencias
+     */
+    private int modificar(Set<DiaBloque> franjas) throws Exception {
+        var aula = datos.aula(40);
+        var inscripcion = datos.inscripcion(20);
+        var reserva = datos.reserva(aula, inscripcion,
+                Set.of(datos.franja(DayOfWeek.FRIDAY, BloqueHorario.MANIANA_SEGUNDO_BLOQUE)));
+        datos.listo();
+        var dto = new ReservaDTO(reserva.getId(), INICIO, FIN, aula.getId(), inscripcion.getId(), franjas);
+        return contarSentencias(() -> reservaService.modificar(dto));
+    }
+}
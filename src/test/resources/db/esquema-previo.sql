@@ -0,0 +1,146 @@
+-- Esquema de una base creada con spring.jpa.hibernate.ddl-auto=update antes de las migraciones, como lo genera
+-- Hibernate a partir de las entidades de entonces (los nombres de las restricciones los pone MySQL)
+-- Lo usa MigracionesMysqlTest para migrar una base que toma V1 como línea base
+
+create table roles (
+    id integer not null auto_increment,
+    nombre varchar(255) not null,
+    primary key (id),
+    unique (nombre)
+) engine=InnoDB;
+
+create table rol_permisos (
+    rol_id integer not null,
+    permiso enum ('CREAR_ESPACIO','ELIMINAR_ESPACIO','MODIFICAR_ESPACIO','VER_ESPACIOS','CREAR_RESERVA',
+        'MODIFICAR_RESERVA','ELIMINAR_RESERVA','VER_RESERVAS','SOLICITAR_CAMBIO','VER_SOLICITUDES_CAMBIO',
+        'GESTIONAR_CAMBIOS','CREAR_USUARIO','MODIFICAR_USUARIO','VER_USUARIOS','ELIMINAR_USUARIO','CAMBIAR_PASSWORD'),
+    foreign key (rol_id) references roles (id)
+) engine=InnoDB;
+
+create table profesores (
+    id integer not null auto_increment,
+    apellido varchar(50) not null,
+    matricula varchar(20) not null,
+    nombre varchar(50) not null,
+    primary key (id),
+    unique (matricula)
+) engine=InnoDB;
+
+create table usuarios (
+    id integer not null auto_increment,
+    password varchar(255) not null,
+    username varchar(255) not null,
+    profesor_id integer,
+    rol_id integer not null,
+    primary key (id),
+    unique (username),
+    unique (profesor_id),
+    foreign key (profesor_id) references profesores (id),
+    foreign key (rol_id) references roles (id)
+) engine=InnoDB;
+
+create table asignaturas (
+    id integer not null auto_increment,
+    codigo integer not null,
+    nombre varchar(100) not null,
+    requiere_laboratorio bit not null,
+    primary key (id),
+    unique (codigo)
+) engine=InnoDB;
+
+create table inscripciones (
+    id integer not null auto_increment,
+    cantidad_alumnos integer not null,
+    comision integer not null,
+    cuatrimestre integer not null,
+    fecha_fin_inscripcion date not null,
+    margen_alumnos integer not null,
+    year integer not null,
+    asignatura_id integer not null,
+    profesor_id integer not null,
+    primary key (id),
+    foreign key (asignatura_id) references asignaturas (id),
+    foreign key (profesor_id) references profesores (id)
+) engine=InnoDB;
+
+create table espacios (
+    espacio_type varchar(31) not null,
+    id integer not null auto_increment,
+    capacidad integer not null,
+    numero integer not null,
+    tiene_proyector bit not null,
+    tiene_tv bit not null,
+    computadoras integer,
+    primary key (id),
+    unique (numero)
+) engine=InnoDB;
+
+create table dia_bloque (
+    id integer not null auto_increment,
+    bloque_horario enum ('MANIANA_PRIMER_BLOQUE','MANIANA_SEGUNDO_BLOQUE','TARDE_PRIMER_BLOQUE',
+        'TARDE_SEGUNDO_BLOQUE','NOCHE_PRIMER_BLOQUE','NOCHE_SEGUNDO_BLOQUE') not null,
+    dia enum ('MONDAY','TUESDAY','WEDNESDAY','THURSDAY','FRIDAY','SATURDAY','SUNDAY') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table reservas (
+    id integer not null auto_increment,
+    fecha_fin date not null,
+    fecha_inicio date not null,
+    espacio_id integer not null,
+    inscripcion_id integer not null,
+    primary key (id),
+    foreign key (espacio_id) references espacios (id),
+    foreign key (inscripcion_id) references inscripciones (id)
+) engine=InnoDB;
+
+create table reserva_dia_bloque (
+    reserva_id integer not null,
+    dia_bloque_id integer not null,
+    primary key (reserva_id, dia_bloque_id),
+    foreign key (dia_bloque_id) references dia_bloque (id),
+    foreign key (reserva_id) references reservas (id)
+) engine=InnoDB;
+
+create table solicitudes (
+    id integer not null auto_increment,
+    comentario_estado varchar(255),
+    comentario_profesor varchar(255),
+    estado enum ('PENDIENTE','APROBADA','RECHAZADA') not null,
+    fecha_fin date not null,
+    fecha_hora_solicitud datetime(6) not null,
+    fecha_inicio date not null,
+    tipo_solicitud enum ('TEMPORAL','PERMANENTE') not null,
+    nuevo_espacio_id integer not null,
+    profesor_id integer not null,
+    reserva_original_id integer not null,
+    primary key (id),
+    foreign key (nuevo_espacio_id) references espacios (id),
+    foreign key (profesor_id) references profesores (id),
+    foreign key (reserva_original_id) references reservas (id)
+) engine=InnoDB;
+
+create table solicitud_dia_bloque (
+    solicitud_id integer not null,
+    dia_bloque_id integer not null,
+    primary key (solicitud_id, dia_bloque_id),
+    foreign key (dia_bloque_id) references dia_bloque (id),
+    foreign key (solicitud_id) references solicitudes (id)
+) engine=InnoDB;
+
+-- Datos de una base en uso: una reserva y una solicitud guardadas antes de la máscara horaria y las ocurrencias
+insert into roles (nombre) values ('administrador');
+insert into profesores (apellido, matricula, nombre) values ('Pérez', 'M-1', 'Ana');
+insert into asignaturas (codigo, nombre, requiere_laboratorio) values (1, 'Análisis Matemático I', 0);
+insert into inscripciones (cantidad_alumnos, comision, cuatrimestre, fecha_fin_inscripcion, margen_alumnos, year,
+                           asignatura_id, profesor_id)
+values (30, 1, 1, '2025-03-01', 0, 1, 1, 1);
+insert into espacios (espacio_type, capacidad, numero, tiene_proyector, tiene_tv, computadoras)
+values ('Aula', 40, 101, 1, 0, null), ('Aula', 40, 102, 1, 0, null);
+insert into dia_bloque (bloque_horario, dia) values ('MANIANA_PRIMER_BLOQUE', 'MONDAY');
+insert into reservas (fecha_fin, fecha_inicio, espacio_id, inscripcion_id) values ('2025-07-04', '2025-03-10', 1, 1);
+insert into reserva_dia_bloque (reserva_id, dia_bloque_id) values (1, 1);
+insert into solicitudes (estado, fecha_fin, fecha_hora_solicitud, fecha_inicio, tipo_solicitud, nuevo_espacio_id,
+                         profesor_id, reserva_original_id)
+values ('PENDIENTE', '2025-07-04', '2025-03-01 10:00:00', '2025-03-10', 'PERMANENTE', 2, 1, 1);
+insert into solicitud_dia_bloque (solicitud_id, dia_bloque_id) values (1, 1);